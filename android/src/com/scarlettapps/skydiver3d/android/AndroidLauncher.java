@@ -1,18 +1,69 @@
 package com.scarlettapps.skydiver3d.android;
 
+import android.content.Context;
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
 import android.os.Bundle;
 
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import com.scarlettapps.skydiver3d.Skydiver3D;
+import com.scarlettapps.skydiver3d.worldstate.TiltSensor;
 
 public class AndroidLauncher extends AndroidApplication {
+
+	private SensorManager sensorManager;
+
+	// Pushes every sensor event to the game as it arrives, rather than
+	// letting the game read the latest value once per frame
+	private final SensorEventListener tiltListener = new SensorEventListener() {
+		@Override
+		public void onSensorChanged(SensorEvent event) {
+			float[] v = event.values;
+			if (event.sensor.getType() == Sensor.TYPE_GYROSCOPE) {
+				TiltSensor.getInstance().pushGyroscope(event.timestamp, v[0], v[1], v[2]);
+			} else {
+				TiltSensor.getInstance().pushAccelerometer(event.timestamp, v[0], v[1], v[2]);
+			}
+		}
+
+		@Override
+		public void onAccuracyChanged(Sensor sensor, int accuracy) {
+		}
+	};
+
 	@Override
 	protected void onCreate (Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
-		config.useAccelerometer = true;
+		// The tilt sensors are read by tiltListener instead
+		config.useAccelerometer = false;
+		config.useCompass = false;
 		config.useWakelock = true;
+		sensorManager = (SensorManager) getSystemService(Context.SENSOR_SERVICE);
 		initialize(new Skydiver3D(), config);
 	}
+
+	@Override
+	protected void onResume() {
+		super.onResume();
+		boolean fed = register(Sensor.TYPE_ACCELEROMETER);
+		register(Sensor.TYPE_GYROSCOPE);
+		TiltSensor.getInstance().setFed(fed);
+	}
+
+	@Override
+	protected void onPause() {
+		sensorManager.unregisterListener(tiltListener);
+		TiltSensor.getInstance().setFed(false);
+		super.onPause();
+	}
+
+	private boolean register(int type) {
+		Sensor sensor = sensorManager.getDefaultSensor(type);
+		return sensor != null
+				&& sensorManager.registerListener(tiltListener, sensor, SensorManager.SENSOR_DELAY_GAME);
+	}
 }
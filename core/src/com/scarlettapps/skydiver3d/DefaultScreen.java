@@ -7,6 +7,7 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.Screen;
+import com.scarlettapps.skydiver3d.resources.DisposableRegistry;
 
 /**
  * Class that represents a screen.
@@ -32,6 +33,9 @@ public abstract class DefaultScreen<T extends Game> implements Screen {
 	
 	// Whether or not the screen should be disposed when it is hidden
 	private final boolean disposeOnHide;
+	
+	// Native resources owned by this screen, released when it is disposed
+	protected final DisposableRegistry resources = new DisposableRegistry(getClass().getSimpleName());
 
 	/**
 	 * Create a screen which disposes itself when hidden
@@ -211,6 +215,7 @@ public abstract class DefaultScreen<T extends Game> implements Screen {
 			Gdx.app.log(Skydiver3D.LOG, "Disposing screen: " + getName());
 		}
 		disposeScreen();
+		resources.dispose();
 	}
 	
 	/**
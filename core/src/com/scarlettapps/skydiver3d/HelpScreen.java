@@ -4,7 +4,6 @@
 package com.scarlettapps.skydiver3d;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -15,8 +14,9 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.Align;
+import com.scarlettapps.skydiver3d.resources.AssetFactory;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.SoundType;
-import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.RegionType;
 import com.scarlettapps.skydiver3d.resources.FontFactory;
 import com.scarlettapps.skydiver3d.resources.LanguageFactory;
 import com.scarlettapps.skydiver3d.resources.SoundFactory;
@@ -33,6 +33,7 @@ public class HelpScreen extends MenuScreen {
 		
         FontFactory fontFactory = FontFactory.getInstance();
 		LanguageFactory lang = LanguageFactory.getInstance();
+		AssetFactory assetFactory = AssetFactory.getInstance();
         
 		TextButtonStyle textButtonStyle = skin.get(TextButtonStyle.class);
 		BitmapFont font = fontFactory.generateFont(42);
@@ -54,7 +55,7 @@ public class HelpScreen extends MenuScreen {
 		table.add(label).center();
 		table.row();
 		
-		Image phone = new Image(new Texture(TextureType.PHONE_ROTATE));
+		Image phone = new Image(assetFactory.getRegion(RegionType.PHONE_ROTATE));
 		table.add(phone).spaceBottom(5).center();
 		table.row();
 		
@@ -64,20 +65,20 @@ public class HelpScreen extends MenuScreen {
 		table.row();
 		
 		Table group = new Table();
-		Image goldRing = new Image(new Texture(TextureType.RING));
+		Image goldRing = new Image(assetFactory.getRegion(RegionType.RING));
 		int s = 75;
 		goldRing.setSize(s,s);
 		group.add(goldRing).size(s, s);
-		Image star = new Image(new Texture(TextureType.STAR));
+		Image star = new Image(assetFactory.getRegion(RegionType.STAR));
 		star.setSize(s,s);
 		group.add(star).size(s, s);
-		Image skull = new Image(new Texture(TextureType.RING_SKULL));
+		Image skull = new Image(assetFactory.getRegion(RegionType.RING_SKULL));
 		skull.setSize(s,s);
 		group.add(skull).size(s, s);
-		Image nuclear = new Image(new Texture(TextureType.RING_NUCLEAR));
+		Image nuclear = new Image(assetFactory.getRegion(RegionType.RING_NUCLEAR));
 		nuclear.setSize(s,s);
 		group.add(nuclear).size(s, s);
-		Image ghost = new Image(new Texture(TextureType.RING_GHOST));
+		Image ghost = new Image(assetFactory.getRegion(RegionType.RING_GHOST));
 		ghost.setSize(s,s);
 		group.add(ghost).size(s, s);
 		
@@ -89,7 +90,7 @@ public class HelpScreen extends MenuScreen {
 		table.add(label).center().fill();
 		table.row();
 		
-		Image diving = new Image(new Texture(TextureType.DARTS));
+		Image diving = new Image(assetFactory.getRegion(RegionType.DARTS));
 		table.add(diving).spaceBottom(5).center();
 		table.row();
 		
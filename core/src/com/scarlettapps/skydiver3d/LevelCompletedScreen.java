@@ -6,9 +6,7 @@ package com.scarlettapps.skydiver3d;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.badlogic.gdx.math.MathUtils;
@@ -28,7 +26,7 @@ import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.SnapshotArray;
 import com.scarlettapps.skydiver3d.resources.AchievementsFactory;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
-import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.RegionType;
 import com.scarlettapps.skydiver3d.resources.FontFactory;
 import com.scarlettapps.skydiver3d.resources.LanguageFactory;
 import com.scarlettapps.skydiver3d.worldstate.Score;
@@ -239,8 +237,8 @@ public class LevelCompletedScreen extends MenuScreen {
 	protected void showScreen() {	
 		AssetFactory assetFactory = AssetFactory.getInstance();
 		LanguageFactory lang = LanguageFactory.getInstance();
-		goldTextureDrawable = new TextureRegionDrawable(new TextureRegion(assetFactory.get(TextureType.GOLD_STAR, Texture.class))); //TODO load with asset loader
-		emptyTextureDrawable = new TextureRegionDrawable(new TextureRegion(assetFactory.get(TextureType.EMPTY_STAR, Texture.class)));
+		goldTextureDrawable = new TextureRegionDrawable(assetFactory.getRegion(RegionType.GOLD_STAR));
+		emptyTextureDrawable = new TextureRegionDrawable(assetFactory.getRegion(RegionType.EMPTY_STAR));
 		
 		Score score = game.playingScreen.scoreSummary();
 		
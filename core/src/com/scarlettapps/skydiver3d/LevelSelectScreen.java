@@ -4,7 +4,6 @@
 package com.scarlettapps.skydiver3d;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Group;
@@ -19,7 +18,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.scarlettapps.skydiver3d.resources.AchievementsFactory;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.SoundType;
-import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.RegionType;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
 import com.scarlettapps.skydiver3d.resources.FontFactory;
 import com.scarlettapps.skydiver3d.resources.LanguageFactory;
@@ -32,9 +31,9 @@ public class LevelSelectScreen extends MenuScreen {
 	
 	private final Table miniTable;
 	
-	private Texture cloudButton;
-	private Texture lockButton;
-	private Texture star;
+	private TextureRegion cloudButton;
+	private TextureRegion lockButton;
+	private TextureRegion star;
 	//private TextureRegion blueArrow;
 	
 	private int screenIdx;
@@ -73,7 +72,7 @@ public class LevelSelectScreen extends MenuScreen {
 		table.add(title).spaceBottom(5).center();
 		table.row();
 		
-		TextureRegion blueArrow = new TextureRegion(new Texture(TextureType.ARROW_BLUE));
+		TextureRegion blueArrow = AssetFactory.getInstance().getRegion(RegionType.ARROW_BLUE);
 		TextureRegion blueArrow2 = new TextureRegion(blueArrow);
 		blueArrow2.flip(true,  false);
 				
@@ -139,10 +138,10 @@ public class LevelSelectScreen extends MenuScreen {
 		table.row().pad(20f);
 		table.add(backButton).size(250, 60).colspan(3);
 		
-		cloudButton = new Texture(TextureType.BUTTON);
-		lockButton = new Texture(TextureType.LOCK);
+		cloudButton = AssetFactory.getInstance().getRegion(RegionType.BUTTON);
+		lockButton = AssetFactory.getInstance().getRegion(RegionType.LOCK);
 		 
-		star = AssetFactory.getInstance().get(TextureType.GOLD_STAR, Texture.class);
+		star = AssetFactory.getInstance().getRegion(RegionType.GOLD_STAR);
 	}
 	
 	private void makeMiniTable(Table miniTable) {
@@ -3,7 +3,6 @@
 
 package com.scarlettapps.skydiver3d;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Pixmap.Format;
@@ -19,6 +18,8 @@ import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TiledDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.Bundle;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
 import com.scarlettapps.skydiver3d.resources.FontFactory;
 import com.scarlettapps.skydiver3d.resources.LanguageFactory;
 
@@ -52,12 +53,13 @@ public class LoadingScreen extends MenuScreen {
 		table.add(label).width(DefaultScreen.VIRTUAL_WIDTH/2);
 		table.row();
 
-		TiledDrawable knob = new TiledDrawable(new TextureRegion(new Texture(Gdx.files.internal("skin/stripes.png"))));
+		TiledDrawable knob = new TiledDrawable(new TextureRegion(AssetFactory.getInstance().get(TextureType.STRIPES, Texture.class)));
 		Pixmap pixmap = new Pixmap(500, 30, Format.RGBA8888);
 		pixmap.setColor(Color.WHITE);
 		pixmap.fill();
 		pixmap.setColor(Color.LIGHT_GRAY);
-		Drawable background = new TextureRegionDrawable(new TextureRegion(new Texture(pixmap)));
+		Drawable background = new TextureRegionDrawable(new TextureRegion(resources.add(new Texture(pixmap))));
+		pixmap.dispose();
 		ProgressBarStyle style = new ProgressBarStyle(background, knob);
 		style.knobBefore = knob;
 		progressBar = new ProgressBar(LOADING_MIN, LOADING_MAX, STEP_SIZE, false, style);
@@ -70,7 +72,7 @@ public class LoadingScreen extends MenuScreen {
 	@Override
 	public void render(float delta) {
 		AssetFactory assetFactory = AssetFactory.getInstance();
-		float progress = assetFactory.getProgress();
+		float progress = assetFactory.getProgress(Bundle.GAMEPLAY);
 		progressBar.setValue(progress);
 		super.render(delta);
 		
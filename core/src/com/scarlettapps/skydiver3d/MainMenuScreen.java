@@ -13,8 +13,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.utils.Array;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.Bundle;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.MusicType;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.SoundType;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
@@ -159,25 +159,12 @@ public class MainMenuScreen extends MenuScreen {
 		MusicFactory.getInstance().play(MusicType.MAIN_MENU);
 	}
 
-	// List of dependencies which need to be loaded
-	private static final String[] dependencies = new String[]{SoundType.CLICK, MusicType.MAIN_MENU, TextureType.TITLE, TextureType.GOLD_STAR};
-	
 	/**
 	 * Check if this screen is loaded
 	 * @return true if loaded, false otherwise
 	 */
 	public boolean isLoaded() {
-		Array<String> names = AssetFactory.getInstance().getLoaded();
-		outer:
-		for (String d: dependencies) {
-			for (String name: names) {
-				if (d.equals(name)) {
-					continue outer;
-				}
-			}
-			return false;
-		}
-		return true;
+		return AssetFactory.getInstance().isLoaded(Bundle.MENU);
 	}
 
 }
@@ -16,6 +16,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.scarlettapps.skydiver3d.resources.AssetFactory;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
 
 /**
  * Represents a menu screen which contains buttons for navigating to other screens
@@ -24,7 +26,6 @@ import com.badlogic.gdx.utils.viewport.Viewport;
  */
 public abstract class MenuScreen extends DefaultScreen<Skydiver3D> {
     /* Resource locations */
-	private static final String BACKGROUND_FILE = "data/textures/Menu3Background.png";
 	private static final String SKIN_FILE = "skin/uiskin.json";
 	
 	/* Store resources to speed up screen loading */
@@ -60,7 +61,7 @@ public abstract class MenuScreen extends DefaultScreen<Skydiver3D> {
 	public void initializeScreen() {
 		// Initialize stage, skin, and table
 		viewport = getDefaultViewport();
-		stage = new Stage(viewport);
+		stage = resources.add(new Stage(viewport));
 		
 		skin = getDefaultSkin();
 		table = new Table(skin);
@@ -114,7 +115,7 @@ public abstract class MenuScreen extends DefaultScreen<Skydiver3D> {
 	
 	protected static TextureRegionDrawable getDefaultBackground() {
 		if (defaultBackground == null) {
-			Texture background = new Texture(BACKGROUND_FILE);
+			Texture background = AssetFactory.getInstance().get(TextureType.MENU_BACKGROUND, Texture.class);
 			background.setFilter(TextureFilter.Linear, TextureFilter.Linear);
 			defaultBackground = new TextureRegionDrawable(new TextureRegion(background));
 		}
@@ -120,7 +120,8 @@ public class OptionsScreen extends MenuScreen {
 		Pixmap pixmap = new Pixmap(10, 10, Format.RGBA8888);
 		pixmap.setColor(Color.WHITE);
 		pixmap.fill();
-		sliderStyle.knob = new TextureRegionDrawable(new TextureRegion(new Texture(pixmap)));
+		sliderStyle.knob = new TextureRegionDrawable(new TextureRegion(resources.add(new Texture(pixmap))));
+		pixmap.dispose();
 		Slider volumeSlider = new Slider(0f, 1f, 0.1f, true, sliderStyle);
 		volumeSlider.setScaleX(10);
 		volumeSlider.setValue(preferences.getVolume());
@@ -144,7 +145,7 @@ public class OptionsScreen extends MenuScreen {
 		table.add(volumeSlider);
 		table.add(volumeValue).width(40);
 		
-		Slider sensitivitySlider = new Slider(0.5f, 2.0f, 0.1f, true, sliderStyle);
+		Slider sensitivitySlider = new Slider(GameController.MIN_SENSITIVITY, GameController.MAX_SENSITIVITY, 0.1f, true, sliderStyle);
 		sensitivitySlider.setScaleX(10);
 		sensitivitySlider.setValue(preferences.getSensitivity());
 		sensitivitySlider.addListener(new ChangeListener() {
@@ -0,0 +1,399 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.scarlettapps.skydiver3d.resources.ResourceTracker;
+
+/**
+ * Records where frame time goes: the CPU time of every update stage and render
+ * pass, and the GL and resource counters, for the last {@link #FRAMES}
+ * frames. Every timed stage is also kept as an event with its start time, for
+ * the last {@link #EVENTS} stages, so a run can be inspected on a timeline.
+ * <p>
+ * Everything is stored in preallocated ring buffers. Each stage only ever writes
+ * its own slots, and event slots are claimed with an atomic counter, so stages
+ * can be timed from more than one thread without locks. Nothing is recorded
+ * while the profiler is disabled.
+ * <p>
+ * Input latencies are counted in histograms of {@link #LATENCY_BUCKETS}
+ * buckets of a millisecond, the last of which holds everything slower.
+ * <p>
+ * The history can be saved as CSV with one row per frame, or as a Chrome trace
+ * that can be opened in chrome://tracing. The histograms are saved as CSV too.
+ */
+public final class Profiler {
+
+	/**
+	 * A timed part of a frame
+	 */
+	public enum Stage {
+		FRAME, WORLD, STATUS, VIEW, INPUT, EVENTS, BACKGROUND, OPAQUE, TRANSPARENT, UI
+	}
+
+	/**
+	 * A counter sampled at the end of every frame: the GL counters, and the
+	 * native resources alive according to the {@link ResourceTracker}
+	 */
+	public enum Counter {
+		DRAW_CALLS, TEXTURE_BINDINGS, SHADER_SWITCHES, VERTICES, GL_CALLS, RESOURCES, RESOURCE_KB
+	}
+
+	/**
+	 * A measured input latency, from the time an input event happened
+	 */
+	public enum Latency {
+		// Until a simulation tick consumed it
+		INPUT_TO_TICK,
+		// Until the frame showing its effect was drawn
+		INPUT_TO_FRAME
+	}
+
+	// Frames of history, a power of two
+	public static final int FRAMES = 256;
+	// Milliseconds covered by the latency histograms
+	public static final int LATENCY_BUCKETS = 100;
+	// Timed stages of history, a power of two
+	public static final int EVENTS = 4096;
+
+	private static final Stage[] STAGES = Stage.values();
+	private static final Counter[] COUNTERS = Counter.values();
+	private static final Latency[] LATENCIES = Latency.values();
+
+	private static Profiler instance;
+
+	private final long[][] times = new long[STAGES.length][FRAMES];
+	private final int[][] counters = new int[COUNTERS.length][FRAMES];
+	private final long[] started = new long[STAGES.length];
+	private final int[][] latencies = new int[LATENCIES.length][LATENCY_BUCKETS+1];
+
+	private final byte[] eventStages = new byte[EVENTS];
+	private final long[] eventStarts = new long[EVENTS];
+	private final long[] eventDurations = new long[EVENTS];
+	private final AtomicInteger events = new AtomicInteger();
+
+	private volatile boolean enabled;
+	private volatile int frame;
+	private int last;
+	private int frames;
+
+	private Profiler() {
+	}
+
+	/**
+	 * Start or stop recording. The GL calls are only counted while recording.
+	 */
+	public void setEnabled(boolean enabled) {
+		if (enabled == this.enabled) {
+			return;
+		}
+		this.enabled = enabled;
+		if (enabled) {
+			GLProfiler.enable();
+		} else {
+			GLProfiler.disable();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Start recording a new frame
+	 */
+	public void beginFrame() {
+		if (!enabled) {
+			return;
+		}
+		int slot = (frame + 1) & (FRAMES - 1);
+		for (int s = 0; s < STAGES.length; s++) {
+			times[s][slot] = 0;
+		}
+		frame++;
+		GLProfiler.reset();
+		begin(Stage.FRAME);
+	}
+
+	/**
+	 * Finish the current frame and sample the GL counters
+	 */
+	public void endFrame() {
+		if (!enabled) {
+			return;
+		}
+		end(Stage.FRAME);
+		int slot = frame & (FRAMES - 1);
+		counters[Counter.DRAW_CALLS.ordinal()][slot] = GLProfiler.drawCalls;
+		counters[Counter.TEXTURE_BINDINGS.ordinal()][slot] = GLProfiler.textureBindings;
+		counters[Counter.SHADER_SWITCHES.ordinal()][slot] = GLProfiler.shaderSwitches;
+		counters[Counter.VERTICES.ordinal()][slot] = (int) GLProfiler.vertexCount.total;
+		counters[Counter.GL_CALLS.ordinal()][slot] = GLProfiler.calls;
+		ResourceTracker resources = ResourceTracker.getInstance();
+		counters[Counter.RESOURCES.ordinal()][slot] = resources.count();
+		counters[Counter.RESOURCE_KB.ordinal()][slot] = (int) (resources.bytes()/1024);
+		last = frame;
+		if (frames < FRAMES) {
+			frames++;
+		}
+	}
+
+	/**
+	 * Start timing a stage. A stage that runs several times in a frame adds up.
+	 */
+	public void begin(Stage stage) {
+		if (enabled) {
+			started[stage.ordinal()] = TimeUtils.nanoTime();
+		}
+	}
+
+	/**
+	 * Stop timing a stage
+	 */
+	public void end(Stage stage) {
+		if (!enabled) {
+			return;
+		}
+		int s = stage.ordinal();
+		long start = started[s];
+		long duration = TimeUtils.nanoTime() - start;
+		times[s][frame & (FRAMES - 1)] += duration;
+
+		int event = events.getAndIncrement() & (EVENTS - 1);
+		eventStages[event] = (byte) s;
+		eventStarts[event] = start;
+		eventDurations[event] = duration;
+	}
+
+	/**
+	 * Count an input latency
+	 * @param latency what was measured
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void recordLatency(Latency latency, long nanos) {
+		if (!enabled) {
+			return;
+		}
+		int bucket = (int) Math.min(Math.max(nanos/1000000, 0), LATENCY_BUCKETS);
+		latencies[latency.ordinal()][bucket]++;
+	}
+
+	/**
+	 * @param latency the latency
+	 * @param bucket the millisecond, or {@link #LATENCY_BUCKETS} for anything slower
+	 * @return the number of inputs with that latency
+	 */
+	public int latencyCount(Latency latency, int bucket) {
+		return latencies[latency.ordinal()][bucket];
+	}
+
+	/**
+	 * @param latency the latency
+	 * @param percentile between 0 and 1
+	 * @return the latency in milliseconds under which that share of inputs fall,
+	 *         or -1 if nothing was measured
+	 */
+	public int latencyPercentile(Latency latency, float percentile) {
+		int[] buckets = latencies[latency.ordinal()];
+		long total = 0;
+		for (int count: buckets) {
+			total += count;
+		}
+		if (total == 0) {
+			return -1;
+		}
+		long seen = 0;
+		for (int bucket = 0; bucket < buckets.length; bucket++) {
+			seen += buckets[bucket];
+			if (seen >= percentile*total) {
+				return bucket;
+			}
+		}
+		return LATENCY_BUCKETS;
+	}
+
+	/**
+	 * @return the number of frames of history
+	 */
+	public int frames() {
+		return frames;
+	}
+
+	/**
+	 * @param stage the stage
+	 * @param age 0 for the last finished frame, 1 for the one before and so on
+	 * @return the CPU time of the stage in nanoseconds
+	 */
+	public long time(Stage stage, int age) {
+		return times[stage.ordinal()][slot(age)];
+	}
+
+	/**
+	 * @param counter the counter
+	 * @param age 0 for the last finished frame, 1 for the one before and so on
+	 * @return the value of the counter
+	 */
+	public int count(Counter counter, int age) {
+		return counters[counter.ordinal()][slot(age)];
+	}
+
+	/**
+	 * @return the mean CPU time of a stage over the history in nanoseconds
+	 */
+	public long averageTime(Stage stage) {
+		if (frames == 0) {
+			return 0;
+		}
+		long total = 0;
+		for (int age = 0; age < frames; age++) {
+			total += time(stage, age);
+		}
+		return total/frames;
+	}
+
+	/**
+	 * @return the mean value of a counter over the history
+	 */
+	public int averageCount(Counter counter) {
+		if (frames == 0) {
+			return 0;
+		}
+		long total = 0;
+		for (int age = 0; age < frames; age++) {
+			total += count(counter, age);
+		}
+		return (int) (total/frames);
+	}
+
+	/**
+	 * Forget the recorded history
+	 */
+	public void clear() {
+		frames = 0;
+		events.set(0);
+		for (int[] buckets: latencies) {
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = 0;
+			}
+		}
+	}
+
+	private int slot(int age) {
+		return (last - age) & (FRAMES - 1);
+	}
+
+	/**
+	 * Save the history as CSV, one row per frame from oldest to newest, with the
+	 * stage times in milliseconds
+	 * @param file the file to write
+	 */
+	public void writeCsv(FileHandle file) {
+		Writer writer = null;
+		try {
+			writer = file.writer(false, "UTF-8");
+			writer.write("frame");
+			for (Stage stage: STAGES) {
+				writer.write("," + stage.name().toLowerCase(Locale.ROOT) + "_ms");
+			}
+			for (Counter counter: COUNTERS) {
+				writer.write("," + counter.name().toLowerCase(Locale.ROOT));
+			}
+			writer.write('\n');
+
+			for (int age = frames-1; age >= 0; age--) {
+				writer.write(Integer.toString(frames-1-age));
+				for (Stage stage: STAGES) {
+					writer.write("," + time(stage, age)/1e6f);
+				}
+				for (Counter counter: COUNTERS) {
+					writer.write("," + count(counter, age));
+				}
+				writer.write('\n');
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error writing profile " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(writer);
+		}
+	}
+
+	/**
+	 * Save the latency histograms as CSV, one row per millisecond
+	 * @param file the file to write
+	 */
+	public void writeLatencyCsv(FileHandle file) {
+		Writer writer = null;
+		try {
+			writer = file.writer(false, "UTF-8");
+			writer.write("ms");
+			for (Latency latency: LATENCIES) {
+				writer.write("," + latency.name().toLowerCase(Locale.ROOT));
+			}
+			writer.write('\n');
+
+			for (int bucket = 0; bucket <= LATENCY_BUCKETS; bucket++) {
+				writer.write(bucket == LATENCY_BUCKETS ? bucket + "+" : Integer.toString(bucket));
+				for (Latency latency: LATENCIES) {
+					writer.write("," + latencyCount(latency, bucket));
+				}
+				writer.write('\n');
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error writing profile " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(writer);
+		}
+	}
+
+	/**
+	 * Save the recorded stages as a Chrome trace, in the JSON format read by
+	 * chrome://tracing
+	 * @param file the file to write
+	 */
+	public void writeTrace(FileHandle file) {
+		int count = Math.min(events.get(), EVENTS);
+		int first = events.get() - count;
+		// Events are stored in the order they ended, so a frame comes after its stages
+		long origin = Long.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			origin = Math.min(origin, eventStarts[(first + i) & (EVENTS - 1)]);
+		}
+
+		Writer writer = null;
+		try {
+			writer = file.writer(false, "UTF-8");
+			writer.write("{\"traceEvents\":[\n");
+			for (int i = 0; i < count; i++) {
+				int event = (first + i) & (EVENTS - 1);
+				if (i > 0) {
+					writer.write(",\n");
+				}
+				writer.write("{\"name\":\"" + STAGES[eventStages[event]].name()
+						+ "\",\"ph\":\"X\",\"pid\":0,\"tid\":0,\"ts\":" + (eventStarts[event]-origin)/1000f
+						+ ",\"dur\":" + eventDurations[event]/1000f + "}");
+			}
+			writer.write("\n]}\n");
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error writing profile " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(writer);
+		}
+	}
+
+	public static Profiler getInstance() {
+		if (instance == null) {
+			instance = new Profiler();
+		}
+		return instance;
+	}
+}
@@ -12,6 +12,7 @@ import com.badlogic.gdx.graphics.FPSLogger;
 import com.badlogic.gdx.utils.TimeUtils;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
 import com.scarlettapps.skydiver3d.resources.FontFactory;
+import com.scarlettapps.skydiver3d.resources.PreferenceFactory;
 
 /**
  * Class that stores the current instance of the game and the current screen,
@@ -27,6 +28,8 @@ public class Skydiver3D extends Game {
 	// Whether or not the game should be run in dev mode, which enables
     // advanced debugging options for game logic and gui testing
 	public static final boolean DEV_MODE = false;
+	// Milliseconds per frame spent loading assets in the background
+	private static final int STREAMING_BUDGET = 4;
 	
 	/** Screens displayed when browsing the main menu */
 	// Splash screen for main menu that is displayed while loading
@@ -71,6 +74,7 @@ public class Skydiver3D extends Game {
 		
 		// Initialize resources
 		AssetFactory.getInstance().load();
+		Profiler.getInstance().setEnabled(DEV_MODE || PreferenceFactory.getInstance().isProfilerEnabled());
 		
 		// Initialize screens
 		mainMenuScreen = new MainMenuScreen(this);
@@ -116,7 +120,12 @@ public class Skydiver3D extends Game {
 	@Override
 	public void render() {
 		// Calls the rendering method for the current screen
+		Profiler profiler = Profiler.getInstance();
+		profiler.beginFrame();
+		// Stream in bundles that are still loading, such as the game behind the menus
+		AssetFactory.getInstance().update(STREAMING_BUDGET);
 		super.render();
+		profiler.endFrame();
 		
 		// Display FPS if dev mode enabled
 		if (DEV_MODE) {
@@ -140,6 +149,7 @@ public class Skydiver3D extends Game {
 		splashScreen.dispose();
 		loadingScreen.dispose();
 		gameOptionsScreen.dispose();
+		levelSelectScreen.dispose();
 		
 		// Dispose game resources
 		AssetFactory.getInstance().dispose();
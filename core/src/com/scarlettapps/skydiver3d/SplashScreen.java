@@ -18,6 +18,8 @@ import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TiledDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.Bundle;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
 import com.scarlettapps.skydiver3d.resources.FontFactory;
 import com.scarlettapps.skydiver3d.resources.LanguageFactory;
 
@@ -32,6 +34,8 @@ public class SplashScreen extends MenuScreen {
 	private static final float LOADING_MAX = 1f;
 	private static final float STEP_SIZE = 0.05f;
 	private static final float ANIMATE_DURATION = 0.5f;
+	// Milliseconds per frame spent loading while this screen is shown
+	private static final int LOADING_BUDGET = 50;
 	
 	private ProgressBar progressBar;
 	
@@ -90,7 +94,7 @@ public class SplashScreen extends MenuScreen {
 	 * @return the knob
 	 */
 	private Drawable createKnob() {
-		return new TiledDrawable(new TextureRegion(new Texture("skin/stripes.png")));
+		return new TiledDrawable(new TextureRegion(AssetFactory.getInstance().get(TextureType.STRIPES, Texture.class)));
 	}
 	
 	/**
@@ -102,7 +106,9 @@ public class SplashScreen extends MenuScreen {
 		pixmap.setColor(Color.WHITE);
 		pixmap.fill();
 		pixmap.setColor(Color.LIGHT_GRAY);
-		return new TextureRegionDrawable(new TextureRegion(new Texture(pixmap)));
+		Texture texture = resources.add(new Texture(pixmap));
+		pixmap.dispose();
+		return new TextureRegionDrawable(new TextureRegion(texture));
 	}
 	
 	/**
@@ -116,22 +122,24 @@ public class SplashScreen extends MenuScreen {
 		if (game.mainMenuScreen.isLoaded()) {
 			showMainMenu();
 		} else {	
-			AssetFactory.getInstance().update(50);
+			AssetFactory.getInstance().update(LOADING_BUDGET);
 		}
 	}
 	
 	/**
-	 * Get the current loading progress as a ratio of total loaded/total assets to load
+	 * Get the loading progress of the main menu
 	 * @return the loading progress
 	 */
 	private float getProgress() {
-		return LOADING_MAX*(AssetFactory.getInstance().getLoadedAssets()/5f)+LOADING_MIN;
+		return LOADING_MAX*AssetFactory.getInstance().getProgress(Bundle.MENU)+LOADING_MIN;
 	}
 	
 	/**
 	 * Switch to the main menu screen
 	 */
 	private void showMainMenu() {
+		// The stripes stay loaded for the loading screen, which is in the menu bundle
+		AssetFactory.getInstance().release(Bundle.SPLASH);
 		game.mainMenuScreen.initialize();
 		game.setScreen(game.mainMenuScreen);
 	}
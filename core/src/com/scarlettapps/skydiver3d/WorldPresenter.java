@@ -7,13 +7,25 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.MathUtils;
+import com.scarlettapps.skydiver3d.Profiler.Stage;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.Bundle;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.MusicType;
+import com.scarlettapps.skydiver3d.resources.AudioQueue;
+import com.scarlettapps.skydiver3d.resources.LevelFactory;
 import com.scarlettapps.skydiver3d.resources.MusicFactory;
+import com.scarlettapps.skydiver3d.resources.ResourceTracker;
+import com.scarlettapps.skydiver3d.resources.WindAudio;
 import com.scarlettapps.skydiver3d.world.Level;
 import com.scarlettapps.skydiver3d.world.World;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
+import com.scarlettapps.skydiver3d.worldstate.Checkpointed;
 import com.scarlettapps.skydiver3d.worldstate.GameController;
 import com.scarlettapps.skydiver3d.worldstate.InputManager;
+import com.scarlettapps.skydiver3d.worldstate.Replay;
+import com.scarlettapps.skydiver3d.worldstate.ReplayPlayer;
+import com.scarlettapps.skydiver3d.worldstate.ReplayRecorder;
 import com.scarlettapps.skydiver3d.worldstate.Score;
 import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.StatusManager;
@@ -21,6 +33,9 @@ import com.scarlettapps.skydiver3d.worldview.WorldView;
 
 /**
  * Screen which displays the skydiving game
+ * <p>
+ * The world is simulated in fixed ticks at the start of every frame, and the
+ * audio the ticks ask for is played once they are done.
  * @author Michael Scarlett
  *
  */
@@ -28,6 +43,8 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 	
 	// Maximum time difference in seconds between frames
 	protected static final float MAX_DELTA = 0.1f;
+	// Name of the files the profile is saved to
+	private static final String PROFILE = "profile";
 	// Represents the current state of game objects
 	protected World world;
 	// Renders the game objects
@@ -40,6 +57,34 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 	protected StatusManager statusManager;
 	// Status of the world
 	protected Status status;
+	// Records the input of every run
+	protected ReplayRecorder recorder;
+	// Plays back a recorded run
+	protected ReplayPlayer player;
+	// Time in seconds not yet simulated
+	private float accumulator;
+	// Saves and restores everything a tick depends on. The view comes first:
+	// entering the saved view state moves the diver, which the status then
+	// puts back.
+	private final Checkpointed simulationState = new Checkpointed() {
+		@Override
+		public void save(Checkpoint checkpoint) {
+			worldView.save(checkpoint);
+			statusManager.save(checkpoint);
+			world.save(checkpoint);
+		}
+		
+		@Override
+		public void restore(Checkpoint checkpoint) {
+			checkpoint.rewind();
+			worldView.restore(checkpoint);
+			statusManager.restore(checkpoint);
+			world.restore(checkpoint);
+		}
+	};
+	// Native resources alive after the last restart, and the level restarted
+	private ResourceTracker.Snapshot restartResources;
+	private Level restartLevel;
 	
 	/**
 	 * Instantiate the screen with the game instance
@@ -55,6 +100,11 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 		statusManager = new StatusManager(inputManager, status);
 		world = new World(inputManager, statusManager);
 		worldView = new WorldView(world, statusManager);
+		
+		recorder = new ReplayRecorder(status, simulationState);
+		player = new ReplayPlayer(status, simulationState);
+		inputManager.setRecorder(recorder);
+		inputManager.setPlayer(player);
 	}
 	
 	public void initializeScreen() {
@@ -62,6 +112,8 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 			Gdx.app.log(Skydiver3D.LOG, "Initializing world");
 		}
 
+		beginRun();
+		inputManager.reset();
 		world.initialize();
 		worldView.initialize();
 	}
@@ -71,7 +123,7 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 	 * @param delta the time in seconds between frames
 	 */
 	@Override
-	public void render(float delta) {		
+	public void render(float delta) {
 		if (status.isPaused()) {
 			// If the world is paused then switch to pause screen
 			game.setScreen(game.pauseScreen);
@@ -79,24 +131,53 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 			// If the level has been completed then switch to level completed screen
 			game.setScreen(game.levelCompletedScreen);
 		} else {
-			// Otherwise update and render world
+			// Otherwise update the world in fixed ticks and render it
 			if (delta >= MAX_DELTA) delta = MAX_DELTA;
-			updateObjects(delta);
+			simulate(delta);
+			AudioQueue.getInstance().flush(delta);
 			Gdx.gl.glClearColor(0.5f, 0.5f, 1.0f, 1.0f);
 			Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
 			renderObjects(delta);
 		}
 	}
 	
+	/**
+	 * Simulate the ticks that fit in the time not yet simulated
+	 * @param delta the time in seconds since the last frame
+	 */
+	private void simulate(float delta) {
+		accumulator += delta;
+		while (accumulator >= Replay.TICK && !status.isCompleted()) {
+			updateObjects(Replay.TICK);
+			accumulator -= Replay.TICK;
+		}
+	}
+	
 	/**
 	 * Update the world objects
 	 * @param delta the time in seconds between frames
 	 */
 	protected void updateObjects(float delta) {
+		Profiler profiler = Profiler.getInstance();
+		// Input first, so that the tick which consumes an input also simulates it
+		profiler.begin(Stage.INPUT);
+		inputManager.update(delta);
+		profiler.end(Stage.INPUT);
+		profiler.begin(Stage.WORLD);
 		world.update(delta);
+		profiler.end(Stage.WORLD);
+		profiler.begin(Stage.STATUS);
 		statusManager.update(delta);
+		profiler.end(Stage.STATUS);
+		profiler.begin(Stage.VIEW);
 		worldView.update(delta);
-		inputManager.update(delta);
+		profiler.end(Stage.VIEW);
+		// Deliver what happened during the tick once every stage has run
+		profiler.begin(Stage.EVENTS);
+		statusManager.events().dispatch();
+		profiler.end(Stage.EVENTS);
+		// Hand the finished tick to the renderer
+		statusManager.publish();
 	}
 	
 	/**
@@ -104,7 +185,9 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 	 * @param delta the time in seconds between frames
 	 */
 	protected void renderObjects(float delta) {
-		worldView.render(delta);
+		// The time not yet simulated is how far the frame is behind the present
+		worldView.render(delta, accumulator);
+		inputManager.frameDrawn();
 	}
 
 	/**
@@ -127,18 +210,154 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 		// Switch music
         MusicFactory music = MusicFactory.getInstance();
 		music.stop();		
-		music.play(MusicType.WIND);
+		startWind();
+	}
+	
+	/**
+	 * Start the synthesized wind, or stream the wind music where it is not supported
+	 */
+	private void startWind() {
+		if (!WindAudio.getInstance().start()) {
+			MusicFactory.getInstance().play(MusicType.WIND);
+			// Set the first wind volume at once rather than ramping to it
+			AudioQueue.getInstance().resetMusicVolume();
+		}
+	}
+	
+	/**
+	 * Silence the synthesized wind while the application is paused. Music is
+	 * paused by the backend.
+	 */
+	@Override
+	protected void pauseScreen() {
+		WindAudio.getInstance().stop();
+	}
+	
+	@Override
+	protected void resumeScreen() {
+		WindAudio.getInstance().start();
+	}
+
+	/**
+	 * Save the profile of the run when leaving the screen
+	 */
+	@Override
+	protected void hideScreen() {
+		WindAudio.getInstance().stop();
+		Profiler profiler = Profiler.getInstance();
+		if (profiler.isEnabled() && Gdx.files.isLocalStorageAvailable()) {
+			profiler.writeCsv(Gdx.files.local(PROFILE + ".csv"));
+			profiler.writeTrace(Gdx.files.local(PROFILE + ".json"));
+			profiler.writeLatencyCsv(Gdx.files.local(PROFILE + "-latency.csv"));
+			if (Skydiver3D.DEV_MODE) {
+				Gdx.app.log(Skydiver3D.LOG, "Saved profile to " + Gdx.files.getLocalStoragePath() + PROFILE);
+			}
+		}
+	}
+
+	/**
+	 * Release the native resources of the world and its view
+	 */
+	@Override
+	protected void disposeScreen() {
+		world.dispose();
+		worldView.dispose();
 	}
 
 	/**
 	 * Restart the level
 	 */
 	public void restartLevel() {
+		AudioQueue.getInstance().clear();
+		beginRun();
 		gameController.reset();
 		inputManager.reset();
 		statusManager.reset();
 		world.reset();
 		worldView.reset();
+		checkLeaks();
+	}
+	
+	/**
+	 * Check that restarting a level left as many native resources alive as the
+	 * previous restart of the same level
+	 */
+	private void checkLeaks() {
+		ResourceTracker tracker = ResourceTracker.getInstance();
+		if (restartResources != null && restartLevel == status.difficulty()) {
+			tracker.checkLeaks(restartResources, "Restarting " + restartLevel);
+		}
+		restartResources = tracker.snapshot(restartResources);
+		restartLevel = status.difficulty();
+	}
+	
+	/**
+	 * Pick the seed of a new run, or reuse the seed of the replay being played,
+	 * and start recording
+	 */
+	private void beginRun() {
+		accumulator = 0;
+		long seed;
+		if (player.isPlaying()) {
+			player.rewind();
+			seed = player.replay().seed();
+		} else {
+			seed = MathUtils.random.nextLong();
+			recorder.begin(status.difficulty(), seed);
+		}
+		status.setSeed(seed);
+	}
+	
+	/**
+	 * Get the replay of the current or last run
+	 * @return the replay, or null if nothing has been played yet
+	 */
+	public Replay replay() {
+		return recorder.replay();
+	}
+	
+	/**
+	 * Restart the level of a replay and play it back
+	 * @param replay the replay to play
+	 */
+	public void playReplay(Replay replay) {
+		recorder.end();
+		player.begin(replay);
+		setLevel(LevelFactory.getInstance().get(replay.level()));
+		restartLevel();
+	}
+	
+	/**
+	 * Stop playing a replay and hand control back to the player
+	 */
+	public void stopReplay() {
+		player.end();
+	}
+	
+	/**
+	 * Move the replay being played to a tick. The simulation is restored from
+	 * the last checkpoint at or before the tick, unless it is already closer,
+	 * and the ticks from there are simulated without rendering. Seeking
+	 * backwards restarts the level first, to reset the HUD.
+	 * @param tick the simulation tick to seek to
+	 */
+	public void seekReplay(int tick) {
+		if (!player.isPlaying()) {
+			return;
+		}
+		Checkpoint checkpoint = player.replay().snapshot(tick);
+		if (tick < player.tick()) {
+			restartLevel();
+		}
+		if (checkpoint != null && checkpoint.tick() > player.tick()) {
+			simulationState.restore(checkpoint);
+			player.skipTo(checkpoint.tick());
+		}
+		while (player.isPlaying() && player.tick() < tick && !status.isCompleted()) {
+			updateObjects(Replay.TICK);
+		}
+		// Skipped ticks are silent
+		AudioQueue.getInstance().clear();
 	}
 	
 	/**
@@ -156,7 +375,7 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 	 * @return the score
 	 */
 	public Score scoreSummary() {
-		return status.scoreSummary();
+		return statusManager.scoring().score();
 	}
 
 	/**
@@ -164,7 +383,7 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 	 * @return true if loaded, false otherwise
 	 */
 	public boolean isLoaded() {
-		return AssetFactory.getInstance().isLoaded();
+		return AssetFactory.getInstance().isLoaded(Bundle.GAMEPLAY);
 	}
 
 	/**
@@ -180,8 +399,9 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 			Gdx.app.log(Skydiver3D.LOG, "Setting level to " + levelNum);
 		}
 		
-	    levelNum = Math.min(levelNum, Level.LEVELS.size());
-		Level l = Level.LEVELS.get(levelNum - 1);
+		LevelFactory levels = LevelFactory.getInstance();
+	    levelNum = Math.min(levelNum, levels.size());
+		Level l = levels.get(levelNum - 1);
 		setLevel(l);
 	}
 	
@@ -191,6 +411,7 @@ public class WorldPresenter extends DefaultScreen<Skydiver3D> {
 		}
 		
 		status.setDifficulty(difficulty);
+		LevelFactory.getInstance().prefetchNext();
 	}
 
 	public Level level() {
@@ -4,39 +4,57 @@
 package com.scarlettapps.skydiver3d.resources;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.scarlettapps.skydiver3d.Skydiver3D;
 
 public final class AssetFactory {
 	
 	public static class TextureType {
 		public static final String TITLE = "data/textures/title.png";
-		public static final String RING = "data/textures/ring-big_2.png";
-		public static final String STAR = "data/textures/star-big_2.png";
-		public static final String SLIDER = "data/textures/slider2.png";
-		public static final String SLIDERBAR = "data/textures/sliderbar.png";
-		public static final String PHONE_ROTATE = "data/textures/phone_rotate.png";
-		public static final String DARTS = "data/textures/darts.png";
-		public static final String EMPTY_STAR = "data/textures/emptystar.png";
-		public static final String GOLD_STAR = "data/textures/goldstar.png";
-		public static final String PAUSE = "data/textures/pause.png";
 		public static final String WATER_TERRAIN = "data/textures/lightwater.jpg";
 		public static final String SAND_TERRAIN = "data/textures/sandtile.jpg";
 		public static final String FOLIAGE_TERRAIN = "data/textures/foliage_tiled.png";
 		public static final String GRASS_TERRAIN = "data/textures/grasstile.jpg";
-		public static final String LIGHTNING = "data/textures/lightning.png";
 		public static final String SKY = "data/textures/sky.png";
-		public static final String RING_SKULL = "data/textures/ring_skull.png";
-		public static final String RING_NUCLEAR = "data/textures/ring_nuclear.png";
-		public static final String RING_GHOST = "data/textures/ring_ghost.png";
-		public static final String BUTTON = "data/textures/button.png";
-		public static final String ARROW_BLUE = "data/textures/arrow-blue.png";
-		public static final String LOCK = "data/textures/lock.png";
+		public static final String STRIPES = "skin/stripes.png";
+		public static final String MENU_BACKGROUND = "data/textures/Menu3Background.png";
+	}
+	
+	public static class AtlasType {
+		public static final String UI = "data/textures/ui.atlas";
+	}
+	
+	/**
+	 * Names of the regions of the {@link AtlasType#UI} atlas, which is packed from
+	 * the images in assets-raw/ui by the packTextures task of the desktop project
+	 */
+	public static class RegionType {
+		public static final String RING = "ring";
+		public static final String STAR = "star";
+		public static final String SLIDER = "slider";
+		public static final String SLIDERBAR = "sliderbar";
+		public static final String PHONE_ROTATE = "phone_rotate";
+		public static final String DARTS = "darts";
+		public static final String EMPTY_STAR = "emptystar";
+		public static final String GOLD_STAR = "goldstar";
+		public static final String PAUSE = "pause";
+		public static final String LIGHTNING = "lightning";
+		public static final String RING_SKULL = "ring_skull";
+		public static final String RING_NUCLEAR = "ring_nuclear";
+		public static final String RING_GHOST = "ring_ghost";
+		public static final String BUTTON = "button";
+		public static final String ARROW_BLUE = "arrow-blue";
+		public static final String LOCK = "lock";
 	}
 	
 	public static class SoundType {
@@ -62,83 +80,300 @@ public final class AssetFactory {
 		public static final String SKYDIVER = "data/models/skydiver.g3db";
 	}
 	
+	/**
+	 * Groups of assets that are loaded and unloaded together. Bundles are
+	 * loaded one at a time in the order they are declared, so a bundle that
+	 * is needed sooner is never stuck behind one that is needed later.
+	 */
+	public enum Bundle {
+		// Shown while everything else loads
+		SPLASH,
+		// Main menu and the screens reached from it
+		MENU,
+		// Everything needed to play a level
+		GAMEPLAY
+	}
+	
+	// Extension of the ETC1 copies of opaque textures written by the compressTextures task
+	private static final String COMPRESSED_EXTENSION = ".etc1";
+	
 	private static AssetFactory instance;
 	
-	private AssetManager assets;
+	private final AssetManager assets;
+	private final ObjectMap<Bundle, Array<AssetDescriptor<?>>> contents;
+	private final int[] references;
+	private final boolean[] loaded;
+	private final Array<Bundle> pending;
+	private final ObjectMap<Bundle, Array<Runnable>> listeners;
+	// Bundle whose assets are in the queue of the asset manager
+	private Bundle loading;
+	// Whether the GPU can sample ETC1 textures without decoding them first
+	private final boolean compressed;
+	// The file each texture is loaded from, by the name it is requested with
+	private final ObjectMap<String, String> variants;
 	
 	private AssetFactory() {
 		assets = new AssetManager();
+		
+		int bundles = Bundle.values().length;
+		contents = new ObjectMap<Bundle, Array<AssetDescriptor<?>>>(bundles);
+		references = new int[bundles];
+		loaded = new boolean[bundles];
+		pending = new Array<Bundle>(bundles);
+		listeners = new ObjectMap<Bundle, Array<Runnable>>(bundles);
+		compressed = Gdx.graphics.supportsExtension("GL_OES_compressed_ETC1_RGB8_texture");
+		variants = new ObjectMap<String, String>();
+		
+		add(Bundle.SPLASH, TextureType.STRIPES, Texture.class);
+		add(Bundle.SPLASH, TextureType.MENU_BACKGROUND, Texture.class);
+		
+		add(Bundle.MENU, TextureType.TITLE, Texture.class);
+		add(Bundle.MENU, TextureType.STRIPES, Texture.class);
+		add(Bundle.MENU, TextureType.MENU_BACKGROUND, Texture.class);
+		add(Bundle.MENU, AtlasType.UI, TextureAtlas.class);
+		add(Bundle.MENU, SoundType.CLICK, Sound.class);
+		add(Bundle.MENU, MusicType.MAIN_MENU, Music.class);
+		
+		add(Bundle.GAMEPLAY, AtlasType.UI, TextureAtlas.class);
+		add(Bundle.GAMEPLAY, ModelType.SKYDIVER, Model.class);
+		add(Bundle.GAMEPLAY, SoundType.BELL, Sound.class);
+		add(Bundle.GAMEPLAY, SoundType.SLAP, Sound.class);
+		add(Bundle.GAMEPLAY, SoundType.LAUGH, Sound.class);
+		add(Bundle.GAMEPLAY, SoundType.APPLAUSE, Sound.class);
+		add(Bundle.GAMEPLAY, MusicType.WIND, Music.class);
+		add(Bundle.GAMEPLAY, TextureType.SKY, Texture.class);
+		add(Bundle.GAMEPLAY, TextureType.GRASS_TERRAIN, Texture.class);
+	}
+	
+	private <T> void add(Bundle bundle, String fileName, Class<T> type) {
+		Array<AssetDescriptor<?>> assets = contents.get(bundle);
+		if (assets == null) {
+			assets = new Array<AssetDescriptor<?>>();
+			contents.put(bundle, assets);
+		}
+		if (type == Texture.class) {
+			fileName = variant(fileName);
+		}
+		assets.add(new AssetDescriptor<T>(fileName, type));
+	}
+	
+	/**
+	 * Choose the file a texture is loaded from: its ETC1 copy if the GPU can
+	 * sample it and the copy exists, otherwise the original image. ETC1 takes
+	 * a sixth of the memory of RGB and is uploaded without decoding.
+	 * @param fileName the original image
+	 * @return the file to load
+	 */
+	private String variant(String fileName) {
+		String variant = variants.get(fileName);
+		if (variant != null) {
+			return variant;
+		}
+		variant = fileName;
+		if (compressed) {
+			String etc1 = fileName.substring(0, fileName.lastIndexOf('.')) + COMPRESSED_EXTENSION;
+			if (Gdx.files.internal(etc1).exists()) {
+				variant = etc1;
+				if (Skydiver3D.DEV_MODE) {
+				    Gdx.app.log(Skydiver3D.LOG, "Using " + etc1 + " for " + fileName);
+				}
+			}
+		}
+		variants.put(fileName, variant);
+		return variant;
 	}
 	
 	public <T> T get(String fileName, Class<T> type) {
-		return assets.get(fileName, type);
+		return assets.get(variants.get(fileName, fileName), type);
 	}
 
-	public void update(int millis) {
-		assets.update(millis);
+	/**
+	 * Find a region of the UI atlas. Every region shares the texture of the
+	 * atlas, so anything drawn with them needs no texture switches.
+	 * @param name one of {@link RegionType}
+	 * @return the region
+	 */
+	public AtlasRegion getRegion(String name) {
+		AtlasRegion region = assets.get(AtlasType.UI, TextureAtlas.class).findRegion(name);
+		if (region == null) {
+			throw new GdxRuntimeException("No region " + name + " in " + AtlasType.UI);
+		}
+		return region;
 	}
 
 	public boolean isLoaded(String fileName, Class<?> type) {
-		return assets.isLoaded(fileName, type);
+		return assets.isLoaded(variants.get(fileName, fileName), type);
 	}
 	
-	public float getProgress() {
-		return assets.getProgress();
+	/**
+	 * Request a bundle. It is queued for loading the first time it is
+	 * requested, and stays loaded until every request has been released.
+	 * @param bundle the bundle
+	 */
+	public void acquire(Bundle bundle) {
+		if (references[bundle.ordinal()]++ > 0) {
+			return;
+		}
+		if (Skydiver3D.DEV_MODE) {
+		    Gdx.app.log(Skydiver3D.LOG, "Queueing bundle " + bundle);
+		}
+		pending.add(bundle);
+		pending.sort();
 	}
 	
-	public void dispose() {
-		assets.dispose();
-		instance = null;
+	/**
+	 * Release a request for a bundle. A bundle that nobody needs any more is
+	 * unloaded. Assets shared with other bundles stay loaded, since the asset
+	 * manager counts references per asset.
+	 * @param bundle the bundle
+	 */
+	public void release(Bundle bundle) {
+		int i = bundle.ordinal();
+		if (references[i] == 0) {
+			throw new GdxRuntimeException("Bundle " + bundle + " released more often than acquired");
+		}
+		if (--references[i] > 0) {
+			return;
+		}
+		if (Skydiver3D.DEV_MODE) {
+		    Gdx.app.log(Skydiver3D.LOG, "Unloading bundle " + bundle);
+		}
+		if (!pending.removeValue(bundle, true)) {
+			for (AssetDescriptor<?> asset: contents.get(bundle)) {
+				assets.unload(asset.fileName);
+			}
+		}
+		if (loading == bundle) {
+			loading = null;
+		}
+		loaded[i] = false;
 	}
 	
-	public void load() {
-		if (Skydiver3D.DEV_MODE) {
-		    Gdx.app.log(Skydiver3D.LOG, "Start loading assets");
+	/**
+	 * Load for at most about the given time. Call this every frame.
+	 * @param millis the time budget in milliseconds
+	 */
+	public void update(int millis) {
+		if (loading == null) {
+			next();
+		}
+		if (loading != null && assets.update(millis)) {
+			complete();
 		}
-		
-		// Assets needed for splash screen
-		assets.load(TextureType.TITLE, Texture.class);
-		
-		// Assets needed for main menu screen
-		assets.load(TextureType.GOLD_STAR, Texture.class);
-		assets.load(SoundType.CLICK, Sound.class);
-		assets.load(MusicType.MAIN_MENU, Music.class);
-		
-		// Assets needed for game
-		assets.load(TextureType.RING, Texture.class);
-		assets.load(TextureType.RING_SKULL, Texture.class);
-		assets.load(TextureType.RING_NUCLEAR, Texture.class);
-		assets.load(TextureType.RING_GHOST, Texture.class);
-		assets.load(TextureType.STAR, Texture.class);
-		assets.load(ModelType.SKYDIVER, Model.class);
-		assets.load(SoundType.BELL, Sound.class);
-		assets.load(SoundType.SLAP, Sound.class);
-		assets.load(SoundType.LAUGH, Sound.class);
-		assets.load(SoundType.APPLAUSE, Sound.class);
-		assets.load(MusicType.WIND, Music.class);
-		assets.load(TextureType.SLIDER, Texture.class);
-		assets.load(TextureType.SLIDERBAR, Texture.class);
-		assets.load(TextureType.PAUSE, Texture.class);
-		assets.load(TextureType.LIGHTNING, Texture.class);
-		assets.load(TextureType.EMPTY_STAR, Texture.class);
-		assets.load(TextureType.SKY, Texture.class);
-		assets.load(TextureType.GRASS_TERRAIN, Texture.class);
 	}
 	
-	public Array<String> getLoaded() {
-		return assets.getAssetNames();
+	/**
+	 * Block until a bundle has been loaded. Bundles queued before it are
+	 * loaded first.
+	 * @param bundle an acquired bundle
+	 */
+	public void finishLoading(Bundle bundle) {
+		if (references[bundle.ordinal()] == 0) {
+			throw new GdxRuntimeException("Bundle " + bundle + " has not been acquired");
+		}
+		while (!isLoaded(bundle)) {
+			if (loading == null) {
+				next();
+			}
+			assets.finishLoading();
+			complete();
+		}
 	}
 	
-	public boolean isLoaded() { //XXX this is a hack
-		return getLoadedAssets() == 23;
+	/**
+	 * Block until every acquired bundle has been loaded
+	 */
+	public void finishLoading() {
+		while (loading != null || pending.size > 0) {
+			if (loading == null) {
+				next();
+			}
+			assets.finishLoading();
+			complete();
+		}
 	}
 	
-	public int getLoadedAssets() {
-		return assets.getLoadedAssets();
+	public boolean isLoaded(Bundle bundle) {
+		return loaded[bundle.ordinal()];
 	}
 	
-	public void finishLoading() {
-		assets.finishLoading();
+	/**
+	 * @return the loading progress of a bundle between 0 and 1
+	 */
+	public float getProgress(Bundle bundle) {
+		if (isLoaded(bundle)) {
+			return 1;
+		}
+		return loading == bundle ? assets.getProgress() : 0;
+	}
+	
+	/**
+	 * Run a task once a bundle has been loaded, or right away if it already is.
+	 * Tasks run on the render thread from {@link #update(int)}.
+	 * @param bundle the bundle
+	 * @param task the task
+	 */
+	public void whenLoaded(Bundle bundle, Runnable task) {
+		if (isLoaded(bundle)) {
+			task.run();
+			return;
+		}
+		Array<Runnable> tasks = listeners.get(bundle);
+		if (tasks == null) {
+			tasks = new Array<Runnable>();
+			listeners.put(bundle, tasks);
+		}
+		tasks.add(task);
+	}
+	
+	private void next() {
+		if (pending.size == 0) {
+			return;
+		}
+		loading = pending.removeIndex(0);
+		if (Skydiver3D.DEV_MODE) {
+		    Gdx.app.log(Skydiver3D.LOG, "Loading bundle " + loading);
+		}
+		for (AssetDescriptor<?> asset: contents.get(loading)) {
+			assets.load(asset);
+		}
+	}
+	
+	private void complete() {
+		Bundle bundle = loading;
+		if (bundle == null) {
+			return;
+		}
+		loading = null;
+		loaded[bundle.ordinal()] = true;
+		if (Skydiver3D.DEV_MODE) {
+		    Gdx.app.log(Skydiver3D.LOG, "Loaded bundle " + bundle);
+		}
+		Array<Runnable> tasks = listeners.remove(bundle);
+		if (tasks != null) {
+			for (int i = 0; i < tasks.size; i++) {
+				tasks.get(i).run();
+			}
+		}
+	}
+	
+	public void dispose() {
+		assets.dispose();
+		instance = null;
+	}
+	
+	/**
+	 * Request every bundle, and load the splash screen bundle right away so
+	 * the splash screen can be shown. The others stream in from {@link #update(int)}.
+	 */
+	public void load() {
+		if (Skydiver3D.DEV_MODE) {
+		    Gdx.app.log(Skydiver3D.LOG, "Start loading assets");
+		}
+		for (Bundle bundle: Bundle.values()) {
+			acquire(bundle);
+		}
+		finishLoading(Bundle.SPLASH);
 	}
 	
 	public static AssetFactory getInstance() {
@@ -0,0 +1,170 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.resources;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.scarlettapps.skydiver3d.Skydiver3D;
+
+/**
+ * Collects the sounds and music volume changes asked for by the simulation,
+ * and passes them to the audio backend when {@link #flush(float)} is called
+ * once per frame, after the ticks. The simulation never waits for the
+ * backend, and ticks that are skipped, such as when seeking a replay, can be
+ * silenced by clearing the queue.
+ * <p>
+ * Sounds are stored in a preallocated array; a sound asked for twice before a
+ * flush is played once, and when more are asked for than the queue holds the
+ * newest are dropped. Each sound plays from a {@link VoicePool}, which caps
+ * how many of its voices overlap. Volume changes are not queued at all: only
+ * the last one counts, and the music volume ramps towards it, so the backend
+ * is called at most once per frame for the music. Likewise only the last wind
+ * asked for is passed to the {@link WindAudio}, when it plays.
+ */
+public final class AudioQueue {
+	
+	private static final int CAPACITY = 16;
+	// Voices of one sound playing at once
+	private static final int VOICES = 3;
+	// How long a voice is taken to play, about the length of the longest effect
+	private static final long VOICE_LIFETIME = 1500000000L;
+	// Plays of one sound closer than this are heard as one
+	private static final long MIN_INTERVAL = 50000000L;
+	// Volume change per second
+	private static final float VOLUME_RATE = 0.5f;
+	
+	private static AudioQueue instance;
+	
+	private final String[] sounds = new String[CAPACITY];
+	private final ObjectMap<String, VoicePool> voices = new ObjectMap<String, VoicePool>();
+	private final VolumeRamp musicVolume = new VolumeRamp(VOLUME_RATE);
+	private int size;
+	private int dropped;
+	private float windSpeed;
+	private float windPose;
+	private boolean windParachute;
+	private int calls;
+	
+	private AudioQueue() {
+	}
+	
+	/**
+	 * Play a sound at the next flush
+	 * @param sound the file name of the sound, one of AssetFactory.SoundType
+	 */
+	public void play(String sound) {
+		for (int i = 0; i < size; i++) {
+			if (sounds[i].equals(sound)) {
+				return;
+			}
+		}
+		if (size == CAPACITY) {
+			dropped++;
+			if (Skydiver3D.DEV_MODE) {
+				Gdx.app.log(Skydiver3D.LOG, "Audio queue full, dropping " + sound);
+			}
+			return;
+		}
+		sounds[size++] = sound;
+	}
+	
+	/**
+	 * Ramp the volume of the current music towards a new volume, from the next flush
+	 */
+	public void setMusicVolume(float volume) {
+		musicVolume.setTarget(volume);
+	}
+	
+	/**
+	 * Set the wind heard by the diver, from the next flush
+	 * @see WindSynth#setWind(float, float, boolean, float)
+	 */
+	public void setWind(float speed, float pose, boolean parachute) {
+		windSpeed = speed;
+		windPose = pose;
+		windParachute = parachute;
+	}
+	
+	/**
+	 * Pass the queued sounds and the music volume to the audio backend. Only
+	 * called on the render thread.
+	 * @param delta the time in seconds since the last flush
+	 */
+	public void flush(float delta) {
+		calls = 0;
+		long now = TimeUtils.nanoTime();
+		SoundFactory soundFactory = SoundFactory.getInstance();
+		for (int i = 0; i < size; i++) {
+			String sound = sounds[i];
+			sounds[i] = null;
+			VoicePool pool = voices.get(sound);
+			if (pool == null) {
+				pool = new VoicePool(VOICES, VOICE_LIFETIME, MIN_INTERVAL);
+				voices.put(sound, pool);
+			}
+			if (pool.tooSoon(now)) {
+				continue;
+			}
+			long stolen = pool.steal(now);
+			if (stolen != -1) {
+				soundFactory.stop(sound, stolen);
+				calls++;
+			}
+			pool.add(soundFactory.play(sound), now);
+			calls++;
+		}
+		size = 0;
+		WindAudio wind = WindAudio.getInstance();
+		if (wind.isPlaying()) {
+			wind.setWind(windSpeed, windPose, windParachute);
+		} else if (musicVolume.update(delta)) {
+			MusicFactory.getInstance().setVolume(musicVolume.value());
+			calls++;
+		}
+	}
+	
+	/**
+	 * Drop the queued sounds without playing them
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			sounds[i] = null;
+		}
+		size = 0;
+	}
+	
+	/**
+	 * Forget the music volume, so that the next one is set at once rather
+	 * than ramped to, as when new music starts
+	 */
+	public void resetMusicVolume() {
+		musicVolume.reset();
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return the number of sounds dropped because the queue was full
+	 */
+	public int dropped() {
+		return dropped;
+	}
+	
+	/**
+	 * @return the number of backend calls made by the last flush
+	 */
+	public int calls() {
+		return calls;
+	}
+	
+	public static AudioQueue getInstance() {
+		if (instance == null) {
+			instance = new AudioQueue();
+		}
+		return instance;
+	}
+}
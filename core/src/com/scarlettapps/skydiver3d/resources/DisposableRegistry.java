@@ -0,0 +1,68 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.resources;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * The native resources owned by one object, such as a game object or a screen.
+ * Everything added is counted by the {@link ResourceTracker} until the
+ * registry disposes it, so the owner only has to dispose its registry.
+ */
+public class DisposableRegistry implements Disposable {
+
+	private final String owner;
+	private final Array<Disposable> resources = new Array<Disposable>();
+
+	/**
+	 * @param owner the name of the owner, used in leak reports
+	 */
+	public DisposableRegistry(String owner) {
+		this.owner = owner;
+	}
+
+	/**
+	 * Take ownership of a resource
+	 * @param resource the resource
+	 * @return the resource
+	 */
+	public <T extends Disposable> T add(T resource) {
+		resources.add(resource);
+		ResourceTracker.getInstance().register(resource, owner);
+		return resource;
+	}
+
+	/**
+	 * Dispose a single resource before the others
+	 * @param resource a resource added to this registry, or null
+	 */
+	public void dispose(Disposable resource) {
+		if (resource != null && resources.removeValue(resource, true)) {
+			ResourceTracker.getInstance().unregister(resource);
+			resource.dispose();
+		}
+	}
+
+	/**
+	 * @return the number of resources owned
+	 */
+	public int size() {
+		return resources.size;
+	}
+
+	/**
+	 * Dispose every resource, newest first. The registry can be reused.
+	 */
+	@Override
+	public void dispose() {
+		ResourceTracker tracker = ResourceTracker.getInstance();
+		for (int i = resources.size-1; i >= 0; i--) {
+			Disposable resource = resources.get(i);
+			tracker.unregister(resource);
+			resource.dispose();
+		}
+		resources.clear();
+	}
+}
@@ -5,11 +5,25 @@ package com.scarlettapps.skydiver3d.resources;
 import java.util.Locale;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker.Page;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.scarlettapps.skydiver3d.Skydiver3D;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.FontType;
 
 public final class FontFactory {
@@ -37,13 +51,21 @@ public final class FontFactory {
 			+ "ABCDEFGHIJKLMNOPQRSTUVWXYZ"
             + "abcdefghijklmnopqrstuvwxyz";
 
+	// Directory in local storage where generated fonts are kept
+	private static final String CACHE_DIR = "fontcache/";
+	// Changes whenever the format of the cached files changes
+	private static final int CACHE_VERSION = 1;
+	private static final int MAX_PAGE_SIZE = 1024;
+
 	private static FontFactory instance = null;
 	
-	private final FreeTypeFontGenerator generator;
+	private final String fontType;
 	private final String characters;
+	private final ObjectMap<String, BitmapFont> fonts;
+	private final DisposableRegistry resources = new DisposableRegistry("FontFactory");
+	private FreeTypeFontGenerator generator;
 	
 	private FontFactory() {
-		String fontType;
         String lang = Locale.getDefault().getLanguage();
 		
 		if (lang.equals("ru")) {
@@ -60,7 +82,7 @@ public final class FontFactory {
 			characters = FreeTypeFontGenerator.DEFAULT_CHARS;
 		}
 		
-		generator = new FreeTypeFontGenerator(Gdx.files.internal(fontType));
+		fonts = new ObjectMap<String, BitmapFont>();
 	}
 	
 	public BitmapFont generateFont(int size) {
@@ -86,12 +108,163 @@ public final class FontFactory {
 		return generateFont(parameter);
 	}
 	
+	/**
+	 * Get a font. Fonts are shared, so the same parameters return the same
+	 * instance, which must not be disposed or modified by the caller. A font is
+	 * only rasterized by FreeType the first time it is ever asked for. It is then
+	 * saved to local storage as a .fnt file with PNG pages, which later launches
+	 * load directly.
+	 */
 	public BitmapFont generateFont(FreeTypeFontParameter parameter) {
-		return generator.generateFont(parameter);
+		String key = key(parameter);
+		BitmapFont font = fonts.get(key);
+		if (font == null) {
+			font = resources.add(load(key, parameter));
+			fonts.put(key, font);
+		}
+		return font;
+	}
+	
+	private String key(FreeTypeFontParameter parameter) {
+		return Gdx.files.internal(fontType).nameWithoutExtension()
+				+ "_" + parameter.size
+				+ "_" + parameter.color
+				+ "_" + Integer.toHexString(parameter.characters.hashCode())
+				+ "_" + (parameter.genMipMaps ? "m" : "")
+				+ parameter.minFilter.ordinal() + parameter.magFilter.ordinal()
+				+ "_v" + CACHE_VERSION;
+	}
+	
+	private BitmapFont load(String key, FreeTypeFontParameter parameter) {
+		if (!Gdx.files.isLocalStorageAvailable()) {
+			return generator().generateFont(parameter);
+		}
+		FileHandle fontFile = Gdx.files.local(CACHE_DIR + key + ".fnt");
+		try {
+			if (!fontFile.exists()) {
+				bake(fontFile, key, parameter);
+			}
+			return read(fontFile, parameter);
+		} catch (GdxRuntimeException e) {
+			// A broken or unwritable cache must never keep the game from starting
+			if (Skydiver3D.DEV_MODE) {
+				Gdx.app.log(Skydiver3D.LOG, "Font cache failed for " + key, e);
+			}
+			fontFile.delete();
+			return generator().generateFont(parameter);
+		}
+	}
+	
+	private FreeTypeFontGenerator generator() {
+		if (generator == null) {
+			generator = new FreeTypeFontGenerator(Gdx.files.internal(fontType));
+		}
+		return generator;
+	}
+	
+	/**
+	 * Rasterize a font with FreeType and save it in the BMFont text format
+	 */
+	private void bake(FileHandle fontFile, String key, FreeTypeFontParameter parameter) {
+		if (Skydiver3D.DEV_MODE) {
+			Gdx.app.log(Skydiver3D.LOG, "Generating font " + key);
+		}
+		int pageSize = Math.min(MathUtils.nextPowerOfTwo(
+				(int) Math.ceil(parameter.size*Math.sqrt(parameter.characters.length()))), MAX_PAGE_SIZE);
+		
+		FreeTypeFontParameter baked = new FreeTypeFontParameter();
+		baked.size = parameter.size;
+		baked.color = parameter.color;
+		baked.characters = parameter.characters;
+		baked.packer = new PixmapPacker(pageSize, pageSize, Format.RGBA8888, 2, false);
+		BitmapFont font = generator().generateFont(baked);
+		
+		Array<Page> pages = baked.packer.getPages();
+		String[] pageFiles = new String[pages.size];
+		for (int i = 0; i < pages.size; i++) {
+			pageFiles[i] = key + "_" + i + ".png";
+			PixmapIO.writePNG(fontFile.sibling(pageFiles[i]), pages.get(i).getPixmap());
+		}
+		fontFile.writeString(format(font.getData(), pageFiles, pageSize), false, "UTF-8");
+		
+		// Every page has a texture by now, and disposing a page texture also
+		// disposes its pixmap, so the packer has nothing left to dispose
+		font.setOwnsTexture(true);
+		font.dispose();
 	}
 	
+	static String format(BitmapFontData data, String[] pageFiles, int pageSize) {
+		Array<Glyph> glyphs = new Array<Glyph>();
+		for (Glyph[] page: data.glyphs) {
+			if (page == null) continue;
+			for (Glyph glyph: page) {
+				if (glyph != null) glyphs.add(glyph);
+			}
+		}
+		
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("info face=\"\" size=0 bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=1 aa=1 padding=")
+				.append((int) data.padTop).append(',').append((int) data.padRight).append(',')
+				.append((int) data.padBottom).append(',').append((int) data.padLeft).append(" spacing=0,0\n");
+		buffer.append("common lineHeight=").append((int) data.lineHeight)
+				.append(" base=").append((int) (data.capHeight + data.ascent))
+				.append(" scaleW=").append(pageSize).append(" scaleH=").append(pageSize)
+				.append(" pages=").append(pageFiles.length).append(" packed=0\n");
+		for (int i = 0; i < pageFiles.length; i++) {
+			buffer.append("page id=").append(i).append(" file=\"").append(pageFiles[i]).append("\"\n");
+		}
+		buffer.append("chars count=").append(glyphs.size).append('\n');
+		for (Glyph glyph: glyphs) {
+			buffer.append("char id=").append(glyph.id)
+					.append(" x=").append(glyph.srcX).append(" y=").append(glyph.srcY)
+					.append(" width=").append(glyph.width).append(" height=").append(glyph.height)
+					.append(" xoffset=").append(glyph.xoffset)
+					.append(" yoffset=").append(-(glyph.height + glyph.yoffset))
+					.append(" xadvance=").append(glyph.xadvance)
+					.append(" page=").append(glyph.page).append(" chnl=0\n");
+		}
+		
+		StringBuilder kernings = new StringBuilder();
+		int count = 0;
+		for (int i = 0; i < glyphs.size; i++) {
+			Glyph first = glyphs.get(i);
+			for (int j = 0; j < glyphs.size; j++) {
+				Glyph second = glyphs.get(j);
+				int amount = first.getKerning((char) second.id);
+				if (amount != 0) {
+					kernings.append("kerning first=").append(first.id).append(" second=").append(second.id)
+							.append(" amount=").append(amount).append('\n');
+					count++;
+				}
+			}
+		}
+		buffer.append("kernings count=").append(count).append('\n').append(kernings);
+		return buffer.toString();
+	}
+	
+	private static BitmapFont read(FileHandle fontFile, FreeTypeFontParameter parameter) {
+		BitmapFontData data = new BitmapFontData(fontFile, false);
+		Array<TextureRegion> regions = new Array<TextureRegion>(data.imagePaths.length);
+		for (String path: data.imagePaths) {
+			Texture texture = new Texture(Gdx.files.getFileHandle(path, fontFile.type()), parameter.genMipMaps);
+			texture.setFilter(parameter.minFilter, parameter.magFilter);
+			regions.add(new TextureRegion(texture));
+		}
+		BitmapFont font = new BitmapFont(data, regions, true);
+		font.setOwnsTexture(true);
+		return font;
+	}
+	
+	/**
+	 * Dispose every shared font. The files in local storage are kept.
+	 */
 	public void dispose() {
-		generator.dispose();
+		resources.dispose();
+		fonts.clear();
+		if (generator != null) {
+			generator.dispose();
+			generator = null;
+		}
 	}
 	
 	public static FontFactory getInstance() {
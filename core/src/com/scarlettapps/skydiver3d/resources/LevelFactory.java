@@ -0,0 +1,124 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.resources;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.scarlettapps.skydiver3d.Skydiver3D;
+import com.scarlettapps.skydiver3d.world.Level;
+
+/**
+ * Loads levels from the level pack. The pack index lists the file of each level,
+ * and a level file is only parsed when that level is requested. At most the
+ * current and the next level are kept in memory.
+ */
+public final class LevelFactory {
+
+	private static final String LEVEL_DIRECTORY = "data/levels/";
+	private static final String INDEX = LEVEL_DIRECTORY + "index.json";
+
+	private static LevelFactory instance;
+
+	private final JsonReader reader;
+	private final String[] files;
+	private final int maxObjects;
+
+	private Level current;
+	private Level next;
+
+	private LevelFactory() {
+		reader = new JsonReader();
+
+		JsonValue index = reader.parse(Gdx.files.internal(INDEX));
+		files = index.get("levels").asStringArray();
+		maxObjects = index.getInt("maxObjects");
+	}
+
+	/**
+	 * @return the number of levels in the level pack
+	 */
+	public int size() {
+		return files.length;
+	}
+
+	/**
+	 * @return the largest number of objects in any level of the pack
+	 */
+	public int maxObjects() {
+		return maxObjects;
+	}
+
+	/**
+	 * Get a level and make it the current level
+	 * @param index the zero-based index of the level
+	 * @return the level
+	 */
+	public Level get(int index) {
+		if (index < 0 || index >= files.length) {
+			throw new GdxRuntimeException("Invalid level: " + index);
+		}
+
+		if (current != null && current.index() == index) {
+			return current;
+		}
+
+		if (next != null && next.index() == index) {
+			current = next;
+		} else {
+			current = load(index);
+		}
+		next = null;
+		return current;
+	}
+
+	/**
+	 * Get the level after the given one. The last level is followed by itself.
+	 * @param level the current level
+	 * @return the next level
+	 */
+	public Level next(Level level) {
+		return get(Math.min(level.index()+1, files.length-1));
+	}
+
+	/**
+	 * Load the level after the current one so that switching to it is instant
+	 */
+	public void prefetchNext() {
+		if (current == null) {
+			return;
+		}
+		int index = current.index()+1;
+		if (index < files.length && (next == null || next.index() != index)) {
+			next = load(index);
+		}
+	}
+
+	private Level load(int index) {
+		if (Skydiver3D.DEV_MODE) {
+			Gdx.app.log(Skydiver3D.LOG, "Loading level " + files[index]);
+		}
+
+		JsonValue json = reader.parse(Gdx.files.internal(LEVEL_DIRECTORY + files[index]));
+		Level level;
+		try {
+			level = Level.fromJson(index, json);
+		} catch (GdxRuntimeException e) {
+			throw new GdxRuntimeException("Error loading level " + files[index], e);
+		}
+		if (level.numObjects > maxObjects) {
+			throw new GdxRuntimeException(files[index] + " has " + level.numObjects
+					+ " objects, more than the maxObjects of " + INDEX);
+		}
+		return level;
+	}
+
+	public static LevelFactory getInstance() {
+		if (instance == null) {
+			instance = new LevelFactory();
+		}
+		return instance;
+	}
+}
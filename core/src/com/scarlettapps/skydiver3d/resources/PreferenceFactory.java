@@ -55,6 +55,28 @@ public final class PreferenceFactory {
 		preferences.flush();
 	}
 	
+	public boolean isProfilerEnabled() {
+		return preferences.getBoolean("Profiler", false);
+	}
+
+	public void setProfilerEnabled(boolean enabled) {
+		preferences.putBoolean("Profiler", enabled);
+		preferences.flush();
+	}
+	
+	/**
+	 * @param device the name of the input device
+	 * @return the saved bindings of the device, or null to use its defaults
+	 */
+	public String getBindings(String device) {
+		return preferences.getString("Bindings." + device, null);
+	}
+
+	public void setBindings(String device, String bindings) {
+		preferences.putString("Bindings." + device, bindings);
+		preferences.flush();
+	}
+	
 	public boolean useMetric() {
 		Locale locale = Locale.getDefault();
 		return !locale.getCountry().equals("US") || !locale.getLanguage().equals("en");
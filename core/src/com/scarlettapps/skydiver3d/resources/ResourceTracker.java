@@ -0,0 +1,285 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.resources;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.scarlettapps.skydiver3d.Skydiver3D;
+
+/**
+ * Counts the native resources that are alive, and estimates how much memory
+ * they hold. Resources are registered by the {@link DisposableRegistry} of the
+ * object that owns them, and unregistered when that registry disposes them.
+ * <p>
+ * A {@link Snapshot} of the counts can be compared with a later one to find
+ * leaks, for example across a level restart, which should leave the counts
+ * where they were. In strict mode a leak throws, so it fails whatever test
+ * or run caused it.
+ */
+public final class ResourceTracker {
+
+	/**
+	 * The kinds of resources that are counted separately
+	 */
+	public enum Kind {
+		TEXTURE, MESH, SHADER, FRAME_BUFFER, PIXMAP, FONT, OTHER
+	}
+
+	/**
+	 * The live counts and bytes of every kind at some point
+	 */
+	public static final class Snapshot {
+		private final int[] counts = new int[KINDS.length];
+		private final long[] bytes = new long[KINDS.length];
+
+		public int count(Kind kind) {
+			return counts[kind.ordinal()];
+		}
+
+		public long bytes(Kind kind) {
+			return bytes[kind.ordinal()];
+		}
+	}
+
+	private static final Kind[] KINDS = Kind.values();
+
+	private static ResourceTracker instance;
+
+	private final IdentityMap<Disposable, Entry> live = new IdentityMap<Disposable, Entry>();
+	private final Snapshot current = new Snapshot();
+	private boolean strict = Skydiver3D.DEV_MODE;
+
+	private ResourceTracker() {
+	}
+
+	void register(Disposable resource, String owner) {
+		if (live.containsKey(resource)) {
+			return;
+		}
+		Entry entry = new Entry(kindOf(resource), sizeOf(resource), owner);
+		live.put(resource, entry);
+		current.counts[entry.kind.ordinal()]++;
+		current.bytes[entry.kind.ordinal()] += entry.bytes;
+	}
+
+	void unregister(Disposable resource) {
+		Entry entry = live.remove(resource);
+		if (entry != null) {
+			current.counts[entry.kind.ordinal()]--;
+			current.bytes[entry.kind.ordinal()] -= entry.bytes;
+		}
+	}
+
+	/**
+	 * @return the number of live resources of a kind
+	 */
+	public int count(Kind kind) {
+		return current.count(kind);
+	}
+
+	/**
+	 * @return the estimated bytes held by the live resources of a kind
+	 */
+	public long bytes(Kind kind) {
+		return current.bytes(kind);
+	}
+
+	/**
+	 * @return the number of live resources
+	 */
+	public int count() {
+		int count = 0;
+		for (Kind kind: KINDS) {
+			count += current.count(kind);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the estimated bytes held by the live resources
+	 */
+	public long bytes() {
+		long bytes = 0;
+		for (Kind kind: KINDS) {
+			bytes += current.bytes(kind);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Copy the current counts
+	 * @param snapshot the snapshot to copy into, or null for a new one
+	 * @return the snapshot
+	 */
+	public Snapshot snapshot(Snapshot snapshot) {
+		if (snapshot == null) {
+			snapshot = new Snapshot();
+		}
+		System.arraycopy(current.counts, 0, snapshot.counts, 0, KINDS.length);
+		System.arraycopy(current.bytes, 0, snapshot.bytes, 0, KINDS.length);
+		return snapshot;
+	}
+
+	/**
+	 * Describe the kinds of resources of which more are alive now than in a snapshot
+	 * @param before the earlier snapshot
+	 * @return the description, or null if nothing leaked
+	 */
+	public String leaksSince(Snapshot before) {
+		StringBuilder leaks = null;
+		for (Kind kind: KINDS) {
+			int leaked = current.count(kind) - before.count(kind);
+			if (leaked > 0) {
+				if (leaks == null) {
+					leaks = new StringBuilder();
+				} else {
+					leaks.append(", ");
+				}
+				leaks.append(leaked).append(' ').append(kind).append(" (")
+						.append(current.bytes(kind) - before.bytes(kind)).append(" bytes)");
+			}
+		}
+		if (leaks == null) {
+			return null;
+		}
+		leaks.append(" from ").append(owners());
+		return leaks.toString();
+	}
+
+	/**
+	 * Check that no more resources are alive than in a snapshot. A leak throws
+	 * in strict mode, and is logged in dev mode otherwise.
+	 * @param before the earlier snapshot
+	 * @param what what happened since the snapshot, for the message
+	 */
+	public void checkLeaks(Snapshot before, String what) {
+		String leaks = leaksSince(before);
+		if (leaks == null) {
+			return;
+		}
+		if (strict) {
+			throw new GdxRuntimeException(what + " leaked " + leaks);
+		}
+		if (Skydiver3D.DEV_MODE) {
+			Gdx.app.log(Skydiver3D.LOG, what + " leaked " + leaks);
+		}
+	}
+
+	/**
+	 * Throw on leaks instead of logging them. On by default in dev mode.
+	 */
+	public void setStrict(boolean strict) {
+		this.strict = strict;
+	}
+
+	public boolean isStrict() {
+		return strict;
+	}
+
+	// Owners of the live resources, for leak reports
+	private String owners() {
+		Array<String> owners = new Array<String>();
+		for (Entry entry: live.values()) {
+			if (!owners.contains(entry.owner, false)) {
+				owners.add(entry.owner);
+			}
+		}
+		owners.sort();
+		return owners.toString(", ");
+	}
+
+	static Kind kindOf(Disposable resource) {
+		if (resource instanceof Texture) {
+			return Kind.TEXTURE;
+		} else if (resource instanceof Mesh) {
+			return Kind.MESH;
+		} else if (resource instanceof ShaderProgram) {
+			return Kind.SHADER;
+		} else if (resource instanceof FrameBuffer) {
+			return Kind.FRAME_BUFFER;
+		} else if (resource instanceof Pixmap) {
+			return Kind.PIXMAP;
+		} else if (resource instanceof BitmapFont) {
+			return Kind.FONT;
+		}
+		return Kind.OTHER;
+	}
+
+	/**
+	 * Estimate the memory held by a resource, without padding or driver overhead
+	 */
+	static long sizeOf(Disposable resource) {
+		if (resource instanceof Texture) {
+			Texture texture = (Texture) resource;
+			long bytes = (long) texture.getWidth()*texture.getHeight()
+					*bytesPerPixel(texture.getTextureData().getFormat());
+			// A full chain of mipmaps adds a third
+			return texture.getTextureData().useMipMaps() ? bytes*4/3 : bytes;
+		} else if (resource instanceof Mesh) {
+			Mesh mesh = (Mesh) resource;
+			return (long) mesh.getMaxVertices()*mesh.getVertexSize() + (long) mesh.getMaxIndices()*2;
+		} else if (resource instanceof FrameBuffer) {
+			return sizeOf(((FrameBuffer) resource).getColorBufferTexture());
+		} else if (resource instanceof Pixmap) {
+			Pixmap pixmap = (Pixmap) resource;
+			return (long) pixmap.getWidth()*pixmap.getHeight()*bytesPerPixel(pixmap.getFormat());
+		} else if (resource instanceof BitmapFont) {
+			Array<TextureRegion> regions = ((BitmapFont) resource).getRegions();
+			long bytes = 0;
+			for (int i = 0; i < regions.size; i++) {
+				bytes += sizeOf(regions.get(i).getTexture());
+			}
+			return bytes;
+		}
+		return 0;
+	}
+
+	private static int bytesPerPixel(Pixmap.Format format) {
+		if (format == null) {
+			return 4;
+		}
+		switch (format) {
+			case Alpha:
+			case Intensity:
+				return 1;
+			case LuminanceAlpha:
+			case RGB565:
+			case RGBA4444:
+				return 2;
+			case RGB888:
+				return 3;
+			default:
+				return 4;
+		}
+	}
+
+	public static ResourceTracker getInstance() {
+		if (instance == null) {
+			instance = new ResourceTracker();
+		}
+		return instance;
+	}
+
+	private static final class Entry {
+		final Kind kind;
+		final long bytes;
+		final String owner;
+
+		Entry(Kind kind, long bytes, String owner) {
+			this.kind = kind;
+			this.bytes = bytes;
+			this.owner = owner;
+		}
+	}
+}
@@ -12,20 +12,33 @@ public final class SoundFactory {
 		
 	}
 
-	public void play(String fileName) {
+	public long play(String fileName) {
 		AssetFactory assetFactory = AssetFactory.getInstance();
-		play(assetFactory.get(fileName, Sound.class));
+		return play(assetFactory.get(fileName, Sound.class));
 	}
 	
-	public void play(Sound sound) {
+	/**
+	 * Play a sound at the volume of the preferences
+	 * @return the id of the voice playing it, or -1 if sound is off or it could not be played
+	 */
+	public long play(Sound sound) {
 		if (Skydiver3D.DEV_MODE) {
 			Gdx.app.log(Skydiver3D.LOG, "Playing sound " + sound);
 		}
 		
 		PreferenceFactory preferenceFactory = PreferenceFactory.getInstance();
 		if (preferenceFactory.isSoundEnabled()) {
-			sound.play(preferenceFactory.getVolume());
+			return sound.play(preferenceFactory.getVolume());
 		}
+		return -1;
+	}
+	
+	/**
+	 * Stop one voice of a sound
+	 * @param id the id returned when the voice was played
+	 */
+	public void stop(String fileName, long id) {
+		AssetFactory.getInstance().get(fileName, Sound.class).stop(id);
 	}
 	
 	public static SoundFactory getInstance() {
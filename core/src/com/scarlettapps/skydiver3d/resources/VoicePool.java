@@ -0,0 +1,95 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.resources;
+
+/**
+ * Keeps track of the voices of one sound that may still be playing, so that a
+ * burst of plays, like a row of tightly packed rings, does not pile up voices.
+ * Plays closer together than a minimum interval are dropped, and once the pool
+ * is full the oldest voice is stolen for the new one. A voice is taken to be
+ * playing for a fixed lifetime, since the backend does not report when a sound
+ * ends.
+ */
+public class VoicePool {
+	
+	private final long[] ids;
+	private final long[] started;
+	private final long lifetime;
+	private final long minInterval;
+	private int count;
+	private long lastStarted;
+	private boolean played;
+	
+	/**
+	 * @param voices the number of voices that may play at once
+	 * @param lifetime how long a voice is taken to play, in nanoseconds
+	 * @param minInterval the shortest time between two plays, in nanoseconds
+	 */
+	public VoicePool(int voices, long lifetime, long minInterval) {
+		ids = new long[voices];
+		started = new long[voices];
+		this.lifetime = lifetime;
+		this.minInterval = minInterval;
+	}
+	
+	/**
+	 * @param now the time in nanoseconds
+	 * @return whether a play now is too close to the last one, and should be dropped
+	 */
+	public boolean tooSoon(long now) {
+		return played && now - lastStarted < minInterval;
+	}
+	
+	/**
+	 * Make room for a new voice, forgetting the voices that have ended
+	 * @param now the time in nanoseconds
+	 * @return the id of a voice to stop, or -1 if there is room
+	 */
+	public long steal(long now) {
+		int kept = 0;
+		for (int i = 0; i < count; i++) {
+			if (now - started[i] < lifetime) {
+				ids[kept] = ids[i];
+				started[kept] = started[i];
+				kept++;
+			}
+		}
+		count = kept;
+		if (count < ids.length) {
+			return -1;
+		}
+		// Voices are kept in the order they started
+		long oldest = ids[0];
+		System.arraycopy(ids, 1, ids, 0, count - 1);
+		System.arraycopy(started, 1, started, 0, count - 1);
+		count--;
+		return oldest;
+	}
+	
+	/**
+	 * Note that a voice started, after {@link #steal(long)} made room for it
+	 * @param id the id of the voice, or -1 if the backend did not play it
+	 */
+	public void add(long id, long now) {
+		lastStarted = now;
+		played = true;
+		if (id != -1 && count < ids.length) {
+			ids[count] = id;
+			started[count] = now;
+			count++;
+		}
+	}
+	
+	/**
+	 * @return the number of voices taken to be playing
+	 */
+	public int size() {
+		return count;
+	}
+	
+	public void clear() {
+		count = 0;
+		played = false;
+	}
+}
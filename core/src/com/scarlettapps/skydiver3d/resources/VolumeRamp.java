@@ -0,0 +1,75 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.resources;
+
+/**
+ * Moves a volume towards its target at a limited rate, so that it never jumps,
+ * which would be heard as zipper noise. Changes too small to hear are not
+ * reported, so the backend is only called when the volume really changes.
+ */
+public class VolumeRamp {
+	
+	// Smallest change worth passing to the backend
+	private static final float EPSILON = 0.001f;
+	
+	private final float rate;
+	private float target;
+	private float value;
+	private float applied;
+	private boolean started;
+	
+	/**
+	 * @param rate the most the volume changes per second
+	 */
+	public VolumeRamp(float rate) {
+		this.rate = rate;
+	}
+	
+	/**
+	 * Set the volume to move towards. The first target is reached at once.
+	 */
+	public void setTarget(float target) {
+		this.target = target;
+		if (!started) {
+			value = target;
+			applied = Float.NaN;
+			started = true;
+		}
+	}
+	
+	/**
+	 * Move towards the target
+	 * @param delta the time in seconds since the last update
+	 * @return whether the volume changed enough to pass to the backend
+	 */
+	public boolean update(float delta) {
+		if (!started) {
+			return false;
+		}
+		float step = rate*delta;
+		if (Math.abs(target - value) <= step) {
+			value = target;
+		} else {
+			value += target > value ? step : -step;
+		}
+		// Always land exactly on the target, however small the last step
+		if (Float.isNaN(applied) || Math.abs(value - applied) >= EPSILON
+				|| (value == target && applied != target)) {
+			applied = value;
+			return true;
+		}
+		return false;
+	}
+	
+	public float value() {
+		return value;
+	}
+	
+	/**
+	 * Forget the volume, so that the next target is reached at once
+	 */
+	public void reset() {
+		started = false;
+	}
+}
@@ -0,0 +1,121 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.resources;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.AudioDevice;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.scarlettapps.skydiver3d.Skydiver3D;
+
+/**
+ * Plays the wind of a {@link WindSynth} through an AudioDevice, from a thread
+ * of its own that keeps the device fed one small buffer at a time. This
+ * replaces streaming the wind music, which decodes Vorbis for the whole jump,
+ * wherever the backend supports audio devices.
+ */
+public final class WindAudio {
+	
+	private static final int SAMPLE_RATE = 22050;
+	// Samples per write, about 23 ms
+	private static final int BUFFER = 512;
+	
+	private static WindAudio instance;
+	
+	private final WindSynth synth = new WindSynth(SAMPLE_RATE, 0x5eed);
+	private final float[] buffer = new float[BUFFER];
+	private final DisposableRegistry resources = new DisposableRegistry("WindAudio");
+	private AudioDevice device;
+	private AsyncExecutor executor;
+	private AsyncResult<Void> feeding;
+	private volatile boolean playing;
+	private float volume;
+	
+	private final AsyncTask<Void> feed = new AsyncTask<Void>() {
+		@Override
+		public Void call() {
+			while (playing) {
+				synth.fill(buffer, 0, BUFFER);
+				// Blocks until the device has room, which paces the loop
+				device.writeSamples(buffer, 0, BUFFER);
+			}
+			return null;
+		}
+	};
+	
+	private WindAudio() {
+	}
+	
+	/**
+	 * @return whether the backend can play synthesized audio from another thread
+	 */
+	public boolean isSupported() {
+		return Gdx.app.getType() != ApplicationType.WebGL;
+	}
+	
+	/**
+	 * Start the wind, if music is on and the backend supports it
+	 * @return whether the wind is playing
+	 */
+	public boolean start() {
+		if (playing) {
+			return true;
+		}
+		if (!isSupported() || !PreferenceFactory.getInstance().isMusicEnabled()) {
+			return false;
+		}
+		try {
+			device = resources.add(Gdx.audio.newAudioDevice(SAMPLE_RATE, true));
+		} catch (GdxRuntimeException e) {
+			if (Skydiver3D.DEV_MODE) {
+				Gdx.app.log(Skydiver3D.LOG, "No audio device for the wind", e);
+			}
+			return false;
+		}
+		if (executor == null) {
+			executor = new AsyncExecutor(1);
+		}
+		volume = PreferenceFactory.getInstance().getVolume();
+		synth.reset();
+		playing = true;
+		feeding = executor.submit(feed);
+		return true;
+	}
+	
+	/**
+	 * Stop the wind and release the audio device
+	 */
+	public void stop() {
+		if (!playing) {
+			return;
+		}
+		playing = false;
+		feeding.get();
+		feeding = null;
+		resources.dispose(device);
+		device = null;
+	}
+	
+	public boolean isPlaying() {
+		return playing;
+	}
+	
+	/**
+	 * Set the wind heard by the diver, from any thread
+	 * @see WindSynth#setWind(float, float, boolean, float)
+	 */
+	public void setWind(float speed, float pose, boolean parachute) {
+		synth.setWind(speed, pose, parachute, volume);
+	}
+	
+	public static WindAudio getInstance() {
+		if (instance == null) {
+			instance = new WindAudio();
+		}
+		return instance;
+	}
+}
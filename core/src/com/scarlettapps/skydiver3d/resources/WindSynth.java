@@ -0,0 +1,150 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.resources;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.scarlettapps.skydiver3d.world.Skydiver;
+
+/**
+ * Synthesizes the sound of the wind: white noise through a low pass filter,
+ * with slow random gusts. The faster the diver falls, the louder and brighter
+ * the wind; diving head down brightens it further, and an open parachute
+ * muffles it.
+ * <p>
+ * The wind is set from one thread and samples are generated on another, so
+ * the targets are volatile. Gain and cutoff glide towards their targets on
+ * every sample, so changes are never heard as steps. Nothing is allocated
+ * while generating.
+ */
+public class WindSynth {
+	
+	// Time constant of the glide towards new targets, in seconds
+	private static final float GLIDE = 0.08f;
+	// Samples between updates of the filter coefficient
+	private static final int CONTROL_RATE = 32;
+	// Damping of the filter, 2 for none and lower for a resonant whistle
+	private static final float DAMPING = 1.2f;
+	private static final float MIN_CUTOFF = 80;
+	// Samples between new gust strengths, and the time constant of a gust
+	private static final int GUST_INTERVAL = 8192;
+	private static final float GUST_GLIDE = 0.6f;
+	
+	private final float sampleRate;
+	private final float maxCutoff;
+	private final float glide;
+	private final float gustGlide;
+	
+	private volatile float targetGain;
+	private volatile float targetCutoff = MIN_CUTOFF;
+	
+	private int noise;
+	private float gain;
+	private float cutoff = MIN_CUTOFF;
+	private float coefficient;
+	private float normalization;
+	private float low;
+	private float band;
+	private float gust = 1;
+	private float gustTarget = 1;
+	private int sample;
+	
+	/**
+	 * @param sampleRate the samples per second
+	 * @param seed the seed of the noise, non-zero
+	 */
+	public WindSynth(int sampleRate, int seed) {
+		this.sampleRate = sampleRate;
+		// Beyond about a sixth of the sample rate the filter becomes unstable
+		maxCutoff = sampleRate/6f;
+		glide = 1 - (float) Math.exp(-1/(sampleRate*GLIDE));
+		gustGlide = 1 - (float) Math.exp(-1/(sampleRate*GUST_GLIDE));
+		noise = seed != 0 ? seed : 1;
+		updateCoefficient();
+	}
+	
+	/**
+	 * Set the wind heard by the diver
+	 * @param speed the speed of the diver in m/s
+	 * @param pose how far the diver is head down, from 0 for flat to 1 for head down
+	 * @param parachute whether the parachute is open
+	 * @param volume the master volume, from 0 to 1
+	 */
+	public void setWind(float speed, float pose, boolean parachute, float volume) {
+		float s = MathUtils.clamp(speed/Skydiver.MAX_TERMINAL_SPEED, 0, 1.2f);
+		float gain = 0.03f + 0.5f*s*s;
+		float cutoff = 150 + 1200*s;
+		if (parachute) {
+			gain *= 0.4f;
+		} else {
+			cutoff += 800*MathUtils.clamp(pose, 0, 1);
+		}
+		setTargets(gain*volume, cutoff);
+	}
+	
+	/**
+	 * Set the gain and cutoff to glide towards
+	 * @param gain the loudness, from 0 for silence to 1 for about full scale
+	 * @param cutoff the cutoff of the low pass filter in Hz
+	 */
+	public void setTargets(float gain, float cutoff) {
+		targetGain = Math.max(gain, 0);
+		targetCutoff = MathUtils.clamp(cutoff, MIN_CUTOFF, maxCutoff);
+	}
+	
+	/**
+	 * Generate samples, from -1 to 1
+	 */
+	public void fill(float[] out, int offset, int length) {
+		float tg = targetGain;
+		float tc = targetCutoff;
+		for (int i = offset; i < offset + length; i++) {
+			gain += (tg - gain)*glide;
+			cutoff += (tc - cutoff)*glide;
+			if ((sample & (CONTROL_RATE - 1)) == 0) {
+				updateCoefficient();
+			}
+			if (sample % GUST_INTERVAL == 0) {
+				gustTarget = 0.6f + 0.4f*(nextNoise()*0.5f + 0.5f);
+			}
+			gust += (gustTarget - gust)*gustGlide;
+			sample++;
+			
+			// Chamberlin state variable filter
+			low += coefficient*band;
+			float high = nextNoise() - low - DAMPING*band;
+			band += coefficient*high;
+			
+			float value = low*normalization*gain*gust;
+			out[i] = value > 1 ? 1 : value < -1 ? -1 : value;
+		}
+	}
+	
+	private void updateCoefficient() {
+		coefficient = 2*MathUtils.sin(MathUtils.PI*cutoff/sampleRate);
+		// Filtered noise gets quieter as the cutoff drops; make up for it so
+		// that the cutoff changes the colour of the wind and the gain its loudness
+		normalization = (float) Math.sqrt(sampleRate/(8*cutoff));
+	}
+	
+	// Uniform noise from -1 to 1, from a xorshift generator
+	private float nextNoise() {
+		int x = noise;
+		x ^= x << 13;
+		x ^= x >>> 17;
+		x ^= x << 5;
+		noise = x;
+		return x*(1f/Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Jump straight to the targets and clear the filter, as when the wind starts
+	 */
+	public void reset() {
+		gain = targetGain;
+		cutoff = targetCutoff;
+		low = 0;
+		band = 0;
+		updateCoefficient();
+	}
+}
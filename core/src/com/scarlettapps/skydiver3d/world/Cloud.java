@@ -16,11 +16,9 @@ import com.scarlettapps.skydiver3d.world.utils.PerlinNoise;
 public class Cloud {	
 	private static final int length = 256;
 	private static final int width = 256;
-	private static final Texture texture = genTexture();
-	
 	private final Decal decal;
 	
-	public Cloud(float x, float y, float z) {
+	public Cloud(Texture texture, float x, float y, float z) {
 		float length = MathUtils.random(2000,5000);
 		decal = Decal.newDecal(length,length*(MathUtils.random()+0.5f),new TextureRegion(texture), true);
 		
@@ -28,7 +26,11 @@ public class Cloud {
 		decal.setBlending(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 	}
 
-	private static Texture genTexture() {
+	/**
+	 * Generate the texture shared by all clouds
+	 * @return the texture, owned by the caller
+	 */
+	static Texture genTexture() {
 		Pixmap pixmap = new Pixmap(length, width, Format.RGBA8888);
 		pixmap.setColor(1f, 1f, 1f, 0f);
 		pixmap.fill();
@@ -46,6 +48,7 @@ public class Cloud {
 			}
 		}
 		Texture texture = new Texture(pixmap);
+		pixmap.dispose();
 		texture.setFilter(TextureFilter.Linear, TextureFilter.Linear);
 		return texture;
 	}
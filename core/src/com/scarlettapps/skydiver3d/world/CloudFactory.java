@@ -1,18 +1,19 @@
 package com.scarlettapps.skydiver3d.world;
 
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
 
 public class CloudFactory {
 
-	public static Array<Cloud> generateClouds(int numClouds) {
+	public static Array<Cloud> generateClouds(Texture texture, int numClouds) {
 		Array<Cloud> clouds = new Array<Cloud>();
 
 		for (int i = 0; i < numClouds; i++) {
 			float x = randX();
 			float y = randY();
 			float z = randZ();
-			clouds.add(new Cloud(x, y, z));
+			clouds.add(new Cloud(texture, x, y, z));
 		}
 		
 		return clouds;
@@ -3,31 +3,44 @@
 
 package com.scarlettapps.skydiver3d.world;
 
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
+import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.WorldState;
+import com.scarlettapps.skydiver3d.worldview.RenderItem;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.Pass;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.State;
 import com.scarlettapps.skydiver3d.worldview.Renderer;
 
-public class Clouds extends GameObject {
-	
-	private static final int NUM_CLOUDS = 25;
+public class Clouds extends GameObject implements RenderItem {
 	
 	private final Array<Cloud> clouds;
+	private Texture texture;
+	
+	private final Status status;
 	
-	public Clouds() {
+	public Clouds(Status status) {
 		super(false,true);
 		
+		this.status = status;
 		clouds = new Array<Cloud>();
 	}
 	
 	@Override
 	public void initialize() {
+		if (texture == null) {
+			texture = resources.add(Cloud.genTexture());
+		}
 		clouds.clear();
-		clouds.addAll(CloudFactory.generateClouds(NUM_CLOUDS));
+		clouds.addAll(CloudFactory.generateClouds(texture, status.difficulty().numClouds));
 	}
 	
 	@Override
 	public void reset() {
-		
+		if (clouds.size != status.difficulty().numClouds) {
+			initialize();
+		}
 	}
 
 	@Override
@@ -37,9 +50,24 @@ public class Clouds extends GameObject {
 
 	@Override
 	protected void renderObject(Renderer renderer) {
-		/*for (Cloud cloud: clouds) {
-			//renderer.decalBatch.add(cloud.getDecal());
-		}*/
+		if (clouds.size == 0) {
+			return;
+		}
+		// The decal batch sorts the clouds among themselves, so the group is
+		// placed behind everything else by its farthest cloud
+		Vector3 position = renderer.getCam().position;
+		float depth = 0;
+		for (int i = 0; i < clouds.size; i++) {
+			depth = Math.max(depth, position.dst(clouds.get(i).getDecal().getPosition()));
+		}
+		renderer.submit(Pass.TRANSPARENT, State.DECALS, depth, this);
+	}
+
+	@Override
+	public void draw(Renderer renderer) {
+		for (int i = 0; i < clouds.size; i++) {
+			renderer.getDecalBatch().add(clouds.get(i).getDecal());
+		}
 	}
 
 	@Override
@@ -57,6 +85,13 @@ public class Clouds extends GameObject {
 	}*/
 	}
 
+	@Override
+	public void dispose() {
+		super.dispose();
+		texture = null;
+		clouds.clear();
+	}
+
 	public Array<Cloud> getClouds() {
 		return clouds;
 	}
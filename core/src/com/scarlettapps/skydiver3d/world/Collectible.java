@@ -4,37 +4,42 @@
 package com.scarlettapps.skydiver3d.world;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.g3d.decals.Decal;
+import com.scarlettapps.skydiver3d.resources.AssetFactory;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.RegionType;
 
-public abstract class Collectible {
+/**
+ * The kinds of objects the skydiver can fly through. Per-instance data such as
+ * position lives in the parallel arrays of {@link Collectibles}.
+ */
+public enum Collectible {
+	RING_GOLD(500, RegionType.RING),
+	STAR(1000, RegionType.STAR),
+	RING_NUCLEAR(-500, RegionType.RING_NUCLEAR),
+	RING_GHOST(-500, RegionType.RING_GHOST),
+	RING_SKULL(-500, RegionType.RING_SKULL);
 	
-	private Decal decal;
-	boolean collected;
+	private final int points;
+	private final String regionName;
+	private TextureRegion textureRegion;
 	
-	public Collectible(TextureRegion textureRegion, float x, float y, float z) {
-		decal = Decal.newDecal(textureRegion);
-		decal.setPosition(x, y, z);
-		collected = false;
-	}
-
-	public Collectible(float width, float height, TextureRegion textureRegion,
-			float x, float y, float z) {
-		decal = Decal.newDecal(width,height,textureRegion, true);
-		decal.setPosition(x, y, z);
-	}
-
-	public Decal getDecal() {
-		return decal;
+	private Collectible(int points, String regionName) {
+		this.points = points;
+		this.regionName = regionName;
 	}
 	
-	public void rotate(float delta) {
-		decal.rotateZ(delta);
+	public int getPoints() {
+		return points;
 	}
-	
-	public abstract int getPoints();
 
 	public boolean isDangerous() {
-		return getPoints() < 0;
+		return points < 0;
+	}
+	
+	public TextureRegion getTextureRegion() {
+		if (textureRegion == null) {
+			textureRegion = AssetFactory.getInstance().getRegion(regionName);
+		}
+		return textureRegion;
 	}
 
 }
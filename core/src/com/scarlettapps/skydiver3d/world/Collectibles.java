@@ -3,146 +3,196 @@
 
 package com.scarlettapps.skydiver3d.world;
 
-import java.util.Iterator;
-
-import com.badlogic.gdx.Application.ApplicationType;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g3d.decals.Decal;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.GdxRuntimeException;
-import com.badlogic.gdx.utils.SortedIntList;
-import com.badlogic.gdx.utils.SortedIntList.Node;
 import com.scarlettapps.skydiver3d.DefaultScreen;
+import com.scarlettapps.skydiver3d.resources.LevelFactory;
+import com.scarlettapps.skydiver3d.world.utils.CourseGenerator;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
 import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.WorldState;
+import com.scarlettapps.skydiver3d.worldview.RenderItem;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.Pass;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.State;
 import com.scarlettapps.skydiver3d.worldview.Renderer;
 
-public class Collectibles extends GameObject  implements Iterable<Node<Collectible>> {
-	
-	private static final float ROTATION_FREQUENCY = 0.5f;
-	private static final float DECAL_WIDTH = 7/480f*DefaultScreen.VIRTUAL_WIDTH;
-	private static final float DECAL_HEIGHT = 7/320f*DefaultScreen.VIRTUAL_HEIGHT;
+/**
+ * Stores every collectible of the current level in parallel primitive arrays,
+ * sorted from highest to lowest altitude. Entries are split into three ranges:
+ * [0, first) has been passed or collected, [first, end) is visible and
+ * [end, size) has not been reached yet. The arrays are only allocated once,
+ * so restarting a level allocates nothing. Spinning is done on the GPU from
+ * the per-entry rotation phase and {@link #getTime()}.
+ */
+public class Collectibles extends GameObject implements RenderItem {
+
+	public static final float DECAL_WIDTH = 7/480f*DefaultScreen.VIRTUAL_WIDTH;
+	public static final float DECAL_HEIGHT = 7/320f*DefaultScreen.VIRTUAL_HEIGHT;
+	// Spin of the collectibles in radians per second: the half a degree per
+	// second the decals turned at when they were rotated on the CPU
+	public static final float ROTATION_FREQUENCY = 0.5f*MathUtils.degreesToRadians;
 	private static final int STARTING_OFFSET = 289;
 	private static final int X_RANGE = DefaultScreen.VIRTUAL_WIDTH/75;
 	private static final int Y_RANGE = DefaultScreen.VIRTUAL_HEIGHT/75;
-	
-	private final SortedIntList<Collectible> preRender;
-	private final SortedIntList<Collectible> toRender;
-	private final SortedIntList<Collectible> postRender;
-	
+
+	private float[] x;
+	private float[] y;
+	private float[] z;
+	private float[] rotation;
+	private Collectible[] types;
+	private boolean[] collected;
+
+	private int size;
+	private int first;
+	private int end;
+	private int generation;
+	private float time;
+	private long seed;
+
+	private final CourseGenerator generator = new CourseGenerator(X_RANGE / 2 * 1.8f, Y_RANGE / 2 * 1.5f);
+
 	private final Status status;
-	
+
 	public Collectibles(Status status) {
 		super(true, true);
-		
+
 		this.status = status;
-		
-		preRender = new SortedIntList<Collectible>();
-		toRender = new SortedIntList<Collectible>();
-		postRender = new SortedIntList<Collectible>();
+
+		ensureCapacity(LevelFactory.getInstance().maxObjects());
 	}
-	
+
+	private void ensureCapacity(int capacity) {
+		if (x != null && x.length >= capacity) {
+			return;
+		}
+		x = new float[capacity];
+		y = new float[capacity];
+		z = new float[capacity];
+		rotation = new float[capacity];
+		types = new Collectible[capacity];
+		collected = new boolean[capacity];
+	}
+
 	@Override
 	public void initialize() {
-		int z = Skydiver.STARTING_HEIGHT-STARTING_OFFSET;
-		
 		Level difficulty = status.difficulty();
+		ensureCapacity(difficulty.numObjects);
 
-		int numDangerous = difficulty.numDangerous;
-		
-		for (int i = 0; i < difficulty.numObjects; i++) {
-			boolean dangerous = MathUtils.randomBoolean(numDangerous/((float)difficulty.numObjects-i));
-			
-			float x = MathUtils.random(X_RANGE * 1.8f) - X_RANGE / 2 * 1.8f;
-			float y;
-			
-			if (Gdx.app.getType() == ApplicationType.Android) {
-				y = 0;
-			} else {
-				y = MathUtils.random(Y_RANGE * 1.5f) - Y_RANGE / 2 * 1.5f;
-			}
-			
-			Collectible collectible;
-			
-			if (dangerous) {
-				numDangerous--;
-				int type = MathUtils.random(2);
-				
-				switch (type) {
-					case 0: collectible = new RingNuclear(DECAL_WIDTH, DECAL_HEIGHT, x, y, z); break;
-					case 1: collectible = new RingGhost(DECAL_WIDTH, DECAL_HEIGHT, x, y, z); break;
-					case 2: collectible = new RingSkull(DECAL_WIDTH, DECAL_HEIGHT, x, y, z); break;
-					default: throw new GdxRuntimeException("Invalid type: " + type);
-				}
-			} else {
-				boolean isRing = MathUtils.randomBoolean();
-				collectible = isRing ? new RingGold(DECAL_WIDTH, DECAL_HEIGHT, x, y, z) : new Star(DECAL_WIDTH, DECAL_HEIGHT, x, y, z);
-			}
-			
-			preRender.insert(-z, collectible);
-			z -= difficulty.verticalSpacing;
+		first = 0;
+		end = 0;
+		time = 0;
+
+		seed = difficulty.courseSeed != 0 ? difficulty.courseSeed : status.seed();
+		size = generator.generate(difficulty, seed, Skydiver.STARTING_HEIGHT-STARTING_OFFSET, false,
+				x, y, z, rotation, types);
+		for (int i = 0; i < size; i++) {
+			collected[i] = false;
 		}
+		generation++;
 	}
-	
+
 	@Override
 	public void reset() {
 		initialize();
 	}
-	
+
+	@Override
 	public void updateObject(float delta) {
-		for (Node<Collectible> node : toRender) {
-			Decal decal = node.value.getDecal();
-			decal.rotateZ(delta*ROTATION_FREQUENCY);
-		}
+		time += delta;
 	}
-	
+
 	public void setToRender(float camHeight, float offset) {
-		Iterator<Node<Collectible>> iterator;
-		
-		iterator = preRender.iterator();
-		while (iterator.hasNext()) {
-			Node<Collectible> node = iterator.next();
-			if (node != null) {
-				float height = -node.index;
-				if (height > camHeight - offset) {
-					iterator.remove();
-					toRender.insert(node.index, node.value);
-				} else {
-					break;
-				}
-			}
+		while (end < size && z[end] > camHeight - offset) {
+			end++;
 		}
-		
-		iterator = toRender.iterator();
-		while (iterator.hasNext()) {
-			Node<Collectible> node = iterator.next();
-			if (node != null) {
-				float height = -node.index;
-				if (height > camHeight) {
-					iterator.remove();
-					postRender.insert(node.index, node.value);
-				} else {
-					break;
-				}
-			}
+
+		while (first < end && z[first] > camHeight) {
+			first++;
 		}
 	}
 
-	public SortedIntList<Collectible> getCollectibles() {
-		return toRender;
+	public int size() {
+		return size;
 	}
 
-	@Override
-	public Iterator<Node<Collectible>> iterator() {
-		return toRender.iterator();
+	public int capacity() {
+		return x.length;
+	}
+
+	/**
+	 * @return the index of the first visible collectible
+	 */
+	public int first() {
+		return first;
+	}
+
+	/**
+	 * @return the index after the last visible collectible
+	 */
+	public int end() {
+		return end;
+	}
+
+	/**
+	 * @return a counter that changes every time the collectibles are regenerated
+	 */
+	public int generation() {
+		return generation;
+	}
+
+	/**
+	 * @return the seed the current course was generated from
+	 */
+	public long seed() {
+		return seed;
+	}
+
+	/**
+	 * @return the simulation time in seconds since the collectibles were generated
+	 */
+	public float getTime() {
+		return time;
+	}
+
+	public boolean isRender() {
+		return render;
+	}
+
+	public float getX(int i) {
+		return x[i];
+	}
+
+	public float getY(int i) {
+		return y[i];
+	}
+
+	public float getZ(int i) {
+		return z[i];
+	}
+
+	public Collectible getType(int i) {
+		return types[i];
+	}
+
+	public boolean isCollected(int i) {
+		return collected[i];
+	}
+
+	/**
+	 * @return the rotation phase of the collectible in radians
+	 */
+	public float getRotation(int i) {
+		return rotation[i];
+	}
+
+	/**
+	 * @return the index of the closest visible collectible, or -1 if none are visible
+	 */
+	public int closest() {
+		return first < end ? first : -1;
 	}
 
 	public Collectible getClosest() {
-		Iterator<Node<Collectible>> iterator = iterator();
-		if (iterator.hasNext()) {
-			return iterator.next().value;
-		}
-		return null;
+		return first < end ? types[first] : null;
 	}
 
 	/**
@@ -152,28 +202,67 @@ public class Collectibles extends GameObject  implements Iterable<Node<Collectib
 	 * @return
 	 */
 	public boolean checkIntersect(float skydiverZ) {
-		Collectible first = getClosest();
-		if (first == null) {
+		if (first >= end) {
 			return false;
 		}
-		final float z = first.getDecal().getZ();
-		return Math.abs(z-skydiverZ) <= 20f;
+		return Math.abs(z[first]-skydiverZ) <= 20f;
 	}
 
 	@Override
 	protected void renderObject(Renderer renderer) {
-		
+		if (first >= end) {
+			return;
+		}
+		// The collectibles are drawn in one call, so the group is placed by the closest one
+		float depth = renderer.getCam().position.dst(x[first], y[first], z[first]);
+		renderer.submit(Pass.TRANSPARENT, State.COLLECTIBLES, depth, this);
+	}
+
+	@Override
+	public void draw(Renderer renderer) {
+		renderer.drawCollectibles();
 	}
 
 	@Override
 	public void onWorldStateChanged(WorldState worldState) {
-		
+
 	}
 
 	public void removeClosest() {
-		Iterator<Node<Collectible>> iterator = iterator();
-		Node<Collectible> node = iterator.next();
-		iterator.remove();
-		postRender.insert(node.index, node.value);
+		collected[first] = true;
+		first++;
+	}
+
+	/**
+	 * Write the visible range, the time and which collectibles were collected,
+	 * 64 to a value. The course itself is generated again from its seed.
+	 */
+	@Override
+	public void save(Checkpoint checkpoint) {
+		super.save(checkpoint);
+		checkpoint.putInt(first);
+		checkpoint.putInt(end);
+		checkpoint.putFloat(time);
+		for (int i = 0; i < size; i += 64) {
+			long bits = 0;
+			for (int j = i, n = Math.min(i+64, size); j < n; j++) {
+				if (collected[j]) bits |= 1L << (j-i);
+			}
+			checkpoint.putLong(bits);
+		}
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		super.restore(checkpoint);
+		first = checkpoint.getInt();
+		end = checkpoint.getInt();
+		time = checkpoint.getFloat();
+		for (int i = 0; i < size; i += 64) {
+			long bits = checkpoint.getLong();
+			for (int j = i, n = Math.min(i+64, size); j < n; j++) {
+				collected[j] = (bits & 1L << (j-i)) != 0;
+			}
+		}
 	}
 }
@@ -1,5 +1,7 @@
 package com.scarlettapps.skydiver3d.world;
 
+import java.util.Random;
+
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.VertexAttribute;
@@ -22,22 +24,28 @@ public class CustomHeightmap {
 	
 	private final PerlinNoise p;
 	private final float[] heightMap;
+	private final Random random;
 
+	/**
+	 * @param random every random decision is drawn from it, so a generator
+	 * with the same seed always gives the same heightmap
+	 */
 	public CustomHeightmap(int iterations, int seed, int variation,
-			float textureWidth, float strength, float stretch) {
-		this(iterations, seed, variation, textureWidth, strength, stretch, DEFAULT_SEA_LEVEL);
+			float textureWidth, float strength, float stretch, Random random) {
+		this(iterations, seed, variation, textureWidth, strength, stretch, DEFAULT_SEA_LEVEL, random);
 	}
 
 	public CustomHeightmap(int iterations, int seed, int variation,
-			float textureWidth, float strength, float stretch, float seaLevel) {
+			float textureWidth, float strength, float stretch, float seaLevel, Random random) {
 		this.size = (1 << iterations) + 1;
-		this.heightMap = DSAlgorithm.makeHeightMap(iterations, seed, variation);
+		this.random = random;
+		this.heightMap = DSAlgorithm.makeHeightMap(iterations, seed, variation, random);
 		this.vertices = new float[heightMap.length * 8];
 		this.indices = new short[size * size * 6];
 		this.strength = strength;
 		this.stretch = stretch;
 		this.seaLevel = seaLevel;
-		this.p = new PerlinNoise(MathUtils.random(1, 1000));
+		this.p = new PerlinNoise(1 + random.nextInt(1000));
 		createVertices();
 		createIndices();
 	}
@@ -46,14 +54,14 @@ public class CustomHeightmap {
 		int pitch = size + 1;
 		int idx = 0;
 		int hIdx = 0;
-		int boost = MathUtils.random(0, 10);
+		int boost = random.nextInt(11);
 		for (int y = 0; y < pitch; y++) {
 			for (int x = 0; x < pitch; x++) {
 				float z = getHeightAvg(hIdx++) * strength + boost;
 				vertices[idx++] = (x - pitch / 2) * stretch;
 				vertices[idx++] = (y - pitch / 2) * stretch;
 				vertices[idx++] = Math.max(z, seaLevel);
-				vertices[idx++] = Colorizer.mix(z+MathUtils.random(-10,10));
+				vertices[idx++] = Colorizer.mix(z+random.nextInt(21)-10);
 				vertices[idx++] = ((float) x) / (pitch/10);
 				vertices[idx++] = ((float) y) / (pitch/10);
 				vertices[idx++] = MathUtils.clamp(p.turbulence2(x * 0.00573f, y * 0.00573f,
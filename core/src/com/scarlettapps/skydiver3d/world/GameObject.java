@@ -3,14 +3,19 @@
 
 package com.scarlettapps.skydiver3d.world;
 
+import com.scarlettapps.skydiver3d.resources.DisposableRegistry;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
+import com.scarlettapps.skydiver3d.worldstate.Checkpointed;
 import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.WorldState;
 import com.scarlettapps.skydiver3d.worldview.Renderer;
 
-public abstract class GameObject {
+public abstract class GameObject implements Checkpointed {
 
 	protected boolean update;
 	protected boolean render;
+	// Native resources owned by this object, released by dispose()
+	protected final DisposableRegistry resources = new DisposableRegistry(getClass().getSimpleName());
 	
 	public GameObject(boolean update, boolean render) {
 		this.update = update;
@@ -34,4 +39,27 @@ public abstract class GameObject {
 	public abstract void initialize();
 	
 	public abstract void reset();
+	
+	/**
+	 * Write whether this object is updated and drawn. Objects that change
+	 * while they are simulated write their own state after this.
+	 */
+	@Override
+	public void save(Checkpoint checkpoint) {
+		checkpoint.putBoolean(update);
+		checkpoint.putBoolean(render);
+	}
+	
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		update = checkpoint.getBoolean();
+		render = checkpoint.getBoolean();
+	}
+	
+	/**
+	 * Release the native resources of this object
+	 */
+	public void dispose() {
+		resources.dispose();
+	}
 }
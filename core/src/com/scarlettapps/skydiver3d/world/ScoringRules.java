@@ -0,0 +1,93 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.world;
+
+import com.badlogic.gdx.utils.JsonValue;
+
+/**
+ * How a level turns what the skydiver did into points. Every level carries its
+ * own rules, authored in the "scoring" block of its file; anything left out
+ * takes the value of {@link #DEFAULT}.
+ */
+public final class ScoringRules {
+
+	public static final ScoringRules DEFAULT = new ScoringRules(1, 1, 1);
+
+	public final float ringWeight; // multiplier for points from collectibles
+	public final float parachutingWeight; // multiplier for the parachuting bonus
+	public final float landingWeight; // multiplier for the landing bonus
+
+	public final float speedBonus; // extra share of a collectible's points at maximum terminal speed
+	public final int ringMax; // most a safe collectible is expected to be worth, for the rating
+	public final int parachutingMax; // parachuting bonus for a perfectly timed parachute
+	public final int landingMax; // landing bonus for landing on the center of the target
+	public final float landingFalloff; // landing bonus lost per square meter from the center
+
+	public ScoringRules(float ringWeight, float parachutingWeight, float landingWeight) {
+		this(ringWeight, parachutingWeight, landingWeight, 1, 750, 5000, 15000, 10);
+	}
+
+	public ScoringRules(float ringWeight, float parachutingWeight, float landingWeight,
+			float speedBonus, int ringMax, int parachutingMax, int landingMax, float landingFalloff) {
+		this.ringWeight = ringWeight;
+		this.parachutingWeight = parachutingWeight;
+		this.landingWeight = landingWeight;
+		this.speedBonus = speedBonus;
+		this.ringMax = ringMax;
+		this.parachutingMax = parachutingMax;
+		this.landingMax = landingMax;
+		this.landingFalloff = landingFalloff;
+	}
+
+	/**
+	 * Read the rules from the scoring block of a level
+	 * @param json the scoring block, or null if the level has none
+	 * @return the rules
+	 */
+	public static ScoringRules fromJson(JsonValue json) {
+		if (json == null) {
+			return DEFAULT;
+		}
+		return new ScoringRules(
+				json.getFloat("rings", DEFAULT.ringWeight),
+				json.getFloat("parachuting", DEFAULT.parachutingWeight),
+				json.getFloat("landing", DEFAULT.landingWeight),
+				json.getFloat("speedBonus", DEFAULT.speedBonus),
+				json.getInt("ringMax", DEFAULT.ringMax),
+				json.getInt("parachutingMax", DEFAULT.parachutingMax),
+				json.getInt("landingMax", DEFAULT.landingMax),
+				json.getFloat("landingFalloff", DEFAULT.landingFalloff));
+	}
+
+	/**
+	 * @param collectible the collectible flown through
+	 * @param speedFactor how far the fall speed was from minimum to maximum terminal speed
+	 * @return the points it is worth, negative for a dangerous one
+	 */
+	public float ringPoints(Collectible collectible, float speedFactor) {
+		return ringWeight*collectible.getPoints()*(1 + speedBonus*speedFactor);
+	}
+
+	/**
+	 * @param accuracy how well the parachute was timed, from 0 to 1
+	 */
+	public float parachutingBonus(float accuracy) {
+		return parachutingWeight*accuracy*parachutingMax;
+	}
+
+	/**
+	 * @param distance the distance from the center of the target
+	 */
+	public float landingBonus(float distance) {
+		return landingWeight*Math.max(landingMax - landingFalloff*distance*distance, 0);
+	}
+
+	/**
+	 * @param numSafe the number of collectibles that reward points
+	 * @return the points of a perfect run, which a five star rating is measured against
+	 */
+	public float maxPoints(int numSafe) {
+		return landingWeight*landingMax + parachutingWeight*parachutingMax + ringWeight*numSafe*ringMax;
+	}
+}
@@ -7,11 +7,15 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.scarlettapps.skydiver3d.DefaultScreen;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
 import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.WorldState;
+import com.scarlettapps.skydiver3d.worldview.RenderItem;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.Pass;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.State;
 import com.scarlettapps.skydiver3d.worldview.Renderer;
 
-public class Sky extends GameObject {
+public class Sky extends GameObject implements RenderItem {
 	
 	private static final float VELOCITY = 20;
 	
@@ -60,7 +64,12 @@ public class Sky extends GameObject {
 
 	@Override
 	protected void renderObject(Renderer renderer) {
-		
+		renderer.submit(Pass.BACKGROUND, State.SPRITES, 0, this);
+	}
+
+	@Override
+	public void draw(Renderer renderer) {
+		render(renderer.getSpriteBatch());
 	}
 
 	@Override
@@ -79,6 +88,24 @@ public class Sky extends GameObject {
 		offsetX2 = DefaultScreen.VIRTUAL_WIDTH;
 	}
 
+	@Override
+	public void save(Checkpoint checkpoint) {
+		super.save(checkpoint);
+		checkpoint.putFloat(offsetX);
+		checkpoint.putFloat(offsetX2);
+		checkpoint.putInt(sky.getRegionHeight());
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		super.restore(checkpoint);
+		offsetX = checkpoint.getFloat();
+		offsetX2 = checkpoint.getFloat();
+		int height = checkpoint.getInt();
+		sky.setRegionHeight(height);
+		sky2.setRegionHeight(height);
+	}
+
 	public void render(Batch batch) {
 		batch.draw(sky, offsetX, 0);
 		batch.draw(sky2, offsetX2, 0);
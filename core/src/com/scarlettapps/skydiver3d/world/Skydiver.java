@@ -3,15 +3,9 @@
 
 package com.scarlettapps.skydiver3d.world;
 
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.PerspectiveCamera;
-import com.badlogic.gdx.graphics.g3d.Environment;
 import com.badlogic.gdx.graphics.g3d.Model;
-import com.badlogic.gdx.graphics.g3d.ModelBatch;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
-import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
-import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
-import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.scarlettapps.skydiver3d.DefaultScreen;
@@ -19,11 +13,15 @@ import com.scarlettapps.skydiver3d.resources.AssetFactory;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.ModelType;
 import com.scarlettapps.skydiver3d.world.utils.AnimationController;
 import com.scarlettapps.skydiver3d.world.utils.IntersectUtil;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
 import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.WorldState;
+import com.scarlettapps.skydiver3d.worldview.RenderItem;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.Pass;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.State;
 import com.scarlettapps.skydiver3d.worldview.Renderer;
 
-public class Skydiver extends GameObject {
+public class Skydiver extends GameObject implements RenderItem {
 	
 	// Bounds for skydiver x and y positions
 	public static final float MIN_X = -4.5f;
@@ -36,7 +34,42 @@ public class Skydiver extends GameObject {
 	public static final float MIN_TERMINAL_SPEED = 53f;
 	//Terminal speed for skydiver head down position in meters/second
 	public static final float MAX_TERMINAL_SPEED = 89f;
-	private static final float STARTING_POSE = 8.266682f*34/200;
+	// Duration of a frame of the skydiver animation, a single clip of 200 frames
+	private static final float FRAME_TIME = 8.266682f/200;
+	
+	/**
+	 * Named ranges of the skydiver animation clip
+	 */
+	private enum Pose {
+		JUMP(34, 80), // leaving the airplane until the belly position
+		FREEFALL(80, 0), // from the belly position to head down
+		PARACHUTE(100, 153), // opening the parachute
+		LANDING(171, 200); // touching the ground
+		
+		private final float startFrame;
+		private final float endFrame;
+		
+		private Pose(float startFrame, float endFrame) {
+			this.startFrame = startFrame;
+			this.endFrame = endFrame;
+		}
+		
+		/**
+		 * @param alpha progress through the range, from 0 to 1
+		 * @return the time in the animation clip in seconds
+		 */
+		float at(float alpha) {
+			return (startFrame+(endFrame-startFrame)*alpha)*FRAME_TIME;
+		}
+		
+		float start() {
+			return startFrame*FRAME_TIME;
+		}
+		
+		float end() {
+			return endFrame*FRAME_TIME;
+		}
+	}
 	
 	private final Vector3 position;
 	
@@ -45,8 +78,6 @@ public class Skydiver extends GameObject {
 	private ModelInstance instance;
 	private AnimationController controller;
 	
-	private Environment environment;
-	
 	private final Vector3 axis = new Vector3();
 	private final Vector3 angle = new Vector3();
 	private final Vector2 skydiverAngle = new Vector2();
@@ -81,19 +112,14 @@ public class Skydiver extends GameObject {
 		
 		Model model = AssetFactory.getInstance().get(filename, Model.class);
 		instance = new ModelInstance(model);
-		instance.materials.get(0).set(
-				new BlendingAttribute(GL20.GL_SRC_ALPHA,
-						GL20.GL_ONE_MINUS_SRC_ALPHA, 1f));
 		controller = new AnimationController(instance);
 		
 		setToTranslation(0, 0, STARTING_HEIGHT);
 		velocity.set(0, 0, 0);
 		
 		controller.animate(instance.animations.get(0).id, -1, 1f, null,0.2f);
-		
-		environment = new Environment();
-		environment.set(new ColorAttribute(ColorAttribute.AmbientLight, 0.7f, 0.7f, 0.7f, 1.0f));
-        environment.add(new DirectionalLight().set(0.4f, 0.4f, 0.4f, -1f, -0.8f, -0.2f));
+		// One sample per frame of the clip, so the cache matches the keyframes
+		controller.bake(1/FRAME_TIME);
 	}
 	
 	@Override
@@ -164,26 +190,26 @@ public class Skydiver extends GameObject {
 			final float totalTime = 4f;
 			if (timeSinceFinalState < totalTime) {
 				timeSinceFinalState += delta;
-				controller.update(delta, 7.06801311f+(8.266682f-7.06801311f)*timeSinceFinalState/totalTime);
+				controller.update(delta, Pose.LANDING.at(timeSinceFinalState/totalTime));
 			} else {
-				controller.update(delta, 8.266682f);
+				controller.update(delta, Pose.LANDING.end());
 			}
 		} else if (status.landing()) {
-			controller.update(delta, 6.32401173f);
+			controller.update(delta, Pose.PARACHUTE.end());
 		} else if (status.parachuting()) {
 			final float totalTime = 1f;
 			if (status.parachuteDeployed()) {
 				if (timeSinceParachuteDeployed < totalTime) {
 					timeSinceParachuteDeployed += delta;
-					controller.update(delta, 4.133341f+(6.32401173f-4.133341f)*timeSinceParachuteDeployed/totalTime);
+					controller.update(delta, Pose.PARACHUTE.at(timeSinceParachuteDeployed/totalTime));
 				} else {
-					controller.update(delta, 6.32401173f);
+					controller.update(delta, Pose.PARACHUTE.end());
 				}
 			} else {
-				controller.update(delta, 4.133341f);
+				controller.update(delta, Pose.PARACHUTE.start());
 			}
 		} else {
-			controller.update(delta, (1-pose)*3.3066728f);
+			controller.update(delta, Pose.FREEFALL.at(pose));
 		}
 	}
 	
@@ -193,7 +219,7 @@ public class Skydiver extends GameObject {
 			
 			if (timeSinceJumpedOffAirplane < jumpTime) {
 				timeSinceJumpedOffAirplane += delta;
-				controller.update(delta, STARTING_POSE+(3.3066728f-STARTING_POSE)*timeSinceJumpedOffAirplane/jumpTime);
+				controller.update(delta, Pose.JUMP.at(timeSinceJumpedOffAirplane/jumpTime));
 			}
 			
 			float vx = 0;
@@ -222,7 +248,7 @@ public class Skydiver extends GameObject {
 			axis.set(skydiverAngle.y, skydiverAngle.x, 0);
 			angle.set(skydiverAngle.y, skydiverAngle.x, 0);
 			rotate(axis.nor(), angle.len());
-			controller.update(delta, STARTING_POSE);
+			controller.update(delta, Pose.JUMP.start());
 		}
 	}
 	
@@ -243,10 +269,12 @@ public class Skydiver extends GameObject {
 		}
 	}
 	
-	public void render(ModelBatch modelBatch) {
-		if (render) {
-			modelBatch.render(instance, environment);
-		}
+	public ModelInstance getModelInstance() {
+		return instance;
+	}
+	
+	public boolean isRender() {
+		return render;
 	}
 	
 	public void addToVelocity(float x, float y, float z) { //TODO separate methods for each component
@@ -297,8 +325,8 @@ public class Skydiver extends GameObject {
 		return position.z;
 	}
 	
-	public boolean intersects(Collectible collectible) { //offset collectible position up and to right
-		return IntersectUtil.intersects(this, collectible);
+	public boolean intersects(Collectibles collectibles, int index) { //offset collectible position up and to right
+		return IntersectUtil.intersects(this, collectibles, index);
 	}
 
 	public Vector3 getPosition() {
@@ -311,7 +339,13 @@ public class Skydiver extends GameObject {
 
 	@Override
 	protected void renderObject(Renderer renderer) {
-		// TODO Auto-generated method stub
+		float depth = renderer.getCam().position.dst(getPositionX(), getPositionY(), getPositionZ());
+		renderer.submit(Pass.OPAQUE, State.SKINNED, depth, this);
+	}
+
+	@Override
+	public void draw(Renderer renderer) {
+		renderer.drawSkydiver();
 	}
 
 	@Override
@@ -349,4 +383,35 @@ public class Skydiver extends GameObject {
 	public void setFinalState(boolean b) {
 		finalState = b;
 	}
+
+	@Override
+	public void save(Checkpoint checkpoint) {
+		super.save(checkpoint);
+		checkpoint.putFloat(skydiverAngle.x);
+		checkpoint.putFloat(skydiverAngle.y);
+		checkpoint.putFloat(timeSinceParachuteDeployed);
+		checkpoint.putFloat(timeSinceJumpedOffAirplane);
+		checkpoint.putBoolean(finalState);
+		checkpoint.putFloat(timeSinceFinalState);
+		float[] val = instance.transform.val;
+		for (int i = 0; i < val.length; i++) {
+			checkpoint.putFloat(val[i]);
+		}
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		super.restore(checkpoint);
+		skydiverAngle.x = checkpoint.getFloat();
+		skydiverAngle.y = checkpoint.getFloat();
+		timeSinceParachuteDeployed = checkpoint.getFloat();
+		timeSinceJumpedOffAirplane = checkpoint.getFloat();
+		finalState = checkpoint.getBoolean();
+		timeSinceFinalState = checkpoint.getFloat();
+		float[] val = instance.transform.val;
+		for (int i = 0; i < val.length; i++) {
+			val[i] = checkpoint.getFloat();
+		}
+		instance.transform.getTranslation(position);
+	}
 }
@@ -10,12 +10,14 @@ import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g3d.decals.Decal;
-import com.badlogic.gdx.graphics.g3d.decals.DecalBatch;
 import com.badlogic.gdx.math.Vector3;
 import com.scarlettapps.skydiver3d.worldstate.WorldState;
+import com.scarlettapps.skydiver3d.worldview.RenderItem;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.Pass;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.State;
 import com.scarlettapps.skydiver3d.worldview.Renderer;
 
-public class Target extends GameObject {
+public class Target extends GameObject implements RenderItem {
 	
 	private Decal target;
 	
@@ -25,7 +27,8 @@ public class Target extends GameObject {
 	
 	@Override
 	public void initialize() { //TODO can this be drawn procedurally?
-		target = Decal.newDecal(new TextureRegion(makeTarget(512, 8)));
+		resources.dispose();
+		target = Decal.newDecal(new TextureRegion(resources.add(makeTarget(512, 8))));
 		target.setPosition(0, 0, 0);
 		target.setScale(0.35f);
 		target.lookAt(Vector3.Z, Vector3.Z);
@@ -37,12 +40,6 @@ public class Target extends GameObject {
 		
 	}
 	
-	public void render(DecalBatch decalBatch) {
-		if (render) {
-		    decalBatch.add(target);
-		}
-	}
-	
 	public int getPoints(float x, float y) {
 		return 0;
 	}
@@ -54,7 +51,13 @@ public class Target extends GameObject {
 
 	@Override
 	protected void renderObject(Renderer renderer) {
-		// TODO Auto-generated method stub
+		float depth = renderer.getCam().position.dst(target.getPosition());
+		renderer.submit(Pass.TRANSPARENT, State.DECALS, depth, this);
+	}
+
+	@Override
+	public void draw(Renderer renderer) {
+		renderer.getDecalBatch().add(target);
 	}
 
 	@Override
@@ -83,7 +86,9 @@ public class Target extends GameObject {
 			pixmap.fillCircle(size/2, size/2, maxRadius);
 		}
 		
-		return new Texture(pixmap, true);
+		Texture texture = new Texture(pixmap, true);
+		pixmap.dispose();
+		return texture;
 	}
 
 }
@@ -9,15 +9,20 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.scarlettapps.skydiver3d.Skydiver3D;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
 import com.scarlettapps.skydiver3d.world.utils.PerlinNoise;
+import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.WorldState;
+import com.scarlettapps.skydiver3d.worldview.RenderItem;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.Pass;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.State;
 import com.scarlettapps.skydiver3d.worldview.Renderer;
 
-public class Terrain extends GameObject { //TODO fix bug that causes parachute to randomly not open // also fix bug in which screen unresponsive
+public class Terrain extends GameObject implements RenderItem { //TODO fix bug that causes parachute to randomly not open // also fix bug in which screen unresponsive
 	
 	private static final String GROUND_TEXTURE = TextureType.GRASS_TERRAIN;
 	
@@ -33,17 +38,23 @@ public class Terrain extends GameObject { //TODO fix bug that causes parachute t
 	private Texture texture;
 	
 	private CustomHeightmap heightmap;
+	private long seed;
+	// Every random decision of the terrain is drawn from this, never from the shared generator
+	private final RandomXS128 random = new RandomXS128();
 	
-	public Terrain() {
+	private final Status status;
+	
+	public Terrain(Status status) {
 		super(false,true);
+		
+		this.status = status;
 	}
 	
 	@Override
 	public void initialize() {
-		heightmap = new CustomHeightmap(4, MathUtils.random(5,10), MathUtils.random(15,30), 217f, 2, 2790);
-		mesh = heightmap.createMesh();
-		mesh.setVertices(heightmap.vertices);
-		mesh.setIndices(heightmap.indices);
+		resources.dispose();
+		mesh = null;
+		generate(terrainSeed());
 		
 		String vertexShader = "#ifdef GL_ES\n"
 				+ "precision mediump float;\n"
@@ -92,7 +103,7 @@ public class Terrain extends GameObject { //TODO fix bug that causes parachute t
 				+ "gl_FragColor = mix( fogColor, mix (v_color, texColor, v_texIntensity), fogFactor);\n"
 				+ "}";
 
-		shader = new ShaderProgram(vertexShader, fragmentShader);
+		shader = resources.add(new ShaderProgram(vertexShader, fragmentShader));
 		
 		if (Skydiver3D.DEV_MODE) {
 			if (!shader.isCompiled()) {
@@ -103,14 +114,6 @@ public class Terrain extends GameObject { //TODO fix bug that causes parachute t
 		u_mvpMatrix = shader.getUniformLocation("u_mvpMatrix");
 		u_fogFactor = shader.getUniformLocation("u_fogFactor");
 		
-		for (int i = 1; i < noiseMatrix.length; i++) {
-			noiseMatrix[i] = Math.abs(p.noise1(((float)i)/noiseMatrix.length)) + noiseMatrix[i-1];
-		}
-		float gamma = MathUtils.random(0.3f,0.7f);
-		for (int i = 1; i < noiseMatrix.length; i++) {
-			noiseMatrix[i] = noiseMatrix[i]/noiseMatrix[noiseMatrix.length-1]*gamma;
-		}
-		
 		texture = AssetFactory.getInstance().get(GROUND_TEXTURE, Texture.class);
 	}
 	
@@ -118,7 +121,47 @@ public class Terrain extends GameObject { //TODO fix bug that causes parachute t
 	
 	@Override
 	public void reset() {
+		long terrainSeed = terrainSeed();
+		if (terrainSeed != seed) {
+			generate(terrainSeed);
+		}
+	}
+	
+	/**
+	 * The landing is decided on the heightmap, so a replay has to rebuild the
+	 * same terrain: levels without a terrain of their own take it from the
+	 * seed of the run, which replays store.
+	 * @return the seed of the terrain of the current run
+	 */
+	private long terrainSeed() {
+		long levelSeed = status.difficulty().terrainSeed;
+		return levelSeed != 0 ? levelSeed : status.seed();
+	}
+	
+	/**
+	 * Generate the heightmap of the terrain
+	 * @param seed the seed of the terrain, or 0 for a random terrain
+	 */
+	private void generate(long seed) {
+		this.seed = seed;
+		
+		random.setSeed(seed != 0 ? seed : TimeUtils.nanoTime());
+		heightmap = new CustomHeightmap(4, 5 + random.nextInt(6), 15 + random.nextInt(16), 217f, 2, 2790, random);
 		
+		PerlinNoise p = new PerlinNoise(1 + random.nextInt(100000));
+		for (int i = 1; i < noiseMatrix.length; i++) {
+			noiseMatrix[i] = Math.abs(p.noise1(((float)i)/noiseMatrix.length)) + noiseMatrix[i-1];
+		}
+		float gamma = 0.3f + 0.4f*random.nextFloat();
+		for (int i = 1; i < noiseMatrix.length; i++) {
+			noiseMatrix[i] = noiseMatrix[i]/noiseMatrix[noiseMatrix.length-1]*gamma;
+		}
+		
+		if (mesh == null) {
+			mesh = resources.add(heightmap.createMesh());
+		}
+		mesh.setVertices(heightmap.vertices);
+		mesh.setIndices(heightmap.indices);
 	}
 
 	public void render(Camera cam) {
@@ -143,8 +186,6 @@ public class Terrain extends GameObject { //TODO fix bug that causes parachute t
 		shader.end();
 	}
 	
-	PerlinNoise p = new PerlinNoise(MathUtils.random(1,100000));
-	
 	public static float[] noiseMatrix = new float[Skydiver.STARTING_HEIGHT];
 
 	private float noise(float z) {
@@ -162,8 +203,13 @@ public class Terrain extends GameObject { //TODO fix bug that causes parachute t
 
 	@Override
 	protected void renderObject(Renderer renderer) {
-		// TODO Auto-generated method stub
-		
+		// The terrain lies in the plane z = 0
+		renderer.submit(Pass.OPAQUE, State.TERRAIN, renderer.getCam().position.z, this);
+	}
+
+	@Override
+	public void draw(Renderer renderer) {
+		render(renderer.getCam());
 	}
 
 	@Override
@@ -4,15 +4,22 @@
 package com.scarlettapps.skydiver3d.world;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.scarlettapps.skydiver3d.Skydiver3D;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.MusicType;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.SoundType;
+import com.scarlettapps.skydiver3d.resources.AudioQueue;
 import com.scarlettapps.skydiver3d.resources.MusicFactory;
-import com.scarlettapps.skydiver3d.resources.SoundFactory;
 import com.scarlettapps.skydiver3d.worldstate.CheckIntersectListener;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
+import com.scarlettapps.skydiver3d.worldstate.Checkpointed;
+import com.scarlettapps.skydiver3d.worldstate.CollectedListener;
+import com.scarlettapps.skydiver3d.worldstate.EventBus;
 import com.scarlettapps.skydiver3d.worldstate.InputListener;
 import com.scarlettapps.skydiver3d.worldstate.InputManager;
+import com.scarlettapps.skydiver3d.worldstate.LandedListener;
+import com.scarlettapps.skydiver3d.worldstate.ScoringEngine;
 import com.scarlettapps.skydiver3d.worldstate.SkydiverControls;
 import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.StatusListener;
@@ -26,7 +33,7 @@ import com.scarlettapps.skydiver3d.worldstate.WorldState;
  * how it will be displayed, nor does it know anything about how it will be controlled. It
  * only knows about the game objects and the current game state.
  */
-public class World {
+public class World implements Checkpointed {
 	
 	private final Array<GameObject> objects;
 	
@@ -37,6 +44,8 @@ public class World {
 	private Clouds clouds;
 	private Sky sky;
 	
+	private final SkydiverControls skydiverControls;
+	
 	private Status status;
 	
 	public World(InputManager inputManager, StatusManager statusManager) {
@@ -44,8 +53,8 @@ public class World {
 		
 		skydiver = new Skydiver(status);
 		collectibles = new Collectibles(status);
-		clouds = new Clouds();
-		terrain = new Terrain();
+		clouds = new Clouds(status);
+		terrain = new Terrain(status);
 		target = new Target();
 		sky = new Sky(status);
 		
@@ -58,10 +67,31 @@ public class World {
 		objects.add(sky);
 		
 		
-		SkydiverControls skydiverControls = new SkydiverControls(this, status);
+		EventBus events = statusManager.events();
+		skydiverControls = new SkydiverControls(this, statusManager);
 		inputManager.addListener(skydiverControls);
-		statusManager.addListener(new CheckIntersectListener(this));
-		statusManager.addListener(new SwitchStateListener(this));
+		statusManager.addListener(new CheckIntersectListener(this, events));
+		events.addWorldStateListener(new SwitchStateListener(this));
+		events.addCollectedListener(new CollectedListener() {
+			@Override
+			public void collected(Collectible collectible, float speed) {
+				if (collectible.isDangerous()) {
+					playSlap();
+				} else {
+					playBell();
+				}
+			}
+		});
+		final ScoringEngine scoring = statusManager.scoring();
+		events.addLandedListener(new LandedListener() {
+			@Override
+			public void landed(float distance) {
+				// The landing has already been scored, the engine listens first
+				if (scoring.rating() >= ScoringEngine.MAX_RATING) {
+					AudioQueue.getInstance().play(SoundType.APPLAUSE);
+				}
+			}
+		});
 	}
 	
 	
@@ -84,8 +114,11 @@ public class World {
 	public void update(float delta) {
 		if (!status.isPaused()) {
 			updatePositions(delta);
-			MusicFactory music = MusicFactory.getInstance();
-			music.setVolume(getWindVolume());
+			AudioQueue audio = AudioQueue.getInstance();
+			audio.setMusicVolume(getWindVolume());
+			Vector3 velocity = status.velocity();
+			float pose = (-velocity.z-Skydiver.MIN_TERMINAL_SPEED)/(Skydiver.MAX_TERMINAL_SPEED-Skydiver.MIN_TERMINAL_SPEED);
+			audio.setWind(velocity.len(), pose, status.parachuteDeployed());
 		}
 	}
 	
@@ -109,6 +142,32 @@ public class World {
 		}
 	}
 	
+	/**
+	 * Write the state of every game object and of the controls that steer
+	 * the skydiver
+	 */
+	@Override
+	public void save(Checkpoint checkpoint) {
+		for (GameObject o: objects) {
+			o.save(checkpoint);
+		}
+		skydiverControls.save(checkpoint);
+	}
+	
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		for (GameObject o: objects) {
+			o.restore(checkpoint);
+		}
+		skydiverControls.restore(checkpoint);
+	}
+	
+	public void dispose() {
+		for (GameObject o: objects) {
+			o.dispose();
+		}
+	}
+	
 	public void pause() {
 		status.setPaused(true);
 	}
@@ -137,18 +196,16 @@ public class World {
 		return collectibles;
 	}
 	
-	public Array<Cloud> getClouds() {
-		return clouds.getClouds();
+	public Clouds getClouds() {
+		return clouds;
 	}
 	
 	public void playBell() {
-		SoundFactory sound = SoundFactory.getInstance();
-		sound.play(SoundType.BELL);
+		AudioQueue.getInstance().play(SoundType.BELL);
 	}
 	
 	public void playSlap() {
-		SoundFactory sound = SoundFactory.getInstance();
-		sound.play(SoundType.SLAP);
+		AudioQueue.getInstance().play(SoundType.SLAP);
 	}
 
 	public Array<GameObject> getObjects() {
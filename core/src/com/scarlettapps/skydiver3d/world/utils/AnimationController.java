@@ -110,6 +110,7 @@ public class AnimationController extends BaseAnimationController {
 	}
 
 	private boolean updating;
+	private PoseCache poses;
 
 	/**
 	 * @param delta
@@ -144,15 +145,47 @@ public class AnimationController extends BaseAnimationController {
 		updating = false;
 	}
 
+	/**
+	 * Pose the model at an explicit time of the current animation. Uses the
+	 * pose cache if the current animation has been baked.
+	 * 
+	 * @param delta
+	 *            The time elapsed since last update.
+	 * @param time
+	 *            The time of the current animation to show.
+	 */
 	public void update(float delta, float time) {
 		if (current == null || current.loopCount == 0
 				|| current.animation == null)
 			return;
 		updating = true;
-		applyAnimation(current.animation, time);
+		if (poses != null && poses.animation() == current.animation) {
+			poses.apply(time);
+			target.calculateTransforms();
+		} else
+			applyAnimation(current.animation, time);
 		updating = false;
 	}
 
+	/**
+	 * Sample the current animation at a fixed rate into a pose cache, which is
+	 * used by {@link #update(float, float)} from then on.
+	 * 
+	 * @param samplesPerSecond
+	 *            The number of samples per second of animation.
+	 */
+	public void bake(float samplesPerSecond) {
+		if (current == null || current.animation == null)
+			throw new GdxRuntimeException("No animation to bake");
+		final PoseCache cache = new PoseCache(current.animation,
+				samplesPerSecond);
+		for (int frame = 0; frame < cache.frames(); frame++) {
+			applyAnimation(current.animation, cache.time(frame));
+			cache.sample(frame);
+		}
+		poses = cache;
+	}
+
 	/** Set the active animation, replacing any current animation. */
 	public void setAnimation(final String id, int loopCount, float speed,
 			final AnimationListener listener) {
@@ -0,0 +1,210 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.world.utils;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.scarlettapps.skydiver3d.world.Collectible;
+import com.scarlettapps.skydiver3d.world.Level;
+import com.scarlettapps.skydiver3d.world.Skydiver;
+import com.scarlettapps.skydiver3d.worldstate.GameController;
+import com.scarlettapps.skydiver3d.worldstate.SkydiverControls;
+
+/**
+ * Generates the course of collectibles for a level. The course follows a
+ * Catmull-Rom spline through control points chosen by the level's path type and
+ * zigzag amount, with value noise scaled by the level's entropy added on top.
+ * The whole course is generated in one pass, and the same seed always produces
+ * the same course.
+ * <p>
+ * Every collectible can be reached from the previous one: the lateral distance
+ * between two consecutive collectibles is limited to what the skydiver can cover
+ * while falling between them at maximum terminal speed, steering with a full
+ * deflection at the lowest sensitivity. The skydiver is asked to arrive at every
+ * collectible at rest, so each gap starts from rest whatever came before it.
+ */
+public class CourseGenerator {
+
+	// Number of collectibles between two control points of the spline
+	private static final int SEGMENT_LENGTH = 6;
+	// Number of collectibles in one turn of a spiral
+	private static final float SPIRAL_PERIOD = 12;
+	// Number of collectibles per unit of noise
+	private static final float NOISE_FREQUENCY = 0.3f;
+	// Fraction of the range that noise can displace a collectible by
+	private static final float NOISE_AMPLITUDE = 0.25f;
+
+	// Lateral acceleration of a full deflection, whatever sensitivity is chosen
+	public static final float LATERAL_ACCELERATION = GameController.FULL_DEFLECTION*GameController.MIN_SENSITIVITY;
+
+	private static final Collectible[] DANGEROUS = {Collectible.RING_NUCLEAR, Collectible.RING_GHOST, Collectible.RING_SKULL};
+
+	private final RandomXS128 random = new RandomXS128();
+
+	private final float halfRangeX;
+	private final float halfRangeY;
+
+	private long noiseSeed;
+
+	/**
+	 * @param halfRangeX the largest distance of a collectible from the center along x
+	 * @param halfRangeY the largest distance of a collectible from the center along y
+	 */
+	public CourseGenerator(float halfRangeX, float halfRangeY) {
+		this.halfRangeX = halfRangeX;
+		this.halfRangeY = halfRangeY;
+	}
+
+	/**
+	 * Generate the collectibles of a level, ordered from highest to lowest altitude.
+	 * The arrays must have room for {@code level.numObjects} entries.
+	 * @param level the level to generate the course for
+	 * @param seed the seed of the course
+	 * @param startZ altitude of the first collectible
+	 * @param flat whether or not all collectibles should have y = 0
+	 * @return the number of collectibles generated
+	 */
+	public int generate(Level level, long seed, float startZ, boolean flat,
+			float[] x, float[] y, float[] z, float[] rotation, Collectible[] types) {
+		random.setSeed(seed);
+		noiseSeed = random.nextLong();
+
+		final int count = level.numObjects;
+		final float maxStep = maxStep(level.verticalSpacing);
+		final float zigzag = MathUtils.clamp(level.zigzag, 0, 1);
+		final float noise = NOISE_AMPLITUDE*level.entropy;
+
+		// Sliding window of four control points
+		float x0, x1, x2, x3, y0, y1, y2, y3;
+		x0 = x1 = 0;
+		y0 = y1 = 0;
+		x2 = controlX(level, 1, zigzag);
+		y2 = controlY(level, 1, zigzag);
+		x3 = controlX(level, 2, zigzag);
+		y3 = controlY(level, 2, zigzag);
+
+		int numDangerous = level.numDangerous;
+		float prevX = 0;
+		float prevY = 0;
+		float posZ = startZ;
+
+		for (int i = 0; i < count; i++) {
+			int segment = i % SEGMENT_LENGTH;
+			if (i > 0 && segment == 0) {
+				int k = i/SEGMENT_LENGTH + 2;
+				x0 = x1; x1 = x2; x2 = x3; x3 = controlX(level, k, zigzag);
+				y0 = y1; y1 = y2; y2 = y3; y3 = controlY(level, k, zigzag);
+			}
+
+			float posX;
+			float posY;
+			if (level.path == Level.Path.SPIRAL) {
+				float angle = i*level.zigzag*MathUtils.PI2/SPIRAL_PERIOD;
+				posX = MathUtils.cos(angle)*halfRangeX;
+				posY = MathUtils.sin(angle)*halfRangeY;
+			} else {
+				float t = segment/(float)SEGMENT_LENGTH;
+				posX = catmullRom(x0, x1, x2, x3, t);
+				posY = catmullRom(y0, y1, y2, y3, t);
+			}
+
+			posX += noise*halfRangeX*noise(i*NOISE_FREQUENCY);
+			posY += noise*halfRangeY*noise(i*NOISE_FREQUENCY + 1000);
+
+			posX = MathUtils.clamp(posX, -halfRangeX, halfRangeX);
+			posY = flat ? 0 : MathUtils.clamp(posY, -halfRangeY, halfRangeY);
+
+			// Keep the collectible within reach of the previous one
+			if (i > 0) {
+				posX = MathUtils.clamp(posX, prevX - maxStep, prevX + maxStep);
+				posY = MathUtils.clamp(posY, prevY - maxStep, prevY + maxStep);
+			}
+
+			boolean dangerous = random.nextFloat() < numDangerous/((float)count-i);
+			Collectible type;
+			if (dangerous) {
+				numDangerous--;
+				type = random.nextFloat() < level.entropy ? DANGEROUS[random.nextInt(DANGEROUS.length)] : DANGEROUS[0];
+			} else {
+				type = random.nextFloat() < 0.5f*level.entropy ? Collectible.STAR : Collectible.RING_GOLD;
+			}
+
+			x[i] = posX;
+			y[i] = posY;
+			z[i] = posZ;
+			rotation[i] = random.nextFloat()*MathUtils.PI2;
+			types[i] = type;
+
+			prevX = posX;
+			prevY = posY;
+			posZ -= level.verticalSpacing;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Largest lateral distance, in collectible coordinates, the skydiver is guaranteed
+	 * to cover between two collectibles: accelerating for the first half of the gap
+	 * and braking for the second, so that it starts and ends the gap at rest.
+	 * @param verticalSpacing the vertical distance between two collectibles
+	 * @return the largest distance
+	 */
+	public static float maxStep(float verticalSpacing) {
+		final float a = LATERAL_ACCELERATION;
+		final float v = SkydiverControls.MAX_LATERAL_SPEED;
+		final float half = verticalSpacing/Skydiver.MAX_TERMINAL_SPEED/2;
+		float reach;
+		if (a*half < v) {
+			reach = a*half*half;
+		} else {
+			// Cruise at the speed limit between speeding up and slowing down
+			reach = 2*v*half - v*v/a;
+		}
+		return reach/IntersectUtil.COLLECTIBLE_SCALE;
+	}
+
+	private float controlX(Level level, int k, float zigzag) {
+		switch (level.path) {
+			case ZIGZAG:
+				float side = (k & 1) == 0 ? 1 : -1;
+				return side*halfRangeX*zigzag*(0.6f + 0.4f*random.nextFloat());
+			default:
+				return (2*random.nextFloat()-1)*halfRangeX;
+		}
+	}
+
+	private float controlY(Level level, int k, float zigzag) {
+		switch (level.path) {
+			case ZIGZAG:
+				return (2*random.nextFloat()-1)*halfRangeY*(1-zigzag/2);
+			default:
+				return (2*random.nextFloat()-1)*halfRangeY;
+		}
+	}
+
+	private static float catmullRom(float p0, float p1, float p2, float p3, float t) {
+		float t2 = t*t;
+		float t3 = t2*t;
+		return 0.5f*((2*p1) + (-p0 + p2)*t + (2*p0 - 5*p1 + 4*p2 - p3)*t2 + (-p0 + 3*p1 - 3*p2 + p3)*t3);
+	}
+
+	/**
+	 * Smooth value noise in [-1, 1], deterministic for the current seed
+	 */
+	private float noise(float t) {
+		int i = MathUtils.floor(t);
+		float f = t - i;
+		float u = f*f*(3 - 2*f);
+		return MathUtils.lerp(lattice(i), lattice(i+1), u);
+	}
+
+	private float lattice(int i) {
+		long h = noiseSeed + i*0x9E3779B97F4A7C15L;
+		h = (h ^ (h >>> 30))*0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27))*0x94D049BB133111EBL;
+		h = h ^ (h >>> 31);
+		return (h >>> 40)/(float)(1 << 23) - 1;
+	}
+}
@@ -1,5 +1,7 @@
 package com.scarlettapps.skydiver3d.world.utils;
 
+import java.util.Random;
+
 /**
  * This class creates height maps that can be used for various purposes, such as
  * cloud generation, terrain generation, etc. A height map made by this class is
@@ -24,10 +26,13 @@ public class DSAlgorithm {
 	 *            the starting value
 	 * @param variation
 	 *            the amount of randomness in the height map (minimum of 0)
+	 * @param random
+	 *            the source of the randomness, so that a seeded generator
+	 *            always makes the same map
 	 * @return a height map in the form of a 2-dimensional array containing
 	 *         integer values or null if the arguments are out of range
 	 */
-	public static float[] makeHeightMap(final int iterations, final int seed, int variation) {
+	public static float[] makeHeightMap(final int iterations, final int seed, int variation, final Random random) {
 		if (iterations < 1 || variation < 0) {
 			throw new IllegalArgumentException();
 		}
@@ -49,9 +54,9 @@ public class DSAlgorithm {
 			size = minCoordinate << 1;// Area surrounding the current place in
 										// the map
 
-			diamondStep(minCoordinate, size, map, variation, length);
-			squareStepEven(minCoordinate, map, size, maxIndex, variation, length);
-			squareStepOdd(map, size, minCoordinate, maxIndex, variation, length);
+			diamondStep(minCoordinate, size, map, variation, length, random);
+			squareStepEven(minCoordinate, map, size, maxIndex, variation, length, random);
+			squareStepOdd(map, size, minCoordinate, maxIndex, variation, length, random);
 
 			variation = variation >> 1;// Divide variation by 2
 		}
@@ -71,9 +76,11 @@ public class DSAlgorithm {
 	 *            the height map to fill
 	 * @param variation
 	 *            the randomness in the height map
+	 * @param random
+	 *            the source of the randomness
 	 */
 	private static void diamondStep(final int minCoordinate, final int size, final float[] map,
-			final int variation, final int length) {
+			final int variation, final int length, final Random random) {
 		for (int x = minCoordinate; x < (length - minCoordinate); x += size) {
 			for (int y = minCoordinate; y < (length - minCoordinate); y += size) {
 				int left = x - minCoordinate;
@@ -88,7 +95,7 @@ public class DSAlgorithm {
 				int val4 = (int)map[indexOf(right, down, length)];// lower right
 
 				calculateAndInsertAverage(val1, val2, val3, val4, variation,
-						map, x, y, size, length);
+						map, x, y, size, length, random);
 			}
 		}
 	}
@@ -108,9 +115,11 @@ public class DSAlgorithm {
 	 *            the maximum index in the array
 	 * @param variation
 	 *            the randomness in the height map
+	 * @param random
+	 *            the source of the randomness
 	 */
 	private static void squareStepEven(final int minCoordinate, final float[] map, final int size,
-			final int maxIndex, final int variation, final int length) {
+			final int maxIndex, final int variation, final int length, final Random random) {
 		for (int x = minCoordinate; x < length; x += size) {
 			for (int y = 0; y < length; y += size) {
 				if (y == maxIndex) {
@@ -136,7 +145,7 @@ public class DSAlgorithm {
 				int val4 = (int)map[indexOf(x, down, length)]; // down
 
 				calculateAndInsertAverage(val1, val2, val3, val4, variation,
-						map, x, y, size, length);
+						map, x, y, size, length, random);
 			}
 		}
 	}
@@ -156,9 +165,11 @@ public class DSAlgorithm {
 	 *            the maximum index in the array
 	 * @param variation
 	 *            the randomness in the height map
+	 * @param random
+	 *            the source of the randomness
 	 */
 	private static void squareStepOdd(final float[] map, final int size, final int minCoordinate,
-			final int maxIndex, final int variation, final int length) {
+			final int maxIndex, final int variation, final int length, final Random random) {
 		for (int x = 0; x < length; x += size) {
 			for (int y = minCoordinate; y < length; y += size) {
 				if (x == maxIndex) {
@@ -184,7 +195,7 @@ public class DSAlgorithm {
 				int val4 = (int)map[indexOf(x, down, length)]; // down
 
 				calculateAndInsertAverage(val1, val2, val3, val4, variation,
-						map, x, y, size, length);
+						map, x, y, size, length, random);
 			}
 		}
 	}
@@ -209,11 +220,13 @@ public class DSAlgorithm {
 	 *            the x-coordinate of the place to fill
 	 * @param y
 	 *            the y-coordinate of the place to fill
+	 * @param random
+	 *            the source of the randomness
 	 */
 	private static void calculateAndInsertAverage(final int val1, final int val2, final int val3,
-			final int val4, final int variation, final float[] map, final int x, final int y, final int size, final int length) {
+			final int val4, final int variation, final float[] map, final int x, final int y, final int size, final int length, final Random random) {
 		int avg = (val1 + val2 + val3 + val4) >> 2;// average
-		int var = (int) ((Math.random() * ((variation << 1) + 1)) - variation);
+		int var = (int) ((random.nextDouble() * ((variation << 1) + 1)) - variation);
 		map[indexOf(x, y, length)] = avg + var;
 	}
 
@@ -1,13 +1,7 @@
 package com.scarlettapps.skydiver3d.world.utils;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.PerspectiveCamera;
-import com.badlogic.gdx.graphics.g3d.decals.Decal;
-import com.badlogic.gdx.math.Circle;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
-import com.scarlettapps.skydiver3d.Skydiver3D;
-import com.scarlettapps.skydiver3d.world.Collectible;
+import com.scarlettapps.skydiver3d.world.Collectibles;
 import com.scarlettapps.skydiver3d.world.Skydiver;
 
 /**
@@ -16,17 +10,19 @@ import com.scarlettapps.skydiver3d.world.Skydiver;
  */
 public class IntersectUtil {
 	
+	// Scale from collectible coordinates to skydiver coordinates
+	public static final float COLLECTIBLE_SCALE = 0.2f;
+	
 	private IntersectUtil() {}
 	
-	public static boolean intersects(Skydiver skydiver, Collectible collectible) {
-		Decal decal = collectible.getDecal();
-		if (Math.abs(decal.getZ()-skydiver.getPositionZ()) > 20f) {
+	public static boolean intersects(Skydiver skydiver, Collectibles collectibles, int index) {
+		if (Math.abs(collectibles.getZ(index)-skydiver.getPositionZ()) > 20f) {
 			return false;
 		}
-		float x = 0.2f*decal.getX();
-		float y = 0.2f*decal.getY();
-		float width = 0.25f*decal.getWidth();
-		float height = 0.25f*decal.getHeight();
+		float x = COLLECTIBLE_SCALE*collectibles.getX(index);
+		float y = COLLECTIBLE_SCALE*collectibles.getY(index);
+		float width = 0.25f*Collectibles.DECAL_WIDTH;
+		float height = 0.25f*Collectibles.DECAL_HEIGHT;
 		Vector3 position = skydiver.getPosition();
 		float px = position.x + 1.9f;
 		float py = position.y + 2.5f;
@@ -0,0 +1,134 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.world.utils;
+
+import com.badlogic.gdx.graphics.g3d.model.Animation;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Poses of an animation sampled at a fixed rate. The translation, rotation and
+ * scale of every animated node are stored per sample in flat arrays, so posing
+ * the model at any time is a lerp and slerp between two neighbouring samples
+ * instead of a search through the keyframes of every node.
+ */
+public class PoseCache {
+
+	private final Animation animation;
+	private final Node[] nodes;
+	private final float rate;
+	private final int frames;
+
+	private final float[] translations;
+	private final float[] rotations;
+	private final float[] scales;
+
+	private final Vector3 tmpV = new Vector3();
+	private final Quaternion tmpQ1 = new Quaternion();
+	private final Quaternion tmpQ2 = new Quaternion();
+
+	/**
+	 * @param animation the animation to cache
+	 * @param samplesPerSecond the number of samples per second of animation
+	 */
+	PoseCache(Animation animation, float samplesPerSecond) {
+		this.animation = animation;
+		this.rate = samplesPerSecond;
+
+		nodes = new Node[animation.nodeAnimations.size];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = animation.nodeAnimations.get(i).node;
+		}
+
+		frames = (int) Math.ceil(animation.duration*rate - 0.001f) + 1;
+		translations = new float[frames*nodes.length*3];
+		rotations = new float[frames*nodes.length*4];
+		scales = new float[frames*nodes.length*3];
+	}
+
+	public Animation animation() {
+		return animation;
+	}
+
+	/**
+	 * @return the number of samples
+	 */
+	int frames() {
+		return frames;
+	}
+
+	/**
+	 * @return the time of a sample in seconds
+	 */
+	float time(int frame) {
+		return Math.min(frame/rate, animation.duration);
+	}
+
+	/**
+	 * Store the current local transforms of the animated nodes as a sample
+	 * @param frame the index of the sample
+	 */
+	void sample(int frame) {
+		for (int n = 0; n < nodes.length; n++) {
+			Matrix4 transform = nodes[n].localTransform;
+			int i = frame*nodes.length + n;
+
+			transform.getTranslation(tmpV);
+			translations[3*i] = tmpV.x;
+			translations[3*i+1] = tmpV.y;
+			translations[3*i+2] = tmpV.z;
+
+			transform.getRotation(tmpQ1, true);
+			rotations[4*i] = tmpQ1.x;
+			rotations[4*i+1] = tmpQ1.y;
+			rotations[4*i+2] = tmpQ1.z;
+			rotations[4*i+3] = tmpQ1.w;
+
+			transform.getScale(tmpV);
+			scales[3*i] = tmpV.x;
+			scales[3*i+1] = tmpV.y;
+			scales[3*i+2] = tmpV.z;
+		}
+	}
+
+	/**
+	 * Set the local transforms of the animated nodes to the pose at a time.
+	 * The world transforms of the model still have to be recalculated.
+	 * @param time the time in seconds, clamped to the animation
+	 */
+	void apply(float time) {
+		float f = MathUtils.clamp(time*rate, 0, frames-1);
+		int frame = (int) f;
+		int next = Math.min(frame+1, frames-1);
+		float alpha = f - frame;
+
+		for (int n = 0; n < nodes.length; n++) {
+			int a = frame*nodes.length + n;
+			int b = next*nodes.length + n;
+
+			float tx = lerp(translations, 3*a, 3*b, alpha);
+			float ty = lerp(translations, 3*a+1, 3*b+1, alpha);
+			float tz = lerp(translations, 3*a+2, 3*b+2, alpha);
+
+			tmpQ1.set(rotations[4*a], rotations[4*a+1], rotations[4*a+2], rotations[4*a+3]);
+			tmpQ2.set(rotations[4*b], rotations[4*b+1], rotations[4*b+2], rotations[4*b+3]);
+			tmpQ1.slerp(tmpQ2, alpha);
+
+			float sx = lerp(scales, 3*a, 3*b, alpha);
+			float sy = lerp(scales, 3*a+1, 3*b+1, alpha);
+			float sz = lerp(scales, 3*a+2, 3*b+2, alpha);
+
+			Node node = nodes[n];
+			node.isAnimated = true;
+			node.localTransform.set(tx, ty, tz, tmpQ1.x, tmpQ1.y, tmpQ1.z, tmpQ1.w, sx, sy, sz);
+		}
+	}
+
+	private static float lerp(float[] values, int a, int b, float alpha) {
+		return values[a] + (values[b]-values[a])*alpha;
+	}
+}
@@ -0,0 +1,32 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+/**
+ * What the player can do, whatever device they do it with
+ */
+public enum Action {
+	
+	/** Steer sideways, from -1 for full left to 1 for full right */
+	STEER_X(true),
+	/** Steer forwards, from -1 for full back to 1 for full forwards */
+	STEER_Y(true),
+	/** Dive faster while held */
+	FASTER(false),
+	/** Jump off the plane and open the parachute */
+	TAP(false);
+	
+	private final boolean analog;
+	
+	private Action(boolean analog) {
+		this.analog = analog;
+	}
+	
+	/**
+	 * @return whether the action is an axis rather than a button
+	 */
+	public boolean isAnalog() {
+		return analog;
+	}
+}
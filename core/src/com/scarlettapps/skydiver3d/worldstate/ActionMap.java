@@ -0,0 +1,86 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+/**
+ * The state of every {@link Action} for one tick, filled in by the input
+ * devices. It is cleared and refilled every tick, so devices only report
+ * what they see now and never need to undo what they reported before.
+ */
+public class ActionMap {
+	
+	private static final Action[] ACTIONS = Action.values();
+	
+	private final float[] values = new float[ACTIONS.length];
+	// Time of the oldest input event reported since the last take, 0 if none
+	private long eventTime;
+	
+	/**
+	 * Release every action. Event times are kept until taken.
+	 */
+	public void clear() {
+		for (int i = 0; i < values.length; i++) {
+			values[i] = 0;
+		}
+	}
+	
+	/**
+	 * Deflect an axis. When several devices deflect the same axis, the one
+	 * deflecting it most wins, so a resting device never cancels a moving one.
+	 * @param value the deflection, clamped to [-1, 1]
+	 */
+	public void deflect(Action action, float value) {
+		if (value > 1) {
+			value = 1;
+		} else if (value < -1) {
+			value = -1;
+		}
+		int i = action.ordinal();
+		if (Math.abs(value) > Math.abs(values[i])) {
+			values[i] = value;
+		}
+	}
+	
+	/**
+	 * Hold a button down for this tick
+	 */
+	public void press(Action action) {
+		values[action.ordinal()] = 1;
+	}
+	
+	/**
+	 * @return the deflection of an axis, from -1 to 1
+	 */
+	public float axis(Action action) {
+		return values[action.ordinal()];
+	}
+	
+	/**
+	 * @return whether a button is held, or an axis deflected at all
+	 */
+	public boolean pressed(Action action) {
+		return values[action.ordinal()] != 0;
+	}
+	
+	/**
+	 * Note that an input event changed the actions
+	 * @param time the time of the event, in the time base of TimeUtils.nanoTime(),
+	 * or 0 for no event
+	 */
+	public void event(long time) {
+		if (time != 0 && (eventTime == 0 || time < eventTime)) {
+			eventTime = time;
+		}
+	}
+	
+	/**
+	 * Take the time of the oldest input event since the last call
+	 * @return the time in nanoseconds, or 0 if there was no event
+	 */
+	public long takeEventTime() {
+		long time = eventTime;
+		eventTime = 0;
+		return time;
+	}
+}
@@ -4,59 +4,19 @@
 package com.scarlettapps.skydiver3d.worldstate;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input.Peripheral;
-import com.badlogic.gdx.utils.GdxRuntimeException;
 
+/**
+ * Steers by tilting the device, and dives faster while the screen is
+ * touched. A paired gamepad works too, for Android TV.
+ */
 public class AndroidGameController extends GameController {
-
-	private static final float SENSITIVITY = 0.3f;
 	
 	public AndroidGameController() {
 		Gdx.input.setCatchBackKey(false);
 		Gdx.input.setCatchMenuKey(true);
-		
-		ay = 0;
-	}
-	
-	@Override
-	public void update(float delta) {
-		ax = -Gdx.input.getPitch()*SENSITIVITY;
-	}
-	
-	@Override
-	public boolean keyDown(int keycode) {
-		return false;
-	}
-
-	@Override
-	public boolean keyUp(int keycode) {
-		return false;
-	}
-
-	@Override
-	public boolean keyTyped(char character) {
-		// TODO Auto-generated method stub
-		return false;
-	}
-
-	@Override
-	public boolean touchDown(int screenX, int screenY, int pointer, int button) {
-		super.touchDown(screenX, screenY, pointer, button);
-		faster = true;
-		return false;
-	}
-
-	@Override
-	public boolean touchUp(int screenX, int screenY, int pointer, int button) {
-		super.touchUp(screenX, screenY, pointer, button);
-		faster = false;
-		return false;
-	}
-
-	@Override
-	public boolean scrolled(int amount) {
-		// TODO Auto-generated method stub
-		return false;
+		addDevice(new TiltDevice(TiltSensor.getInstance()));
+		addDevice(new TouchDevice(true));
+		addDevice(new GamepadDevice());
 	}
 
 }
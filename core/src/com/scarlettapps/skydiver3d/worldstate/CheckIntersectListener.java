@@ -11,9 +11,11 @@ import com.scarlettapps.skydiver3d.world.World;
 public class CheckIntersectListener implements StatusListener {
 	
 	private final World world;
+	private final EventBus events;
 	
-	public CheckIntersectListener(World world) {
+	public CheckIntersectListener(World world, EventBus events) {
 		this.world = world;
+		this.events = events;
 	}
 	
 	@Override
@@ -26,28 +28,21 @@ public class CheckIntersectListener implements StatusListener {
 	
 	private void checkIntersect(Status status) {		
 		Vector3 skydiverPosition = status.position();
-		Vector3 skydiverVelocity = status.velocity();
 		
 		Collectibles collectibles = world.getCollectibles();
 		Skydiver skydiver = world.getSkydiver();
 		if (collectibles.checkIntersect(skydiverPosition.z)) {
-			Collectible closest = collectibles.getClosest();
-			if (closest != null && skydiver.intersects(closest)) {
-				if (closest.isDangerous()) {
-					world.playSlap();
-				} else {
-				    world.playBell();
-				}
+			int index = collectibles.closest();
+			if (index >= 0 && skydiver.intersects(collectibles, index)) {
+				Collectible closest = collectibles.getType(index);
 				collectibles.removeClosest();
-				status.setCollected(true);
+				status.collect();
 				if (Skydiver3D.DEV_MODE) {
 					Gdx.app.log(Skydiver3D.LOG, "Collected collectible: "
-							+ closest.getClass().getSimpleName());
+							+ closest);
 				}
-				float a = Skydiver.MIN_TERMINAL_SPEED;
-				float b = Skydiver.MAX_TERMINAL_SPEED;
-				float speedFactor = (-skydiverVelocity.z-a)/(b-a);
-				status.addToScore(closest.getPoints()*(1f+speedFactor));
+				// Scored by the ScoringEngine when the event is delivered
+				events.postCollected(closest, -status.velocity().z);
 			}
 		}
 	}
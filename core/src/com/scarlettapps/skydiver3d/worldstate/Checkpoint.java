@@ -0,0 +1,165 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.LongArray;
+
+/**
+ * The state of the whole simulation between two ticks. Every
+ * {@link Checkpointed} part appends its values in a fixed order, and reads
+ * them back in the same order when the checkpoint is restored. Values are kept
+ * as raw bits, so a restored simulation carries on exactly as the saved one,
+ * and two checkpoints can be compared value for value.
+ */
+public class Checkpoint {
+
+	// Values of a whole simulation, so that saving does not grow the array
+	private static final int CAPACITY = 128;
+
+	private final LongArray values = new LongArray(true, CAPACITY);
+	private int tick;
+	private int position;
+
+	/**
+	 * @return the simulation tick the checkpoint was taken before
+	 */
+	public int tick() {
+		return tick;
+	}
+
+	/**
+	 * Forget the values, to save a new state
+	 * @param tick the simulation tick about to run
+	 */
+	void begin(int tick) {
+		this.tick = tick;
+		values.clear();
+		position = 0;
+	}
+
+	/**
+	 * Go back to the first value, to restore the state
+	 */
+	public void rewind() {
+		position = 0;
+	}
+
+	/**
+	 * @return the number of values saved
+	 */
+	public int size() {
+		return values.size;
+	}
+
+	public void putLong(long value) {
+		values.add(value);
+	}
+
+	public void putInt(int value) {
+		values.add(value);
+	}
+
+	public void putFloat(float value) {
+		values.add(Float.floatToRawIntBits(value));
+	}
+
+	public void putBoolean(boolean value) {
+		values.add(value ? 1 : 0);
+	}
+
+	public void putVector(Vector3 value) {
+		putFloat(value.x);
+		putFloat(value.y);
+		putFloat(value.z);
+	}
+
+	public long getLong() {
+		return values.get(position++);
+	}
+
+	public int getInt() {
+		return (int) values.get(position++);
+	}
+
+	public float getFloat() {
+		return Float.intBitsToFloat((int) values.get(position++));
+	}
+
+	public boolean getBoolean() {
+		return values.get(position++) != 0;
+	}
+
+	public Vector3 getVector(Vector3 out) {
+		return out.set(getFloat(), getFloat(), getFloat());
+	}
+
+	/**
+	 * @return the index of the first value that differs from the other checkpoint, or -1 if none does
+	 */
+	public int firstDifference(Checkpoint other) {
+		int n = Math.min(values.size, other.values.size);
+		for (int i = 0; i < n; i++) {
+			if (values.items[i] != other.values.items[i]) {
+				return i;
+			}
+		}
+		return values.size == other.values.size ? -1 : n;
+	}
+
+	/**
+	 * Write the values the way the input of a replay is written: each one as a
+	 * zigzag varint of its change from the same value of the previous
+	 * checkpoint. A value that did not change takes one byte.
+	 * @param previous the checkpoint written before this one, or null if none
+	 */
+	void write(DataOutputStream out, Checkpoint previous) throws IOException {
+		out.writeInt(tick);
+		out.writeShort(values.size);
+		for (int i = 0; i < values.size; i++) {
+			writeVarint(out, values.items[i] - previousValue(previous, i));
+		}
+	}
+
+	/**
+	 * Read values written by {@link #write(DataOutputStream, Checkpoint)}
+	 * @param previous the checkpoint read before this one, or null if none
+	 */
+	void read(DataInputStream in, Checkpoint previous) throws IOException {
+		begin(in.readInt());
+		int size = in.readUnsignedShort();
+		for (int i = 0; i < size; i++) {
+			values.add(readVarint(in) + previousValue(previous, i));
+		}
+	}
+
+	private static long previousValue(Checkpoint previous, int i) {
+		return previous != null && i < previous.values.size ? previous.values.items[i] : 0;
+	}
+
+	private static void writeVarint(DataOutputStream out, long value) throws IOException {
+		long v = (value << 1) ^ (value >> 63);
+		while ((v & ~0x7fL) != 0) {
+			out.writeByte((int) ((v & 0x7f) | 0x80));
+			v >>>= 7;
+		}
+		out.writeByte((int) v);
+	}
+
+	private static long readVarint(DataInputStream in) throws IOException {
+		long v = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			v |= (long) (b & 0x7f) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return (v >>> 1) ^ -(v & 1);
+	}
+}
@@ -0,0 +1,21 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+/**
+ * A part of the simulation that keeps state from one tick to the next, and can
+ * write it to a {@link Checkpoint} and read it back
+ */
+public interface Checkpointed {
+
+	/**
+	 * Write the state the next tick depends on
+	 */
+	public void save(Checkpoint checkpoint);
+
+	/**
+	 * Read back the state written by {@link #save(Checkpoint)}, in the same order
+	 */
+	public void restore(Checkpoint checkpoint);
+}
@@ -1,5 +1,11 @@
 package com.scarlettapps.skydiver3d.worldstate;
 
-public class CollectedListener {
+import com.scarlettapps.skydiver3d.world.Collectible;
 
+/**
+ * Told by the {@link EventBus} when the skydiver flies through a collectible
+ */
+public interface CollectedListener {
+
+	public void collected(Collectible collectible, float speed);
 }
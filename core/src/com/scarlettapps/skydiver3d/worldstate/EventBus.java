@@ -0,0 +1,371 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Pool.Poolable;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.scarlettapps.skydiver3d.world.Collectible;
+
+/**
+ * Delivers the things that happen during a run to the listeners of each kind
+ * of event, so that they do not have to poll the status every tick.
+ * <p>
+ * Events are posted while the tick runs and queued in pooled objects, then
+ * delivered together by {@link #dispatch()} once the tick has finished, in the
+ * order they were posted. Listeners may be added or removed while events are
+ * being delivered; the change takes effect from the next event.
+ */
+public class EventBus {
+
+	// Events queued during one tick. A run only posts a handful.
+	private static final int CAPACITY = 8;
+
+	private final SnapshotArray<JumpedOffPlaneListener> jumpedOffPlaneListeners =
+			new SnapshotArray<JumpedOffPlaneListener>(true, 4, JumpedOffPlaneListener.class);
+	private final SnapshotArray<ParachuteOpenedListener> parachuteOpenedListeners =
+			new SnapshotArray<ParachuteOpenedListener>(true, 4, ParachuteOpenedListener.class);
+	private final SnapshotArray<ParachuteRatedListener> parachuteRatedListeners =
+			new SnapshotArray<ParachuteRatedListener>(true, 4, ParachuteRatedListener.class);
+	private final SnapshotArray<CollectedListener> collectedListeners =
+			new SnapshotArray<CollectedListener>(true, 4, CollectedListener.class);
+	private final SnapshotArray<WorldStateListener> worldStateListeners =
+			new SnapshotArray<WorldStateListener>(true, 4, WorldStateListener.class);
+	private final SnapshotArray<LandedListener> landedListeners =
+			new SnapshotArray<LandedListener>(true, 4, LandedListener.class);
+
+	private final Pool<JumpedOffPlane> jumpedOffPlanePool = new Pool<JumpedOffPlane>(CAPACITY) {
+		@Override
+		protected JumpedOffPlane newObject() {
+			return new JumpedOffPlane();
+		}
+	};
+	private final Pool<ParachuteOpened> parachuteOpenedPool = new Pool<ParachuteOpened>(CAPACITY) {
+		@Override
+		protected ParachuteOpened newObject() {
+			return new ParachuteOpened();
+		}
+	};
+	private final Pool<ParachuteRated> parachuteRatedPool = new Pool<ParachuteRated>(CAPACITY) {
+		@Override
+		protected ParachuteRated newObject() {
+			return new ParachuteRated();
+		}
+	};
+	private final Pool<Collected> collectedPool = new Pool<Collected>(CAPACITY) {
+		@Override
+		protected Collected newObject() {
+			return new Collected();
+		}
+	};
+	private final Pool<WorldStateChanged> worldStateChangedPool = new Pool<WorldStateChanged>(CAPACITY) {
+		@Override
+		protected WorldStateChanged newObject() {
+			return new WorldStateChanged();
+		}
+	};
+	private final Pool<Landed> landedPool = new Pool<Landed>(CAPACITY) {
+		@Override
+		protected Landed newObject() {
+			return new Landed();
+		}
+	};
+
+	private final Array<Event> queue = new Array<Event>(false, CAPACITY, Event.class);
+
+	public EventBus() {
+		// Allocate the events up front rather than on the first jump
+		fill(jumpedOffPlanePool, 1);
+		fill(parachuteOpenedPool, 1);
+		fill(parachuteRatedPool, 1);
+		fill(collectedPool, CAPACITY);
+		fill(worldStateChangedPool, 2);
+		fill(landedPool, 1);
+	}
+
+	private static <T> void fill(Pool<T> pool, int count) {
+		Array<T> objects = new Array<T>(count);
+		for (int i = 0; i < count; i++) {
+			objects.add(pool.obtain());
+		}
+		pool.freeAll(objects);
+	}
+
+	public void addJumpedOffPlaneListener(JumpedOffPlaneListener listener) {
+		jumpedOffPlaneListeners.add(listener);
+	}
+
+	public void removeJumpedOffPlaneListener(JumpedOffPlaneListener listener) {
+		jumpedOffPlaneListeners.removeValue(listener, true);
+	}
+
+	public void addParachuteOpenedListener(ParachuteOpenedListener listener) {
+		parachuteOpenedListeners.add(listener);
+	}
+
+	public void removeParachuteOpenedListener(ParachuteOpenedListener listener) {
+		parachuteOpenedListeners.removeValue(listener, true);
+	}
+
+	public void addParachuteRatedListener(ParachuteRatedListener listener) {
+		parachuteRatedListeners.add(listener);
+	}
+
+	public void removeParachuteRatedListener(ParachuteRatedListener listener) {
+		parachuteRatedListeners.removeValue(listener, true);
+	}
+
+	public void addCollectedListener(CollectedListener listener) {
+		collectedListeners.add(listener);
+	}
+
+	public void removeCollectedListener(CollectedListener listener) {
+		collectedListeners.removeValue(listener, true);
+	}
+
+	public void addWorldStateListener(WorldStateListener listener) {
+		worldStateListeners.add(listener);
+	}
+
+	public void removeWorldStateListener(WorldStateListener listener) {
+		worldStateListeners.removeValue(listener, true);
+	}
+
+	public void addLandedListener(LandedListener listener) {
+		landedListeners.add(listener);
+	}
+
+	public void removeLandedListener(LandedListener listener) {
+		landedListeners.removeValue(listener, true);
+	}
+
+	/**
+	 * The skydiver jumped off the plane
+	 */
+	public void postJumpedOffPlane() {
+		queue.add(jumpedOffPlanePool.obtain());
+	}
+
+	/**
+	 * The parachute was opened
+	 */
+	public void postParachuteOpened() {
+		queue.add(parachuteOpenedPool.obtain());
+	}
+
+	/**
+	 * The accuracy meter rated the opening of the parachute
+	 * @param accuracy how well the parachute was timed, from 0 to 1
+	 */
+	public void postParachuteRated(float accuracy) {
+		ParachuteRated event = parachuteRatedPool.obtain();
+		event.accuracy = accuracy;
+		queue.add(event);
+	}
+
+	/**
+	 * A collectible was flown through
+	 * @param collectible the type of the collectible
+	 * @param speed the fall speed of the skydiver
+	 */
+	public void postCollected(Collectible collectible, float speed) {
+		Collected event = collectedPool.obtain();
+		event.collectible = collectible;
+		event.speed = speed;
+		queue.add(event);
+	}
+
+	/**
+	 * The world state changed
+	 * @param from the previous state
+	 * @param to the new state
+	 */
+	public void postWorldStateChanged(WorldState from, WorldState to) {
+		WorldStateChanged event = worldStateChangedPool.obtain();
+		event.from = from;
+		event.to = to;
+		queue.add(event);
+	}
+
+	/**
+	 * The skydiver landed
+	 * @param distance the distance of the skydiver from the center of the target
+	 */
+	public void postLanded(float distance) {
+		Landed event = landedPool.obtain();
+		event.distance = distance;
+		queue.add(event);
+	}
+
+	/**
+	 * Deliver the queued events. Events posted by the listeners are delivered
+	 * before this returns.
+	 */
+	public void dispatch() {
+		for (int i = 0; i < queue.size; i++) {
+			queue.get(i).dispatch();
+		}
+		clear();
+	}
+
+	/**
+	 * Drop the queued events without delivering them
+	 */
+	public void clear() {
+		for (int i = 0; i < queue.size; i++) {
+			queue.get(i).free();
+		}
+		queue.clear();
+	}
+
+	/**
+	 * @return the number of events waiting to be delivered
+	 */
+	public int pending() {
+		return queue.size;
+	}
+
+	private static abstract class Event implements Poolable {
+		abstract void dispatch();
+
+		abstract void free();
+	}
+
+	private final class JumpedOffPlane extends Event {
+		@Override
+		void dispatch() {
+			JumpedOffPlaneListener[] listeners = jumpedOffPlaneListeners.begin();
+			for (int i = 0, n = jumpedOffPlaneListeners.size; i < n; i++) {
+				listeners[i].jumpedOffPlane();
+			}
+			jumpedOffPlaneListeners.end();
+		}
+
+		@Override
+		void free() {
+			jumpedOffPlanePool.free(this);
+		}
+
+		@Override
+		public void reset() {
+		}
+	}
+
+	private final class ParachuteOpened extends Event {
+		@Override
+		void dispatch() {
+			ParachuteOpenedListener[] listeners = parachuteOpenedListeners.begin();
+			for (int i = 0, n = parachuteOpenedListeners.size; i < n; i++) {
+				listeners[i].parachuteOpened();
+			}
+			parachuteOpenedListeners.end();
+		}
+
+		@Override
+		void free() {
+			parachuteOpenedPool.free(this);
+		}
+
+		@Override
+		public void reset() {
+		}
+	}
+
+	private final class ParachuteRated extends Event {
+		float accuracy;
+
+		@Override
+		void dispatch() {
+			ParachuteRatedListener[] listeners = parachuteRatedListeners.begin();
+			for (int i = 0, n = parachuteRatedListeners.size; i < n; i++) {
+				listeners[i].parachuteRated(accuracy);
+			}
+			parachuteRatedListeners.end();
+		}
+
+		@Override
+		void free() {
+			parachuteRatedPool.free(this);
+		}
+
+		@Override
+		public void reset() {
+			accuracy = 0;
+		}
+	}
+
+	private final class Collected extends Event {
+		Collectible collectible;
+		float speed;
+
+		@Override
+		void dispatch() {
+			CollectedListener[] listeners = collectedListeners.begin();
+			for (int i = 0, n = collectedListeners.size; i < n; i++) {
+				listeners[i].collected(collectible, speed);
+			}
+			collectedListeners.end();
+		}
+
+		@Override
+		void free() {
+			collectedPool.free(this);
+		}
+
+		@Override
+		public void reset() {
+			collectible = null;
+			speed = 0;
+		}
+	}
+
+	private final class WorldStateChanged extends Event {
+		WorldState from;
+		WorldState to;
+
+		@Override
+		void dispatch() {
+			WorldStateListener[] listeners = worldStateListeners.begin();
+			for (int i = 0, n = worldStateListeners.size; i < n; i++) {
+				listeners[i].worldStateChanged(from, to);
+			}
+			worldStateListeners.end();
+		}
+
+		@Override
+		void free() {
+			worldStateChangedPool.free(this);
+		}
+
+		@Override
+		public void reset() {
+			from = null;
+			to = null;
+		}
+	}
+
+	private final class Landed extends Event {
+		float distance;
+
+		@Override
+		void dispatch() {
+			LandedListener[] listeners = landedListeners.begin();
+			for (int i = 0, n = landedListeners.size; i < n; i++) {
+				listeners[i].landed(distance);
+			}
+			landedListeners.end();
+		}
+
+		@Override
+		void free() {
+			landedPool.free(this);
+		}
+
+		@Override
+		public void reset() {
+			distance = 0;
+		}
+	}
+}
@@ -4,15 +4,29 @@
 package com.scarlettapps.skydiver3d.worldstate;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.InputProcessor;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.scarlettapps.skydiver3d.Skydiver3D;
 import com.scarlettapps.skydiver3d.resources.PreferenceFactory;
 
-public abstract class GameController implements InputProcessor {
+/**
+ * Turns the input of every device the platform has into the controls of the
+ * skydiver. Devices are polled once per tick into one {@link ActionMap}, and
+ * input events are forwarded to the devices that are driven by them.
+ */
+public class GameController implements InputProcessor {
 	
-	protected static float sensitivity = PreferenceFactory.getInstance().getSensitivity();
+	// Controller units of a full deflection of a steering axis
+	public static final float FULL_DEFLECTION = 10;
+	// Range of the sensitivity the player can choose
+	public static final float MIN_SENSITIVITY = 0.5f;
+	public static final float MAX_SENSITIVITY = 2f;
+	
+	protected static float sensitivity = 1f;
 	
 	protected float ax;
 	protected float ay;
@@ -21,6 +35,27 @@ public abstract class GameController implements InputProcessor {
 
 	protected boolean sticky;
 	
+	private final Array<InputDevice> devices = new Array<InputDevice>();
+	private final InputMultiplexer processors = new InputMultiplexer();
+	private final ActionMap actions = new ActionMap();
+	// Time of the oldest input event not yet consumed by a tick, 0 if none
+	private long eventTime;
+	
+	/**
+	 * Add a source of input. Devices driven by events should implement
+	 * InputProcessor, and are then sent the events this controller receives.
+	 */
+	public void addDevice(InputDevice device) {
+		devices.add(device);
+		if (device instanceof InputProcessor) {
+			processors.addProcessor((InputProcessor) device);
+		}
+	}
+	
+	public Array<InputDevice> getDevices() {
+		return devices;
+	}
+	
 	public void reset() {
 		if (Skydiver3D.DEV_MODE) {
 			Gdx.app.log(Skydiver3D.LOG, "Resetting GameController");
@@ -31,6 +66,87 @@ public abstract class GameController implements InputProcessor {
 		faster = false;
 		justTouched = false;
 		sticky = false;
+		eventTime = 0;
+		actions.clear();
+		actions.takeEventTime();
+		for (int i = 0; i < devices.size; i++) {
+			devices.get(i).reset();
+		}
+	}
+	
+	/**
+	 * Poll every device and set the controls from what they report
+	 */
+	public void update(float delta) {
+		actions.clear();
+		for (int i = 0; i < devices.size; i++) {
+			devices.get(i).poll(actions, delta);
+		}
+		ax = actions.axis(Action.STEER_X)*FULL_DEFLECTION;
+		ay = actions.axis(Action.STEER_Y)*FULL_DEFLECTION;
+		faster = actions.pressed(Action.FASTER);
+		justTouched = actions.pressed(Action.TAP);
+		markEvent(actions.takeEventTime());
+	}
+	
+	/**
+	 * Replace the default bindings of every rebindable device with the saved ones
+	 */
+	public void loadBindings(PreferenceFactory preferences) {
+		for (int i = 0; i < devices.size; i++) {
+			if (devices.get(i) instanceof Rebindable) {
+				Rebindable device = (Rebindable) devices.get(i);
+				String saved = preferences.getBindings(device.getName());
+				if (saved != null && !device.getBindings().parse(saved)) {
+					if (Skydiver3D.DEV_MODE) {
+						Gdx.app.log(Skydiver3D.LOG, "Ignoring malformed " + device.getName() + " bindings: " + saved);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Save the bindings of every rebindable device, after the player changes them
+	 */
+	public void saveBindings(PreferenceFactory preferences) {
+		for (int i = 0; i < devices.size; i++) {
+			if (devices.get(i) instanceof Rebindable) {
+				Rebindable device = (Rebindable) devices.get(i);
+				preferences.setBindings(device.getName(), device.getBindings().toString());
+			}
+		}
+	}
+	
+	/**
+	 * @return the time of the input event being handled, in the time base of
+	 * {@link TimeUtils#nanoTime()}
+	 */
+	static long currentEventTime() {
+		long time = Gdx.input != null ? Gdx.input.getCurrentEventTime() : 0;
+		return time != 0 ? time : TimeUtils.nanoTime();
+	}
+	
+	/**
+	 * Note that an input event changed the controls
+	 * @param time the time of the event, in the time base of {@link TimeUtils#nanoTime()},
+	 * or 0 for no event
+	 */
+	protected void markEvent(long time) {
+		if (time != 0 && (eventTime == 0 || time < eventTime)) {
+			eventTime = time;
+		}
+	}
+	
+	/**
+	 * Take the time of the oldest input event since the last call, used to
+	 * measure input latency
+	 * @return the time in nanoseconds, or 0 if there was no event
+	 */
+	public long takeEventTime() {
+		long time = eventTime;
+		eventTime = 0;
+		return time;
 	}
 	
 	public final float getAx() {
@@ -45,26 +161,44 @@ public abstract class GameController implements InputProcessor {
 		return faster || sticky;
 	}
 	
+	@Override
+	public boolean keyDown(int keycode) {
+		return processors.keyDown(keycode);
+	}
+	
+	@Override
+	public boolean keyUp(int keycode) {
+		return processors.keyUp(keycode);
+	}
+	
+	@Override
+	public boolean keyTyped(char character) {
+		return processors.keyTyped(character);
+	}
+	
 	@Override
 	public boolean touchDown(int screenX, int screenY, int pointer, int button) {
-		justTouched = true;
-		return false;
+		return processors.touchDown(screenX, screenY, pointer, button);
 	}
 	
 	@Override
 	public boolean touchUp(int screenX, int screenY, int pointer, int button) {
-		justTouched = false;
-		return false; //check if the menu buttons were pressed
+		return processors.touchUp(screenX, screenY, pointer, button); //check if the menu buttons were pressed
 	}
 	
 	@Override
 	public boolean touchDragged(int screenX, int screenY, int pointer) {
-		return false;
+		return processors.touchDragged(screenX, screenY, pointer);
 	}
 
 	@Override
 	public boolean mouseMoved(int screenX, int screenY) {
-		return false;
+		return processors.mouseMoved(screenX, screenY);
+	}
+	
+	@Override
+	public boolean scrolled(int amount) {
+		return processors.scrolled(amount);
 	}
 
 	public static final GameController newGameController() {
@@ -79,14 +213,15 @@ public abstract class GameController implements InputProcessor {
 			default:
 				throw new GdxRuntimeException("Unknown app type");
 		}
+		PreferenceFactory preferences = PreferenceFactory.getInstance();
+		setSensitivity(preferences.getSensitivity());
+		controller.loadBindings(preferences);
 		controller.reset();
 		return controller;
 	}
-
-	public abstract void update(float delta);
 	
 	public static void setSensitivity(float sensitivity) {
-		GameController.sensitivity = sensitivity;
+		GameController.sensitivity = MathUtils.clamp(sensitivity, MIN_SENSITIVITY, MAX_SENSITIVITY);
 	}
 
 	public boolean justTouched() {
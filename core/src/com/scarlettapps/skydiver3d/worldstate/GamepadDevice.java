@@ -0,0 +1,125 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.Controllers;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Steers with any connected gamepad. Buttons are bound by their number, and
+ * axes by {@link #axisCode(int)} so that both share one set of bindings.
+ * Small deflections of a stick around its centre are ignored, since worn
+ * sticks rarely rest exactly at zero.
+ */
+public class GamepadDevice implements InputDevice, Rebindable {
+	
+	public static final float DEAD_ZONE = 0.2f;
+	// Deflection at which an axis bound to a button, like a trigger, presses it
+	private static final float PRESS_THRESHOLD = 0.5f;
+	private static final Action[] ACTIONS = Action.values();
+	
+	private final InputBindings bindings = new InputBindings();
+	private final float[] state = new float[ACTIONS.length];
+	private final float[] previous = new float[ACTIONS.length];
+	
+	public GamepadDevice() {
+		defaultBindings();
+	}
+	
+	/**
+	 * @return the code to bind an axis by
+	 */
+	public static int axisCode(int axis) {
+		return -1 - axis;
+	}
+	
+	@Override
+	public void defaultBindings() {
+		bindings.clear();
+		bindings.bind(axisCode(0), Action.STEER_X, 1);
+		// Pushing a stick away reads negative on most gamepads
+		bindings.bind(axisCode(1), Action.STEER_Y, -1);
+		bindings.bind(0, Action.TAP, 1);
+		bindings.bind(1, Action.FASTER, 1);
+		bindings.bind(5, Action.FASTER, 1);
+	}
+	
+	@Override
+	public String getName() {
+		return "Gamepad";
+	}
+	
+	@Override
+	public InputBindings getBindings() {
+		return bindings;
+	}
+	
+	@Override
+	public void poll(ActionMap actions, float delta) {
+		for (int i = 0; i < state.length; i++) {
+			previous[i] = state[i];
+			state[i] = 0;
+		}
+		Array<Controller> controllers = Controllers.getControllers();
+		for (int c = 0; c < controllers.size; c++) {
+			read(controllers.get(c));
+		}
+		boolean changed = false;
+		for (int i = 0; i < state.length; i++) {
+			if (ACTIONS[i].isAnalog()) {
+				actions.deflect(ACTIONS[i], state[i]);
+			} else if (state[i] != 0) {
+				actions.press(ACTIONS[i]);
+			}
+			changed |= state[i] != previous[i];
+		}
+		// Gamepads are polled, so the change happened at most one poll ago
+		if (changed) {
+			actions.event(TimeUtils.nanoTime());
+		}
+	}
+	
+	private void read(Controller controller) {
+		for (int i = 0; i < bindings.size(); i++) {
+			int code = bindings.getCode(i);
+			Action action = bindings.getAction(i);
+			float value;
+			if (code < 0) {
+				value = deadZone(controller.getAxis(-1 - code), DEAD_ZONE)*bindings.getScale(i);
+				if (!action.isAnalog()) {
+					value = value > PRESS_THRESHOLD ? 1 : 0;
+				}
+			} else {
+				value = controller.getButton(code) ? bindings.getScale(i) : 0;
+			}
+			int a = action.ordinal();
+			// Of several gamepads, or several bindings of one action, the strongest wins
+			if (Math.abs(value) > Math.abs(state[a])) {
+				state[a] = value;
+			}
+		}
+	}
+	
+	/**
+	 * Ignore deflections within the dead zone, and rescale the rest so that
+	 * the axis still moves smoothly from 0 to 1 beyond it
+	 */
+	public static float deadZone(float value, float deadZone) {
+		float magnitude = Math.abs(value);
+		if (magnitude <= deadZone) {
+			return 0;
+		}
+		magnitude = Math.min((magnitude - deadZone)/(1 - deadZone), 1);
+		return value < 0 ? -magnitude : magnitude;
+	}
+	
+	@Override
+	public void reset() {
+		for (int i = 0; i < state.length; i++) {
+			state[i] = 0;
+		}
+	}
+}
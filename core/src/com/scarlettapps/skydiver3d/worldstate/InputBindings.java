@@ -0,0 +1,108 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Which codes of a device trigger which actions. A code is whatever the
+ * device numbers its keys, buttons or axes by, and each binding has a scale,
+ * so that for example one key steers left with -1 and another right with 1.
+ * A code triggers at most one action.
+ * <p>
+ * Bindings are saved as text, one <code>code:ACTION:scale</code> entry per
+ * binding, separated by commas.
+ */
+public class InputBindings {
+	
+	private final IntArray codes = new IntArray();
+	private final Array<Action> actions = new Array<Action>();
+	private final FloatArray scales = new FloatArray();
+	
+	/**
+	 * Bind a code to an action, replacing what it was bound to before
+	 * @param scale the deflection for an axis action, or any non-zero value for a button
+	 */
+	public void bind(int code, Action action, float scale) {
+		unbind(code);
+		codes.add(code);
+		actions.add(action);
+		scales.add(scale);
+	}
+	
+	public void unbind(int code) {
+		int i = codes.indexOf(code);
+		if (i != -1) {
+			codes.removeIndex(i);
+			actions.removeIndex(i);
+			scales.removeIndex(i);
+		}
+	}
+	
+	public void clear() {
+		codes.clear();
+		actions.clear();
+		scales.clear();
+	}
+	
+	public int size() {
+		return codes.size;
+	}
+	
+	public int getCode(int index) {
+		return codes.get(index);
+	}
+	
+	public Action getAction(int index) {
+		return actions.get(index);
+	}
+	
+	public float getScale(int index) {
+		return scales.get(index);
+	}
+	
+	/**
+	 * Replace the bindings with saved ones
+	 * @param text the bindings as saved by {@link #toString()}
+	 * @return false if the text was malformed, in which case the bindings are unchanged
+	 */
+	public boolean parse(String text) {
+		String[] entries = text.length() == 0 ? new String[0] : text.split(",");
+		int[] parsedCodes = new int[entries.length];
+		Action[] parsedActions = new Action[entries.length];
+		float[] parsedScales = new float[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			String[] parts = entries[i].split(":");
+			if (parts.length != 3) {
+				return false;
+			}
+			try {
+				parsedCodes[i] = Integer.parseInt(parts[0].trim());
+				parsedActions[i] = Action.valueOf(parts[1].trim());
+				parsedScales[i] = Float.parseFloat(parts[2].trim());
+			} catch (IllegalArgumentException e) {
+				return false;
+			}
+		}
+		clear();
+		for (int i = 0; i < entries.length; i++) {
+			bind(parsedCodes[i], parsedActions[i], parsedScales[i]);
+		}
+		return true;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < codes.size; i++) {
+			if (i > 0) {
+				text.append(',');
+			}
+			text.append(codes.get(i)).append(':').append(actions.get(i).name()).append(':').append(scales.get(i));
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,25 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+/**
+ * A source of player input. Devices are polled once per tick and report
+ * what they see into the shared {@link ActionMap}. Devices driven by events
+ * also implement InputProcessor, and the game controller forwards its
+ * events to them.
+ */
+public interface InputDevice {
+	
+	/**
+	 * Report the current state of the device. Must not allocate.
+	 * @param actions the actions to report into, already cleared for this tick
+	 * @param delta the length of the tick in seconds
+	 */
+	void poll(ActionMap actions, float delta);
+	
+	/**
+	 * Forget any held state when a run starts
+	 */
+	void reset();
+}
@@ -3,24 +3,30 @@
 
 package com.scarlettapps.skydiver3d.worldstate;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.scarlettapps.skydiver3d.Profiler;
+import com.scarlettapps.skydiver3d.Profiler.Latency;
 import com.scarlettapps.skydiver3d.Skydiver3D;
 
 public class InputManager {
 	
 	private final GameController gameController;
-	private final Array<InputListener> listeners;
-	private final List<InputListener> removedListeners;
+	// Listeners that finish remove themselves while the array is being iterated
+	private final SnapshotArray<InputListener> listeners;
+	private final Array<InputListener> removedListeners;
+	private ReplayRecorder recorder;
+	private ReplayPlayer player;
+	// Time of the oldest input consumed since the last frame was drawn, 0 if none
+	private long undrawnEvent;
 
 	public InputManager(GameController gameController) {
 		this.gameController = gameController;
-		listeners = new Array<InputListener>();
-		removedListeners = new LinkedList<InputListener>();
+		listeners = new SnapshotArray<InputListener>(true, 4, InputListener.class);
+		removedListeners = new Array<InputListener>();
 	}
 	
 	public void reset() {
@@ -28,9 +34,9 @@ public class InputManager {
 			Gdx.app.log(Skydiver3D.LOG, "Resetting InputManager");
 		}
 		
-		for (InputListener listener: removedListeners) {
-			listeners.add(listener);
-		}
+		undrawnEvent = 0;
+		listeners.addAll(removedListeners);
+		removedListeners.clear();
 		for (InputListener listener: listeners) {
 			listener.reset();
 		}
@@ -40,15 +46,55 @@ public class InputManager {
 		listeners.add(listener);
 	}
 	
+	/**
+	 * Set the recorder which samples the controller every tick
+	 */
+	public void setRecorder(ReplayRecorder recorder) {
+		this.recorder = recorder;
+	}
+	
+	/**
+	 * Set the player which replaces the samples of the controller while it is playing
+	 */
+	public void setPlayer(ReplayPlayer player) {
+		this.player = player;
+	}
+	
 	public void update(float delta) {
 		gameController.update(delta);
+		long event = gameController.takeEventTime();
+		if (event != 0) {
+			Profiler.getInstance().recordLatency(Latency.INPUT_TO_TICK, TimeUtils.nanoTime() - event);
+			if (undrawnEvent == 0) {
+				undrawnEvent = event;
+			}
+		}
+		if (player != null && player.isPlaying()) {
+			player.play(gameController);
+		} else if (recorder != null) {
+			recorder.record(gameController);
+		}
 		
-		for (InputListener listener : listeners) {
+		InputListener[] items = listeners.begin();
+		for (int i = 0, n = listeners.size; i < n; i++) {
+			InputListener listener = items[i];
 			if (listener.update(gameController, delta)) {
 				listeners.removeValue(listener, true);
 				removedListeners.add(listener);
 			}
 		}
+		listeners.end();
+	}
+	
+	/**
+	 * Note that a frame showing the effect of the consumed input has been
+	 * drawn, which ends the latency of that input
+	 */
+	public void frameDrawn() {
+		if (undrawnEvent != 0) {
+			Profiler.getInstance().recordLatency(Latency.INPUT_TO_FRAME, TimeUtils.nanoTime() - undrawnEvent);
+			undrawnEvent = 0;
+		}
 	}
 
 }
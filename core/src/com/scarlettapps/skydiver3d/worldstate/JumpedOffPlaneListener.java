@@ -1,5 +1,9 @@
 package com.scarlettapps.skydiver3d.worldstate;
 
-public class JumpedOffPlaneListener {
+/**
+ * Told by the {@link EventBus} when the skydiver jumps off the plane
+ */
+public interface JumpedOffPlaneListener {
 
+	public void jumpedOffPlane();
 }
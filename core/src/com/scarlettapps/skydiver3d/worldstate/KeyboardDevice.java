@@ -0,0 +1,95 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.InputAdapter;
+
+/**
+ * Steers with keys. Opposite keys held together cancel out.
+ */
+public class KeyboardDevice extends InputAdapter implements InputDevice, Rebindable {
+	
+	private static final Action[] ACTIONS = Action.values();
+	
+	private final InputBindings bindings = new InputBindings();
+	private final boolean[] down = new boolean[256];
+	private final float[] sums = new float[ACTIONS.length];
+	private long eventTime;
+	
+	public KeyboardDevice() {
+		defaultBindings();
+	}
+	
+	@Override
+	public void defaultBindings() {
+		bindings.clear();
+		bindings.bind(Keys.LEFT, Action.STEER_X, -1);
+		bindings.bind(Keys.RIGHT, Action.STEER_X, 1);
+		bindings.bind(Keys.DOWN, Action.STEER_Y, -1);
+		bindings.bind(Keys.UP, Action.STEER_Y, 1);
+		bindings.bind(Keys.A, Action.FASTER, 1);
+	}
+	
+	@Override
+	public String getName() {
+		return "Keyboard";
+	}
+	
+	@Override
+	public InputBindings getBindings() {
+		return bindings;
+	}
+	
+	@Override
+	public boolean keyDown(int keycode) {
+		return key(keycode, true);
+	}
+	
+	@Override
+	public boolean keyUp(int keycode) {
+		return key(keycode, false);
+	}
+	
+	private boolean key(int keycode, boolean pressed) {
+		if (keycode >= 0 && keycode < down.length && down[keycode] != pressed) {
+			down[keycode] = pressed;
+			long time = GameController.currentEventTime();
+			if (eventTime == 0) {
+				eventTime = time;
+			}
+		}
+		return false;
+	}
+	
+	@Override
+	public void poll(ActionMap actions, float delta) {
+		for (int i = 0; i < sums.length; i++) {
+			sums[i] = 0;
+		}
+		for (int i = 0; i < bindings.size(); i++) {
+			int code = bindings.getCode(i);
+			if (code >= 0 && code < down.length && down[code]) {
+				sums[bindings.getAction(i).ordinal()] += bindings.getScale(i);
+			}
+		}
+		for (int i = 0; i < sums.length; i++) {
+			if (ACTIONS[i].isAnalog()) {
+				actions.deflect(ACTIONS[i], sums[i]);
+			} else if (sums[i] != 0) {
+				actions.press(ACTIONS[i]);
+			}
+		}
+		actions.event(eventTime);
+		eventTime = 0;
+	}
+	
+	@Override
+	public void reset() {
+		for (int i = 0; i < down.length; i++) {
+			down[i] = false;
+		}
+		eventTime = 0;
+	}
+}
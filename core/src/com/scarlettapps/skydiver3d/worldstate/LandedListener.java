@@ -0,0 +1,9 @@
+package com.scarlettapps.skydiver3d.worldstate;
+
+/**
+ * Told by the {@link EventBus} when the skydiver lands
+ */
+public interface LandedListener {
+
+	public void landed(float distance);
+}
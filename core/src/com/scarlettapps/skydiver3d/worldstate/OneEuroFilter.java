@@ -0,0 +1,72 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * A low pass filter whose cutoff rises with the speed of the signal: slow
+ * movements are smoothed heavily, which removes jitter, while fast movements
+ * pass with little lag (Casiez et al, "1 Euro Filter", CHI 2012).
+ */
+public class OneEuroFilter {
+
+	private final float minCutoff;
+	private final float beta;
+	private final float derivativeCutoff;
+
+	private float value;
+	private float derivative;
+	private boolean initialized;
+
+	/**
+	 * @param minCutoff the cutoff in Hz when the signal is still. Lower removes more jitter.
+	 * @param beta how fast the cutoff rises with speed. Higher gives less lag.
+	 * @param derivativeCutoff the cutoff in Hz of the speed estimate
+	 */
+	public OneEuroFilter(float minCutoff, float beta, float derivativeCutoff) {
+		this.minCutoff = minCutoff;
+		this.beta = beta;
+		this.derivativeCutoff = derivativeCutoff;
+	}
+
+	/**
+	 * Filter the next sample
+	 * @param x the sample
+	 * @param dt the time in seconds since the previous sample
+	 * @return the filtered value
+	 */
+	public float filter(float x, float dt) {
+		if (!initialized || dt <= 0) {
+			if (!initialized) {
+				value = x;
+				derivative = 0;
+				initialized = true;
+			}
+			return value;
+		}
+		derivative += alpha(derivativeCutoff, dt)*((x - value)/dt - derivative);
+		float cutoff = minCutoff + beta*Math.abs(derivative);
+		value += alpha(cutoff, dt)*(x - value);
+		return value;
+	}
+
+	private static float alpha(float cutoff, float dt) {
+		float tau = 1/(MathUtils.PI2*cutoff);
+		return 1/(1 + tau/dt);
+	}
+
+	public float value() {
+		return value;
+	}
+
+	/**
+	 * Forget the signal, so that the next sample passes unfiltered
+	 */
+	public void reset() {
+		initialized = false;
+		value = 0;
+		derivative = 0;
+	}
+}
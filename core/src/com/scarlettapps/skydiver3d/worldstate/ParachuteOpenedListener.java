@@ -1,5 +1,9 @@
 package com.scarlettapps.skydiver3d.worldstate;
 
-public class ParachuteOpenedListener {
+/**
+ * Told by the {@link EventBus} when the parachute is opened
+ */
+public interface ParachuteOpenedListener {
 
+	public void parachuteOpened();
 }
@@ -0,0 +1,10 @@
+package com.scarlettapps.skydiver3d.worldstate;
+
+/**
+ * Told by the {@link EventBus} when the accuracy meter rates how well the
+ * parachute was timed
+ */
+public interface ParachuteRatedListener {
+
+	public void parachuteRated(float accuracy);
+}
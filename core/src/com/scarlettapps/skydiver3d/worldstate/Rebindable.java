@@ -0,0 +1,22 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+/**
+ * An input device whose controls the player can rebind
+ */
+public interface Rebindable {
+	
+	/**
+	 * @return the name the bindings are saved under
+	 */
+	String getName();
+	
+	InputBindings getBindings();
+	
+	/**
+	 * Put back the bindings the device starts with
+	 */
+	void defaultBindings();
+}
@@ -0,0 +1,223 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * A recording of one run: the level, the seed of the run, the controller
+ * sensitivity and one input sample per simulation tick.
+ * <p>
+ * Samples are stored as a byte stream of tokens. A token with the high bit set
+ * repeats the previous sample up to 127 times. Otherwise its low bits hold the
+ * button flags, and bits 5 and 6 tell whether a zigzag varint with the change of
+ * the quantized x or y acceleration follows. Holding a key costs one byte every
+ * two seconds and tilting a phone about two bytes per tick, so a jump costs a few
+ * KB before compression.
+ * <p>
+ * A {@link Checkpoint} of the whole simulation is taken every
+ * {@link #SNAPSHOT_INTERVAL} ticks and saved along with the input, each value
+ * as a zigzag varint of its change since the last checkpoint. Seeking
+ * restores the nearest one instead of simulating from the first tick, and
+ * playback is checked against them to detect a desync.
+ */
+public class Replay {
+
+	// Simulation ticks per second
+	public static final int TICKS_PER_SECOND = 60;
+	// Duration of a simulation tick in seconds
+	public static final float TICK = 1f/TICKS_PER_SECOND;
+	// Ticks between two checkpoints
+	public static final int SNAPSHOT_INTERVAL = TICKS_PER_SECOND;
+	// Checkpoints allocated before recording, enough for three minutes
+	private static final int SNAPSHOTS = 180;
+	// Accelerations are quantized to multiples of 1/QUANTIZATION
+	static final float QUANTIZATION = 64f;
+
+	static final int FASTER = 1;
+	static final int TOUCHED = 1 << 1;
+	static final int STICKY = 1 << 2;
+	static final int FLAGS = FASTER | TOUCHED | STICKY;
+	static final int DX = 1 << 5;
+	static final int DY = 1 << 6;
+	static final int REPEAT = 1 << 7;
+	static final int MAX_REPEAT = 127;
+
+	private static final int MAGIC = 0x534b5250; // "SKRP"
+	private static final int VERSION = 4;
+
+	private int level;
+	private long seed;
+	private float sensitivity;
+
+	final ByteArray data;
+	final Array<Checkpoint> snapshots;
+	// Checkpoints allocated up front and kept between runs, so that recording allocates none
+	private final Array<Checkpoint> spares;
+	int ticks;
+
+	Replay(int level, long seed, float sensitivity) {
+		this(level, seed, sensitivity, new ByteArray(4096), 0, SNAPSHOTS);
+		for (int i = 0; i < SNAPSHOTS; i++) {
+			spares.add(new Checkpoint());
+		}
+	}
+
+	private Replay(int level, long seed, float sensitivity, ByteArray data, int ticks, int snapshots) {
+		this.level = level;
+		this.seed = seed;
+		this.sensitivity = sensitivity;
+		this.data = data;
+		this.ticks = ticks;
+		this.snapshots = new Array<Checkpoint>(snapshots);
+		spares = new Array<Checkpoint>(snapshots);
+	}
+
+	/**
+	 * Empty the replay to record a new run. The input buffer and the
+	 * checkpoints are kept for the new run.
+	 */
+	void begin(int level, long seed, float sensitivity) {
+		this.level = level;
+		this.seed = seed;
+		this.sensitivity = sensitivity;
+		data.clear();
+		ticks = 0;
+		spares.addAll(snapshots);
+		snapshots.clear();
+	}
+
+	/**
+	 * @return the zero-based index of the level that was played
+	 */
+	public int level() {
+		return level;
+	}
+
+	/**
+	 * @return the seed of the run
+	 */
+	public long seed() {
+		return seed;
+	}
+
+	/**
+	 * @return the controller sensitivity during the run
+	 */
+	public float sensitivity() {
+		return sensitivity;
+	}
+
+	/**
+	 * @return the number of simulation ticks recorded
+	 */
+	public int ticks() {
+		return ticks;
+	}
+
+	/**
+	 * @return the size of the encoded input in bytes
+	 */
+	public int size() {
+		return data.size;
+	}
+
+	/**
+	 * Get the latest checkpoint taken at or before a tick
+	 * @param tick the simulation tick
+	 * @return the checkpoint, or null if none has been taken yet
+	 */
+	public Checkpoint snapshot(int tick) {
+		int index = Math.min(tick/SNAPSHOT_INTERVAL, snapshots.size-1);
+		return index < 0 ? null : snapshots.get(index);
+	}
+
+	/**
+	 * Add a checkpoint, taken from the spares while there are any
+	 * @param tick the simulation tick about to run
+	 * @return the checkpoint to save the simulation to
+	 */
+	Checkpoint addSnapshot(int tick) {
+		Checkpoint snapshot = spares.size > 0 ? spares.pop() : new Checkpoint();
+		snapshot.begin(tick);
+		snapshots.add(snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * Save the replay to a file
+	 * @param file the file to write
+	 */
+	public void write(FileHandle file) {
+		DataOutputStream out = null;
+		try {
+			out = new DataOutputStream(new DeflaterOutputStream(file.write(false)));
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeInt(level);
+			out.writeLong(seed);
+			out.writeFloat(sensitivity);
+			out.writeInt(ticks);
+			out.writeInt(data.size);
+			out.write(data.items, 0, data.size);
+			out.writeInt(snapshots.size);
+			Checkpoint previous = null;
+			for (int i = 0; i < snapshots.size; i++) {
+				Checkpoint snapshot = snapshots.get(i);
+				snapshot.write(out, previous);
+				previous = snapshot;
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error writing replay " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(out);
+		}
+	}
+
+	/**
+	 * Load a replay from a file
+	 * @param file the file to read
+	 * @return the replay
+	 */
+	public static Replay read(FileHandle file) {
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(new InflaterInputStream(file.read()));
+			if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+				throw new GdxRuntimeException("Not a replay: " + file);
+			}
+			int level = in.readInt();
+			long seed = in.readLong();
+			float sensitivity = in.readFloat();
+			int ticks = in.readInt();
+			ByteArray data = new ByteArray(in.readInt());
+			in.readFully(data.items, 0, data.items.length);
+			data.size = data.items.length;
+			int count = in.readInt();
+			Replay replay = new Replay(level, seed, sensitivity, data, ticks, count);
+			Checkpoint previous = null;
+			for (int i = 0; i < count; i++) {
+				Checkpoint snapshot = new Checkpoint();
+				snapshot.read(in, previous);
+				replay.snapshots.add(snapshot);
+				previous = snapshot;
+			}
+			return replay;
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error reading replay " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(in);
+		}
+	}
+}
@@ -0,0 +1,182 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.Gdx;
+import com.scarlettapps.skydiver3d.Skydiver3D;
+
+/**
+ * Plays a {@link Replay} back by overwriting the samples of the game controller
+ * every simulation tick, so playback goes through the same listeners as live
+ * input. The simulation is compared against the checkpoints of the replay as
+ * it plays, to detect a desync.
+ */
+public class ReplayPlayer {
+
+	private final Status status;
+	private final Checkpointed simulation;
+	// The simulation as played, compared against the recorded checkpoints
+	private final Checkpoint played = new Checkpoint();
+
+	private Replay replay;
+	private boolean playing;
+	private int tick;
+	private int position;
+	private int x;
+	private int y;
+	private int flags;
+	private int repeat;
+	private float liveSensitivity;
+
+	/**
+	 * @param status the status of the run
+	 * @param simulation saves the whole simulation, to compare against the replay
+	 */
+	public ReplayPlayer(Status status, Checkpointed simulation) {
+		this.status = status;
+		this.simulation = simulation;
+	}
+
+	/**
+	 * Start playing a replay from its first tick
+	 * @param replay the replay to play
+	 */
+	public void begin(Replay replay) {
+		if (!playing) {
+			liveSensitivity = GameController.sensitivity;
+		}
+		this.replay = replay;
+		GameController.setSensitivity(replay.sensitivity());
+		playing = true;
+		rewind();
+	}
+
+	/**
+	 * Go back to the first tick of the replay
+	 */
+	public void rewind() {
+		tick = 0;
+		position = 0;
+		x = 0;
+		y = 0;
+		flags = 0;
+		repeat = 0;
+	}
+
+	/**
+	 * Stop playing and hand control back to the player
+	 */
+	public void end() {
+		if (playing) {
+			GameController.setSensitivity(liveSensitivity);
+			playing = false;
+		}
+	}
+
+	public boolean isPlaying() {
+		return playing;
+	}
+
+	/**
+	 * @return the replay being played
+	 */
+	public Replay replay() {
+		return replay;
+	}
+
+	/**
+	 * @return the number of ticks played since the start of the replay
+	 */
+	public int tick() {
+		return tick;
+	}
+
+	/**
+	 * Apply the input of the current tick. Playback ends after the last tick.
+	 * @param gameController the controller to overwrite
+	 */
+	public void play(GameController gameController) {
+		if (!playing) {
+			return;
+		}
+		if (tick >= replay.ticks()) {
+			end();
+			return;
+		}
+
+		if (Skydiver3D.DEV_MODE && tick % Replay.SNAPSHOT_INTERVAL == 0) {
+			check();
+		}
+
+		next();
+		gameController.ax = x/Replay.QUANTIZATION;
+		gameController.ay = y/Replay.QUANTIZATION;
+		gameController.faster = (flags & Replay.FASTER) != 0;
+		gameController.justTouched = (flags & Replay.TOUCHED) != 0;
+		status.setStickyRequested((flags & Replay.STICKY) != 0);
+		tick++;
+	}
+
+	/**
+	 * Move to a tick without applying the input in between, after the
+	 * simulation has been restored to a checkpoint taken at that tick
+	 * @param tick the simulation tick to play next
+	 */
+	public void skipTo(int tick) {
+		if (tick < this.tick) {
+			rewind();
+		}
+		while (this.tick < tick && this.tick < replay.ticks()) {
+			next();
+			this.tick++;
+		}
+	}
+
+	/**
+	 * Decode the input of the current tick
+	 */
+	private void next() {
+		if (repeat > 0) {
+			repeat--;
+		} else {
+			int token = replay.data.items[position++] & 0xff;
+			if ((token & Replay.REPEAT) != 0) {
+				repeat = (token & Replay.MAX_REPEAT) - 1;
+			} else {
+				flags = token & Replay.FLAGS;
+				if ((token & Replay.DX) != 0) x += readVarint();
+				if ((token & Replay.DY) != 0) y += readVarint();
+			}
+		}
+	}
+
+	/**
+	 * Compare the simulation with the checkpoint recorded at the current tick
+	 */
+	private void check() {
+		int index = tick/Replay.SNAPSHOT_INTERVAL;
+		if (index >= replay.snapshots.size) {
+			return;
+		}
+		Checkpoint expected = replay.snapshots.get(index);
+		played.begin(tick);
+		simulation.save(played);
+		int difference = expected.firstDifference(played);
+		if (difference >= 0) {
+			Gdx.app.log(Skydiver3D.LOG, "Replay desync at tick " + tick + ", value " + difference);
+		}
+	}
+
+	private int readVarint() {
+		int v = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = replay.data.items[position++];
+			v |= (b & 0x7f) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return (v >>> 1) ^ -(v & 1);
+	}
+}
@@ -0,0 +1,133 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.utils.ByteArray;
+import com.scarlettapps.skydiver3d.world.Level;
+
+/**
+ * Records the input of every simulation tick into a {@link Replay}. The
+ * accelerations are quantized in place before any listener sees them, so the
+ * live run and its playback receive exactly the same values. The simulation
+ * is checkpointed every {@link Replay#SNAPSHOT_INTERVAL} ticks.
+ */
+public class ReplayRecorder {
+
+	private final Status status;
+	private final Checkpointed simulation;
+
+	private Replay replay;
+	private boolean recording;
+	private int lastX;
+	private int lastY;
+	private int lastFlags;
+	private int repeat;
+
+	/**
+	 * @param status the status of the run
+	 * @param simulation saves the whole simulation to the checkpoints of the replay
+	 */
+	public ReplayRecorder(Status status, Checkpointed simulation) {
+		this.status = status;
+		this.simulation = simulation;
+	}
+
+	/**
+	 * Start recording a new run, into the same replay as the last run
+	 * @param level the level being played
+	 * @param seed the seed of the run
+	 */
+	public void begin(Level level, long seed) {
+		if (replay == null) {
+			replay = new Replay(level.index(), seed, GameController.sensitivity);
+		} else {
+			replay.begin(level.index(), seed, GameController.sensitivity);
+		}
+		lastX = 0;
+		lastY = 0;
+		lastFlags = 0;
+		repeat = 0;
+		recording = true;
+	}
+
+	/**
+	 * Stop recording. The recorded replay stays available.
+	 */
+	public void end() {
+		flush();
+		recording = false;
+	}
+
+	public boolean isRecording() {
+		return recording;
+	}
+
+	/**
+	 * Record the input of the current tick
+	 * @param gameController the controller to sample
+	 */
+	public void record(GameController gameController) {
+		if (!recording) {
+			return;
+		}
+
+		if (replay.ticks % Replay.SNAPSHOT_INTERVAL == 0) {
+			simulation.save(replay.addSnapshot(replay.ticks));
+		}
+
+		int x = Math.round(gameController.ax*Replay.QUANTIZATION);
+		int y = Math.round(gameController.ay*Replay.QUANTIZATION);
+		gameController.ax = x/Replay.QUANTIZATION;
+		gameController.ay = y/Replay.QUANTIZATION;
+
+		int flags = 0;
+		if (gameController.faster) flags |= Replay.FASTER;
+		if (gameController.justTouched) flags |= Replay.TOUCHED;
+		if (status.stickyRequested()) flags |= Replay.STICKY;
+
+		if (x == lastX && y == lastY && flags == lastFlags) {
+			if (++repeat == Replay.MAX_REPEAT) {
+				flush();
+			}
+		} else {
+			flush();
+			int token = flags;
+			if (x != lastX) token |= Replay.DX;
+			if (y != lastY) token |= Replay.DY;
+			replay.data.add((byte) token);
+			if (x != lastX) writeVarint(replay.data, x-lastX);
+			if (y != lastY) writeVarint(replay.data, y-lastY);
+			lastX = x;
+			lastY = y;
+			lastFlags = flags;
+		}
+		replay.ticks++;
+	}
+
+	/**
+	 * @return the replay being recorded, or the last one recorded. It is
+	 *         emptied when the next run begins, so write it to a file to keep it.
+	 */
+	public Replay replay() {
+		flush();
+		return replay;
+	}
+
+	private void flush() {
+		if (repeat > 0) {
+			replay.data.add((byte) (Replay.REPEAT | repeat));
+			repeat = 0;
+		}
+	}
+
+	private static void writeVarint(ByteArray data, int value) {
+		// Zigzag encoding keeps small negative values short
+		int v = (value << 1) ^ (value >> 31);
+		while ((v & ~0x7f) != 0) {
+			data.add((byte) ((v & 0x7f) | 0x80));
+			v >>>= 7;
+		}
+		data.add((byte) v);
+	}
+}
@@ -1,5 +1,8 @@
 package com.scarlettapps.skydiver3d.worldstate;
 
+/**
+ * The summary of a run, as kept by the {@link ScoringEngine}
+ */
 public final class Score {
 
 	public final int ringScore;
@@ -8,7 +11,6 @@ public final class Score {
 	public final int totalScore;
 	public final int rating;
 	
-	// TODO constructor should use difficulty to compute score
 	public Score(int ringScore, int parachutingScore, int landingScore, int rating) {
 		this.ringScore = ringScore;
 		this.parachutingScore = parachutingScore;
@@ -0,0 +1,145 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.Gdx;
+import com.scarlettapps.skydiver3d.Skydiver3D;
+import com.scarlettapps.skydiver3d.world.Collectible;
+import com.scarlettapps.skydiver3d.world.Level;
+import com.scarlettapps.skydiver3d.world.ScoringRules;
+import com.scarlettapps.skydiver3d.world.Skydiver;
+
+/**
+ * Keeps the score of a run. The score is built only from the events of the
+ * run, as they are delivered by the {@link EventBus}, using the
+ * {@link ScoringRules} of the level; each event updates it in constant time.
+ * The running total is written to the status so that the HUD can show it.
+ * <p>
+ * The parachuting and landing bonuses are awarded once, by the first event
+ * of their kind, so a run can never be scored twice.
+ */
+public class ScoringEngine implements CollectedListener, ParachuteRatedListener, LandedListener, Checkpointed {
+
+	public static final int MAX_RATING = 5;
+
+	private final Status status;
+
+	private float ringScore;
+	private int parachutingBonus;
+	private int landingBonus;
+	private boolean parachuteRated;
+	private boolean landed;
+
+	public ScoringEngine(Status status) {
+		this.status = status;
+	}
+
+	/**
+	 * Listen to the events of a run
+	 */
+	public void register(EventBus events) {
+		events.addCollectedListener(this);
+		events.addParachuteRatedListener(this);
+		events.addLandedListener(this);
+	}
+
+	private ScoringRules rules() {
+		return status.difficulty().scoring;
+	}
+
+	@Override
+	public void collected(Collectible collectible, float speed) {
+		float a = Skydiver.MIN_TERMINAL_SPEED;
+		float b = Skydiver.MAX_TERMINAL_SPEED;
+		ringScore += rules().ringPoints(collectible, (speed-a)/(b-a));
+		status.setScore(total());
+	}
+
+	@Override
+	public void parachuteRated(float accuracy) {
+		if (parachuteRated) {
+			return;
+		}
+		parachuteRated = true;
+		parachutingBonus = (int) rules().parachutingBonus(accuracy);
+		status.setScore(total());
+	}
+
+	@Override
+	public void landed(float distance) {
+		if (landed) {
+			return;
+		}
+		landed = true;
+		landingBonus = (int) rules().landingBonus(distance);
+		status.setScore(total());
+		if (Skydiver3D.DEV_MODE) {
+			Gdx.app.log(Skydiver3D.LOG, "Landed " + distance + "m from the target, scoring " + total());
+		}
+	}
+
+	public int ringScore() {
+		return (int) ringScore;
+	}
+
+	public int parachutingBonus() {
+		return parachutingBonus;
+	}
+
+	public int landingBonus() {
+		return landingBonus;
+	}
+
+	public int total() {
+		return (int) ringScore + parachutingBonus + landingBonus;
+	}
+
+	/**
+	 * @return the total as a share of a perfect run, from 0 to {@link #MAX_RATING} stars
+	 */
+	public int rating() {
+		Level level = status.difficulty();
+		float maxPoints = level.scoring.maxPoints(level.numSafe);
+		if (maxPoints <= 0) {
+			return 0;
+		}
+		return Math.round(Math.max(0, Math.min(MAX_RATING*total()/maxPoints, MAX_RATING)));
+	}
+
+	/**
+	 * @return the summary of the run so far
+	 */
+	public Score score() {
+		return new Score(ringScore(), parachutingBonus, landingBonus, rating());
+	}
+
+	/**
+	 * Forget the run, for a new one to begin
+	 */
+	public void reset() {
+		ringScore = 0;
+		parachutingBonus = 0;
+		landingBonus = 0;
+		parachuteRated = false;
+		landed = false;
+	}
+
+	@Override
+	public void save(Checkpoint checkpoint) {
+		checkpoint.putFloat(ringScore);
+		checkpoint.putInt(parachutingBonus);
+		checkpoint.putInt(landingBonus);
+		checkpoint.putBoolean(parachuteRated);
+		checkpoint.putBoolean(landed);
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		ringScore = checkpoint.getFloat();
+		parachutingBonus = checkpoint.getInt();
+		landingBonus = checkpoint.getInt();
+		parachuteRated = checkpoint.getBoolean();
+		landed = checkpoint.getBoolean();
+	}
+}
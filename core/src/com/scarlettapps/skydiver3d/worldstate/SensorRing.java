@@ -0,0 +1,144 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * A fixed ring of motion sensor samples, written by the thread that receives
+ * sensor events and read by the render thread. With exactly one writer and one
+ * reader no locks are needed: the writer publishes a sample by moving its index
+ * after the sample is stored, and the reader copies a sample out before taking
+ * it. When the reader falls behind and the ring fills up, the writer takes the
+ * oldest sample itself and overwrites it, so the newest samples are always
+ * kept. Both sides take a sample by moving the read index from where they saw
+ * it, so a copy the writer overwrote meanwhile is thrown away and read again.
+ */
+public class SensorRing {
+
+	public static final int ACCELEROMETER = 0;
+	public static final int GYROSCOPE = 1;
+
+	private final int mask;
+	private final int[] types;
+	private final long[] times;
+	private final float[] values;
+
+	// Index of the next sample to write, only moved by the writer
+	private volatile int head;
+	// Index of the next sample to read, moved by the reader, and by the writer when full
+	private final AtomicInteger tail = new AtomicInteger();
+	private volatile int dropped;
+
+	// The sample last taken by the reader
+	private int type;
+	private long time;
+	private float x;
+	private float y;
+	private float z;
+
+	/**
+	 * @param capacity the number of samples held, rounded up to a power of two
+	 */
+	public SensorRing(int capacity) {
+		int size = MathUtils.nextPowerOfTwo(Math.max(capacity, 2));
+		mask = size - 1;
+		types = new int[size];
+		times = new long[size];
+		values = new float[size*3];
+	}
+
+	/**
+	 * Store a sample. Only called by the writer.
+	 * @param type {@link #ACCELEROMETER} or {@link #GYROSCOPE}
+	 * @param time the time of the sample in nanoseconds
+	 * @return false if the ring was full and the oldest sample was dropped
+	 */
+	public boolean push(int type, long time, float x, float y, float z) {
+		int h = head;
+		int t = tail.get();
+		boolean full = h - t > mask;
+		// Unless the reader has just taken it, the oldest sample makes room
+		if (full && tail.compareAndSet(t, t + 1)) {
+			dropped++;
+		}
+		int i = h & mask;
+		types[i] = type;
+		times[i] = time;
+		values[i*3] = x;
+		values[i*3+1] = y;
+		values[i*3+2] = z;
+		head = h + 1;
+		return !full;
+	}
+
+	/**
+	 * Take the oldest sample, which can then be read until the next call. Only
+	 * called by the reader.
+	 * @return false if there was no sample to take
+	 */
+	public boolean poll() {
+		while (true) {
+			int t = tail.get();
+			if (t == head) {
+				return false;
+			}
+			int i = t & mask;
+			type = types[i];
+			time = times[i];
+			x = values[i*3];
+			y = values[i*3+1];
+			z = values[i*3+2];
+			if (tail.compareAndSet(t, t + 1)) {
+				return true;
+			}
+		}
+	}
+
+	public int type() {
+		return type;
+	}
+
+	public long time() {
+		return time;
+	}
+
+	public float x() {
+		return x;
+	}
+
+	public float y() {
+		return y;
+	}
+
+	public float z() {
+		return z;
+	}
+
+	/**
+	 * Throw away every sample waiting to be read. Only called by the reader.
+	 */
+	public void clear() {
+		int t;
+		do {
+			t = tail.get();
+		} while (!tail.compareAndSet(t, head));
+	}
+
+	/**
+	 * @return the number of samples waiting to be read
+	 */
+	public int size() {
+		return head - tail.get();
+	}
+
+	/**
+	 * @return the number of samples dropped because the ring was full
+	 */
+	public int dropped() {
+		return dropped;
+	}
+}
@@ -1,39 +1,70 @@
 package com.scarlettapps.skydiver3d.worldstate;
 
-import com.badlogic.gdx.Application.ApplicationType;
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector3;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.SoundType;
-import com.scarlettapps.skydiver3d.resources.SoundFactory;
+import com.scarlettapps.skydiver3d.resources.AudioQueue;
 import com.scarlettapps.skydiver3d.world.Skydiver;
 import com.scarlettapps.skydiver3d.world.Terrain;
 import com.scarlettapps.skydiver3d.world.World;
 
-public class SkydiverControls implements InputListener {
+public class SkydiverControls implements InputListener, Checkpointed {
 
 	private static final float PARACHUTING_TIME_LIMIT = 8f;
+	// Lateral limits while skydiving, also used to keep generated courses reachable
+	public static final float MAX_LATERAL_SPEED = 8f;
 	private float elapsedTime;
+	private boolean touched;
 	private final World world;
+	private final StatusManager statusManager;
 	private final Status status;
+	private final EventBus events;
+	// Drives the landing wind, seeded from the run so that replays are deterministic
+	private final RandomXS128 wind = new RandomXS128();
 	
-	public SkydiverControls(World world, Status status) {
+	public SkydiverControls(World world, StatusManager statusManager) {
 		this.world = world;
-		this.status = status;
+		this.statusManager = statusManager;
+		status = statusManager.getStatus();
+		events = statusManager.events();
 		reset();
 	}
 	
 	@Override
 	public void reset() {
 		elapsedTime = 0f;
+		touched = false;
+		wind.setSeed(status.seed());
+	}
+	
+	@Override
+	public void save(Checkpoint checkpoint) {
+		checkpoint.putFloat(elapsedTime);
+		checkpoint.putBoolean(touched);
+		checkpoint.putLong(wind.getState(0));
+		checkpoint.putLong(wind.getState(1));
+	}
+	
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		elapsedTime = checkpoint.getFloat();
+		touched = checkpoint.getBoolean();
+		long seed0 = checkpoint.getLong();
+		wind.setState(seed0, checkpoint.getLong());
 	}
 	
 	@Override
 	public boolean update(GameController gameController, float delta) {
+		boolean justTouched = gameController.justTouched() && !touched;
+		touched = gameController.justTouched();
+		
 		switch (status.worldState()) {
 			case INITIAL:
 				Skydiver skydiver = world.getSkydiver();
 				if (gameController.justTouched() && !skydiver.jumpedOffAirplane()) {
 					status.setJumpedOffAirplane(true);
+					events.postJumpedOffPlane();
 				}
 				break;
 			case SKYDIVING:
@@ -42,6 +73,8 @@ public class SkydiverControls implements InputListener {
 					skydiver.addToVelocity(0, 0, -25 * delta);
 				}
 				skydiver.addToVelocity(delta*gameController.getAx(), delta*gameController.getAy(), 0);
+				status.velocity().x = MathUtils.clamp(status.velocity().x, -MAX_LATERAL_SPEED, MAX_LATERAL_SPEED);
+				status.velocity().y = MathUtils.clamp(status.velocity().y, -MAX_LATERAL_SPEED, MAX_LATERAL_SPEED);
 				
 				if (skydiver.skydiverAngle().x >= -75 && skydiver.skydiverAngle().x <= 75) {
 				    skydiver.skydiverAngle().x += 10 * delta*gameController.getAx();
@@ -50,7 +83,7 @@ public class SkydiverControls implements InputListener {
 			case PARACHUTING:
 				if (!status.parachuteDeployed()) {
 					elapsedTime += delta;
-					status.setJustOpenedParachute(Gdx.input.justTouched() || elapsedTime > PARACHUTING_TIME_LIMIT);
+					status.setJustOpenedParachute(justTouched || elapsedTime > PARACHUTING_TIME_LIMIT);
 				}
 				
 				skydiver = world.getSkydiver();
@@ -62,6 +95,7 @@ public class SkydiverControls implements InputListener {
 				if (status.justOpenedParachute()) {
 					if (!status.parachuteDeployed()) { //why is there if clause
 						status.setParachuteDeployed(true);
+						events.postParachuteOpened();
 					}
 					
 					status.velocity().z -= 15*Math.signum(status.velocity().z+30)*delta;
@@ -74,26 +108,20 @@ public class SkydiverControls implements InputListener {
 				float error = 10-9*accuracy;
 				skydiver.addToVelocity(15*gameController.getAx()*error*delta,15*gameController.getAy()*error*delta,0);
 				status.velocity().z = -8f*(1.7f-accuracy)*(7*status.position().z/1000f+1);
-				status.velocity().x += 3*error*(Math.signum(status.velocity().x) == 0 ? Math.random() : Math.signum(status.velocity().x))*Math.abs(Math.random()*delta);
-				if (Gdx.app.getType() != ApplicationType.Android) {
-					status.velocity().y += 3*error*(Math.signum(status.velocity().y) == 0 ? Math.random() : Math.signum(status.velocity().y))*Math.abs(Math.random()*delta);
-				}
+				status.velocity().x += 3*error*(Math.signum(status.velocity().x) == 0 ? wind.nextDouble() : Math.signum(status.velocity().x))*Math.abs(wind.nextDouble()*delta);
+				status.velocity().y += 3*error*(Math.signum(status.velocity().y) == 0 ? wind.nextDouble() : Math.signum(status.velocity().y))*Math.abs(wind.nextDouble()*delta);
 				status.setLanding(true);
 				Vector3 pos = status.position();
 				float dist2 = pos.x*pos.x+pos.y*pos.y;
 				if (dist2 < 2027) {
 					if (pos.z < 9) {
 						status.velocity().z = 0;
-						status.setState(WorldState.FINAL);
-						status.calculateMaxPoints();
-						if (status.rating() >= 5) {
-						    SoundFactory.getInstance().play(SoundType.APPLAUSE);
-						}
+						statusManager.setState(WorldState.FINAL);
 					}
 				} else if (dist2 > 2027 && dist2 < 3550) {
 					if (pos.z < 20) {
 						status.velocity().z = 0;
-						status.setState(WorldState.FINAL);
+						statusManager.setState(WorldState.FINAL);
 					}
 				} else {
 					if (pos.z < 9) {
@@ -104,8 +132,8 @@ public class SkydiverControls implements InputListener {
 								world.getSkydiver().setRender(false);
 							}
 							status.velocity().z = 0;
-							status.setState(WorldState.FINAL);
-							SoundFactory.getInstance().play(SoundType.LAUGH);
+							statusManager.setState(WorldState.FINAL);
+							AudioQueue.getInstance().play(SoundType.LAUGH);
 						}
 					}
 				}
@@ -3,15 +3,14 @@ package com.scarlettapps.skydiver3d.worldstate;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector3;
 import com.scarlettapps.skydiver3d.Skydiver3D;
-import com.scarlettapps.skydiver3d.world.Skydiver;
+import com.scarlettapps.skydiver3d.resources.LevelFactory;
 import com.scarlettapps.skydiver3d.world.Level;
 
-public class Status {
+public class Status implements Checkpointed {
+
+	private static final WorldState[] STATES = WorldState.values();
 
 	public boolean switchState;
-	
-	public static final int MAX_LANDING_BONUS = 15000;
-	public static final int MAX_PARACHUTING_BONUS = 5000;
 
 	private final Vector3 skydiverPosition = new Vector3();
 	private final Vector3 skydiverVelocity = new Vector3();
@@ -19,21 +18,18 @@ public class Status {
 	private WorldState worldState;
 	
 	private int score;
-	private int ringScore;
-	private boolean justCollected;
+	private int collected;
 	private float timeSinceCollected;
 	private boolean isPaused;
 	private boolean justOpenedParachute;
 	private float skydivingTime;
 	private boolean parachuteDeployed;
 	private boolean jumpedOffAirplane;
-	private int landingBonus;
-	private int timeBonus;
-	private int maxPoints;
 	private float accuracy;
-	private boolean collected;
 	private boolean landing;
 	private boolean parachuting;
+	private boolean stickyRequested;
+	private long seed;
 	
 	public void setState(WorldState state) {
 		worldState = state;
@@ -45,7 +41,7 @@ public class Status {
 		}
 		
 		score = 0;
-		justCollected = false;
+		collected = 0;
 		timeSinceCollected = 0f;
 		worldState = WorldState.INITIAL;
 		isPaused = false;
@@ -53,22 +49,78 @@ public class Status {
 		skydivingTime = 0;
 		parachuteDeployed = false;
 		jumpedOffAirplane = false;
-		displayScoreTime = 0;
 		accuracy = 0;
-		parachutingBonus = 0;
-		collected = false;
 		landing = false;
 		parachuting = false;
+		stickyTime = 3f;
+		stickyRequested = false;
+	}
+
+	/**
+	 * Write the state of the run. The pause flag and a pending speed boost
+	 * are left out: they are set by the player between ticks, and the boost
+	 * is recorded with the input instead.
+	 */
+	@Override
+	public void save(Checkpoint checkpoint) {
+		checkpoint.putBoolean(switchState);
+		checkpoint.putVector(skydiverPosition);
+		checkpoint.putVector(skydiverVelocity);
+		checkpoint.putInt(worldState.ordinal());
+		checkpoint.putInt(score);
+		checkpoint.putInt(collected);
+		checkpoint.putFloat(timeSinceCollected);
+		checkpoint.putBoolean(justOpenedParachute);
+		checkpoint.putFloat(skydivingTime);
+		checkpoint.putBoolean(parachuteDeployed);
+		checkpoint.putBoolean(jumpedOffAirplane);
+		checkpoint.putFloat(accuracy);
+		checkpoint.putBoolean(landing);
+		checkpoint.putBoolean(parachuting);
+		checkpoint.putFloat(stickyTime);
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		switchState = checkpoint.getBoolean();
+		checkpoint.getVector(skydiverPosition);
+		checkpoint.getVector(skydiverVelocity);
+		worldState = STATES[checkpoint.getInt()];
+		score = checkpoint.getInt();
+		collected = checkpoint.getInt();
+		timeSinceCollected = checkpoint.getFloat();
+		justOpenedParachute = checkpoint.getBoolean();
+		skydivingTime = checkpoint.getFloat();
+		parachuteDeployed = checkpoint.getBoolean();
+		jumpedOffAirplane = checkpoint.getBoolean();
+		accuracy = checkpoint.getFloat();
+		landing = checkpoint.getBoolean();
+		parachuting = checkpoint.getBoolean();
+		stickyTime = checkpoint.getFloat();
 	}
 
 	public int getScore() {
 		return score;
 	}
 
-	public boolean justCollected() {
-		return justCollected;
+	/**
+	 * @return the number of collectibles flown through during the run
+	 */
+	public int collected() {
+		return collected;
+	}
+
+	/**
+	 * Count a collectible flown through, which the HUD then shows for a while
+	 */
+	public void collect() {
+		collected++;
+		timeSinceCollected = 0;
 	}
 
+	/**
+	 * @return the time in seconds since the last collectible was flown through
+	 */
 	public float timeSinceCollected() {
 		return timeSinceCollected;
 	}
@@ -125,14 +177,6 @@ public class Status {
 		return worldState;
 	}
 
-	public void setCollected(boolean collected) {
-		this.collected = collected;
-	}
-
-	public boolean collected() {
-		return collected;
-	}
-
 	public Vector3 position() {
 		return skydiverPosition;
 	}
@@ -149,18 +193,12 @@ public class Status {
 		this.justOpenedParachute = justOpenedParachute;
 	}
 
-	private boolean calculatedParachuteBonus = false;
-	
 	public void setAccuracy(float accuracy) {
 		if (Skydiver3D.DEV_MODE) {
 			Gdx.app.log(Skydiver3D.LOG, "Status setting accuracy to " + accuracy);
 		}
 		
 		this.accuracy = accuracy;
-		if (!calculatedParachuteBonus) {
-			calculateParachutingBonus();
-			ringScore = score;
-		}
 	}
 
 	public void setPaused(boolean isPaused) {
@@ -175,89 +213,27 @@ public class Status {
 		return score;
 	}
 
-	public void addToScore(float points) {
-		score += points;
-	}
-
-	private Vector3 intersectPoint = new Vector3();
-
-	public Vector3 intersectPoint() {
-		return intersectPoint;
-	}
-
-	private float displayScoreTime;
-
-	public float displayScoreTime() {
-		return displayScoreTime;
-	}
-
-	public void setDisplayScoreTime(float displayScoreTime) {
-		this.displayScoreTime = displayScoreTime;
-	}
-
-	public void addToDisplayScoreTime(float delta) {
-		this.displayScoreTime += delta;
-	}
-
-	public int landingBonus() {
-		return landingBonus;
+	/**
+	 * Set the running total, which is kept by the {@link ScoringEngine}
+	 */
+	public void setScore(int score) {
+		this.score = score;
 	}
 
-	public int timeBonus() {
-		return timeBonus;
-	}
-
-	public void calculateLandingBonus() {
-		final float x = skydiverPosition.x;
-		final float y = skydiverPosition.y;
-		final float z = skydiverPosition.z;
-		landingBonus = (int) Math.max(MAX_LANDING_BONUS - 10
-				* (x * x + y * y + z * z), 0);
-		score += landingBonus;
-	}
-
-	public void calculateTimeBonus() {
-		timeBonus = (int) (10000 * ((4400 - 1000) / skydivingTime
-				/ Skydiver.MIN_TERMINAL_SPEED - 1));
-	}
-
-	public void calculateMaxPoints() {
-		final int l = MAX_LANDING_BONUS;
-		final int p = MAX_PARACHUTING_BONUS;
-		int maxCollectibles = level.numSafe*750;
-		maxPoints = l + p + maxCollectibles;
-	}
-
-	public int maxPoints() {
-		return maxPoints;
-	}
-
-	public int rating() {
-		return (int)Math.round(Math.max(0, Math.min(5f * score / ((float) maxPoints), 5)));
-	}
-	
-	public void calculateParachutingBonus() {
-		parachutingBonus = (int)(accuracy*MAX_PARACHUTING_BONUS);
-		ringScore = score;
-		score += parachutingBonus;
-		calculatedParachuteBonus = true;
+	/**
+	 * Request a speed boost. The request is applied by the StickyListener on the
+	 * next simulation tick so that it is recorded along with the rest of the input.
+	 */
+	public void setSticky() {
+		stickyRequested = true;
 	}
 	
-	private int parachutingBonus;
-	
-	public int parachutingBonus() {
-		return parachutingBonus;
+	public boolean stickyRequested() {
+		return stickyRequested;
 	}
 	
-	public Score scoreSummary() {
-		calculateMaxPoints();
-		calculateLandingBonus();
-		calculateParachutingBonus();
-		return new Score(ringScore, parachutingBonus(), landingBonus(), rating());
-	}
-
-	public void setSticky() {
-		stickyTime -= 3f;
+	public void setStickyRequested(boolean stickyRequested) {
+		this.stickyRequested = stickyRequested;
 	}
 	
 	private float stickyTime = 3f;
@@ -299,18 +275,30 @@ public class Status {
 	}
 
 	public void nextLevel() {
-		if (level.nextLevel != null) {
-		    level = level.nextLevel;
-		}
+		level = LevelFactory.getInstance().next(difficulty());
 	}
 	
-	Level level = Level.LEVEL_ONE;
+	private Level level;
 
 	public Level difficulty() {
+		if (level == null) {
+			level = LevelFactory.getInstance().get(0);
+		}
 		return level;
 	}
 	
 	public void setDifficulty(Level l) {
 		level = l;
 	}
+	
+	/**
+	 * @return the seed of the current run, which every random decision of the simulation derives from
+	 */
+	public long seed() {
+		return seed;
+	}
+	
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
 }
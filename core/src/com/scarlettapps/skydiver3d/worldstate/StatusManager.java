@@ -7,8 +7,6 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.scarlettapps.skydiver3d.Skydiver3D;
-import com.scarlettapps.skydiver3d.world.Collectible;
-import com.scarlettapps.skydiver3d.world.Collectibles;
 import com.scarlettapps.skydiver3d.world.GameObject;
 import com.scarlettapps.skydiver3d.world.Skydiver;
 import com.scarlettapps.skydiver3d.world.World;
@@ -16,14 +14,24 @@ import com.scarlettapps.skydiver3d.world.World;
 /**
  * The StatusManager stores the current game state and world state.
  */
-public class StatusManager {
+public class StatusManager implements Checkpointed {
 
 	private final Array<StatusListener> listeners;
 	private final Status status;
+	private final EventBus events;
+	private final StatusSnapshot snapshot;
+	// Ticks published since the run began
+	private long ticks;
+	private final ScoringEngine scoring;
 	
 	public StatusManager(InputManager inputManager, Status status) {
 		listeners = new Array<StatusListener>();
 		this.status = status;
+		events = new EventBus();
+		snapshot = new StatusSnapshot();
+		scoring = new ScoringEngine(status);
+		// First, so that the score is up to date for every other listener
+		scoring.register(events);
 		
 		InputListener stickyListener = new StickyListener(status);
 		inputManager.addListener(stickyListener);
@@ -42,15 +50,7 @@ public class StatusManager {
 			listener.update(delta, status);
 		}
 		
-		if (status.justCollected()) {
-			status.addTimeSinceCollected(delta);
-		}
-		
-		if (status.collected() && status.timeSinceCollected() > status.displayScoreTime()) {
-			status.setCollected(false);
-		} else {
-			status.addTimeSinceCollected(delta);
-		}
+		status.addTimeSinceCollected(delta);
 
 		if (status.jumpedOffAirplane()) {
 			status.addSkydivingTime(delta);
@@ -69,10 +69,29 @@ public class StatusManager {
 					+ " to " + worldState.next);
 		}
 
-		status.setState(worldState.next);
+		setState(worldState.next);
 
 		return true;
 	}
+	
+	/**
+	 * Change the world state and post the change, and the landing if the run is over
+	 * @param state the new state
+	 */
+	public void setState(WorldState state) {
+		WorldState previous = status.getState();
+		if (state == previous) {
+			return;
+		}
+		previous.onWorldStateEnd(this);
+		status.setState(state);
+		state.onWorldStateBegin(this);
+		events.postWorldStateChanged(previous, state);
+		if (state.isCompleted()) {
+			Vector3 position = status.position();
+			events.postLanded(position.len());
+		}
+	}
 
 	public void reset() {
 		if (Skydiver3D.DEV_MODE) {
@@ -81,6 +100,45 @@ public class StatusManager {
 		
 		status.reset();
 		status.switchState = false;
+		events.clear();
+		scoring.reset();
+		restartTicks();
+	}
+	
+	/**
+	 * Write the status and the score of the run
+	 */
+	@Override
+	public void save(Checkpoint checkpoint) {
+		status.save(checkpoint);
+		scoring.save(checkpoint);
+	}
+
+	/**
+	 * Read back the status and the score, and hand them to the renderer at
+	 * once. Events are only pending during a tick, so there are none to restore.
+	 */
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		status.restore(checkpoint);
+		scoring.restore(checkpoint);
+		restartTicks();
+	}
+	
+	/**
+	 * Start counting ticks from zero and publish the status, so the renderer
+	 * does not show the end of the last run
+	 */
+	private void restartTicks() {
+		ticks = 0;
+		publish();
+	}
+	
+	/**
+	 * Copy the status for the renderer, once a tick is over
+	 */
+	public void publish() {
+		snapshot.set(status, ticks++);
 	}
 
 	public boolean switchState() {
@@ -90,4 +148,25 @@ public class StatusManager {
 	public Status getStatus() {
 		return status;
 	}
+	
+	/**
+	 * @return the events of the run, delivered at the end of every tick
+	 */
+	public EventBus events() {
+		return events;
+	}
+	
+	/**
+	 * @return the score of the run, kept from its events
+	 */
+	public ScoringEngine scoring() {
+		return scoring;
+	}
+	
+	/**
+	 * @return the copy of the status the renderer draws from, as of the last finished tick
+	 */
+	public StatusSnapshot snapshot() {
+		return snapshot;
+	}
 }
@@ -0,0 +1,133 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * The part of the {@link Status} that is drawn, as it was at the end of the
+ * last tick. The {@link StatusManager} copies the status into it once a tick
+ * is over, so the HUD never shows a tick half done, such as the score of a
+ * collectible before the state change it caused.
+ */
+public class StatusSnapshot {
+	
+	private long tick;
+	private WorldState state = WorldState.INITIAL;
+	private float positionX;
+	private float positionY;
+	private float positionZ;
+	private float velocityX;
+	private float velocityY;
+	private float velocityZ;
+	private int score;
+	private float skydivingTime;
+	private float accuracy;
+	private boolean jumpedOffAirplane;
+	private boolean parachuteDeployed;
+	private boolean paused;
+	private int collected;
+	private float timeSinceCollected;
+	
+	/**
+	 * Copy the drawn state of a status
+	 * @param tick the number of the tick the status is the end of
+	 */
+	void set(Status status, long tick) {
+		this.tick = tick;
+		state = status.getState();
+		Vector3 position = status.position();
+		positionX = position.x;
+		positionY = position.y;
+		positionZ = position.z;
+		Vector3 velocity = status.velocity();
+		velocityX = velocity.x;
+		velocityY = velocity.y;
+		velocityZ = velocity.z;
+		score = status.getScore();
+		skydivingTime = status.skydivingTime();
+		accuracy = status.getAccuracy();
+		jumpedOffAirplane = status.jumpedOffAirplane();
+		parachuteDeployed = status.parachuteDeployed();
+		paused = status.isPaused();
+		collected = status.collected();
+		timeSinceCollected = status.timeSinceCollected();
+	}
+	
+	/**
+	 * @return the number of the tick this is the end of, counted from the start of the run
+	 */
+	public long tick() {
+		return tick;
+	}
+	
+	public WorldState getState() {
+		return state;
+	}
+	
+	/**
+	 * @param out the vector to store the position of the skydiver in
+	 * @return out
+	 */
+	public Vector3 position(Vector3 out) {
+		return out.set(positionX, positionY, positionZ);
+	}
+	
+	/**
+	 * @param out the vector to store the velocity of the skydiver in
+	 * @return out
+	 */
+	public Vector3 velocity(Vector3 out) {
+		return out.set(velocityX, velocityY, velocityZ);
+	}
+	
+	public float altitude() {
+		return positionZ;
+	}
+	
+	/**
+	 * @return the speed the skydiver falls at, positive downwards
+	 */
+	public float fallSpeed() {
+		return -velocityZ;
+	}
+	
+	public int getScore() {
+		return score;
+	}
+	
+	public float skydivingTime() {
+		return skydivingTime;
+	}
+	
+	public float getAccuracy() {
+		return accuracy;
+	}
+	
+	public boolean jumpedOffAirplane() {
+		return jumpedOffAirplane;
+	}
+	
+	public boolean parachuteDeployed() {
+		return parachuteDeployed;
+	}
+	
+	public boolean isPaused() {
+		return paused;
+	}
+	
+	/**
+	 * @return the number of collectibles flown through during the run
+	 */
+	public int collected() {
+		return collected;
+	}
+	
+	/**
+	 * @return the time in seconds since the last collectible was flown through
+	 */
+	public float timeSinceCollected() {
+		return timeSinceCollected;
+	}
+}
@@ -10,6 +10,10 @@ public class StickyListener implements InputListener {
 	
 	@Override
 	public boolean update(GameController gameController, float delta) {
+		if (status.stickyRequested()) {
+			status.setStickyRequested(false);
+			status.setStickyTime(status.getStickyTime()-3f);
+		}
 		float stickyTime = status.getStickyTime();
 		if (stickyTime >= 3f) {
 			gameController.sticky = false;
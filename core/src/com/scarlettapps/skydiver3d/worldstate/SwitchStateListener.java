@@ -4,7 +4,7 @@ import com.badlogic.gdx.utils.Array;
 import com.scarlettapps.skydiver3d.world.GameObject;
 import com.scarlettapps.skydiver3d.world.World;
 
-public class SwitchStateListener implements StatusListener {
+public class SwitchStateListener implements WorldStateListener {
 
 	private World world;
 	
@@ -13,23 +13,11 @@ public class SwitchStateListener implements StatusListener {
 	}
 	
 	@Override
-	public boolean update(float delta, Status status) {
-		if (status.switchState) {
-			Array<GameObject> objects = world.getObjects();
-			WorldState worldState = status.worldState();
-			
-			for (GameObject object : objects) {
-				object.onWorldStateChanged(worldState);
-			}
+	public void worldStateChanged(WorldState from, WorldState to) {
+		Array<GameObject> objects = world.getObjects();
+		for (GameObject object : objects) {
+			object.onWorldStateChanged(to);
 		}
-		
-		return false;
-	}
-
-	@Override
-	public void reset() {
-		// TODO Auto-generated method stub
-		
 	}
 	
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Peripheral;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Steers by tilting the device, held in landscape: turning it like a wheel
+ * moves sideways, and tipping its top edge away moves forwards
+ */
+public class TiltDevice implements InputDevice {
+	
+	// Degrees of tilt for a full deflection
+	private static final float FULL_TILT = GameController.FULL_DEFLECTION/0.3f;
+	
+	private final TiltSensor tilt;
+	
+	public TiltDevice(TiltSensor tilt) {
+		this.tilt = tilt;
+	}
+	
+	@Override
+	public void poll(ActionMap actions, float delta) {
+		if (!tilt.isFed() && Gdx.input.isPeripheralAvailable(Peripheral.Accelerometer)) {
+			tilt.pushAccelerometer(TimeUtils.nanoTime(), Gdx.input.getAccelerometerX(),
+					Gdx.input.getAccelerometerY(), Gdx.input.getAccelerometerZ());
+		}
+		actions.event(tilt.update());
+		actions.deflect(Action.STEER_X, -tilt.getPitch()/FULL_TILT);
+		actions.deflect(Action.STEER_Y, tilt.getRoll()/FULL_TILT);
+	}
+	
+	@Override
+	public void reset() {
+		// Whatever way the device is held when a run starts is level
+		tilt.calibrate();
+	}
+}
@@ -0,0 +1,189 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Turns accelerometer and gyroscope samples into the tilt of the device.
+ * <p>
+ * The platform pushes samples at the sensor rate from its own thread, and
+ * {@link #update()} consumes them on the render thread. The gyroscope is
+ * integrated for fast response, and pulled towards the angles of gravity
+ * measured by the accelerometer so that it does not drift. Without a
+ * gyroscope the accelerometer angles are used directly. The result is then
+ * smoothed by a {@link OneEuroFilter}, which removes hand jitter without
+ * adding lag to deliberate movements.
+ * <p>
+ * Angles are in degrees and follow the device axes: pitch turns about the
+ * short axis of the screen and roll about the long one. They are measured
+ * from the neutral orientation captured by {@link #calibrate()}.
+ */
+public final class TiltSensor {
+
+	// Share of the gyroscope angle kept at every accelerometer sample
+	private static final float GYROSCOPE_WEIGHT = 0.98f;
+	private static final float MIN_CUTOFF = 1f;
+	private static final float BETA = 0.02f;
+	private static final float DERIVATIVE_CUTOFF = 1f;
+	// Longest time between two samples that is integrated or filtered over, in
+	// seconds. Anything longer means the sensor events stopped for a while.
+	private static final float MAX_GAP = 0.1f;
+
+	// Created up front, since the platform may push samples from another thread first
+	private static final TiltSensor instance = new TiltSensor();
+
+	private final SensorRing samples = new SensorRing(64);
+	private final OneEuroFilter pitchFilter = new OneEuroFilter(MIN_CUTOFF, BETA, DERIVATIVE_CUTOFF);
+	private final OneEuroFilter rollFilter = new OneEuroFilter(MIN_CUTOFF, BETA, DERIVATIVE_CUTOFF);
+
+	private volatile boolean fed;
+	// When the newest sample arrived, in the time base of TimeUtils.nanoTime()
+	private volatile long arrival;
+
+	private boolean oriented;
+	private boolean hasGyroscope;
+	private float pitch;
+	private float roll;
+	private long gyroscopeTime;
+	private long filterTime;
+
+	private boolean calibrating = true;
+	private float neutralPitch;
+	private float neutralRoll;
+
+	TiltSensor() {
+	}
+
+	/**
+	 * Set whether the platform pushes samples. Otherwise the game controller
+	 * samples the accelerometer itself once per tick.
+	 */
+	public void setFed(boolean fed) {
+		this.fed = fed;
+	}
+
+	public boolean isFed() {
+		return fed;
+	}
+
+	/**
+	 * Push an accelerometer sample, from the thread that receives sensor events
+	 * @param time the time of the sample in nanoseconds
+	 */
+	public void pushAccelerometer(long time, float x, float y, float z) {
+		samples.push(SensorRing.ACCELEROMETER, time, x, y, z);
+		arrival = TimeUtils.nanoTime();
+	}
+
+	/**
+	 * Push a gyroscope sample, from the thread that receives sensor events
+	 * @param time the time of the sample in nanoseconds
+	 * @param x the rate of rotation about the x axis in radians per second
+	 */
+	public void pushGyroscope(long time, float x, float y, float z) {
+		samples.push(SensorRing.GYROSCOPE, time, x, y, z);
+		arrival = TimeUtils.nanoTime();
+	}
+
+	/**
+	 * Fuse and filter the samples pushed since the last update
+	 * @return when the newest of them arrived, or 0 if there were none
+	 */
+	public long update() {
+		long newest = samples.size() > 0 ? arrival : 0;
+		while (samples.poll()) {
+			long time = samples.time();
+			if (samples.type() == SensorRing.GYROSCOPE) {
+				integrate(time, samples.x(), samples.y());
+			} else {
+				correct(samples.x(), samples.y(), samples.z());
+			}
+			if (oriented) {
+				filter(time);
+			}
+		}
+		return newest;
+	}
+
+	private void integrate(long time, float gx, float gy) {
+		hasGyroscope = true;
+		if (gyroscopeTime != 0 && oriented) {
+			float dt = gap(gyroscopeTime, time);
+			// Raising the top edge turns about +x and lowers the pitch;
+			// lowering the right edge turns about +y and raises the roll
+			pitch -= gx*dt*MathUtils.radiansToDegrees;
+			roll += gy*dt*MathUtils.radiansToDegrees;
+		}
+		gyroscopeTime = time;
+	}
+
+	private void correct(float ax, float ay, float az) {
+		// The accelerometer measures the reaction to gravity, which points up
+		float gravityPitch = (float) Math.atan2(-ay, Math.sqrt(ax*ax + az*az))*MathUtils.radiansToDegrees;
+		float gravityRoll = (float) Math.atan2(-ax, az)*MathUtils.radiansToDegrees;
+		if (!oriented || !hasGyroscope) {
+			pitch = gravityPitch;
+			roll = gravityRoll;
+			oriented = true;
+		} else {
+			pitch = GYROSCOPE_WEIGHT*pitch + (1 - GYROSCOPE_WEIGHT)*gravityPitch;
+			roll = GYROSCOPE_WEIGHT*roll + (1 - GYROSCOPE_WEIGHT)*gravityRoll;
+		}
+	}
+
+	private void filter(long time) {
+		float dt = filterTime == 0 ? 0 : gap(filterTime, time);
+		filterTime = time;
+		pitchFilter.filter(pitch, dt);
+		rollFilter.filter(roll, dt);
+		if (calibrating) {
+			neutralPitch = pitchFilter.value();
+			neutralRoll = rollFilter.value();
+			calibrating = false;
+		}
+	}
+
+	/**
+	 * @return the time in seconds between two samples, at most {@link #MAX_GAP}
+	 */
+	private static float gap(long from, long to) {
+		return MathUtils.clamp((to - from)/1e9f, 0, MAX_GAP);
+	}
+
+	/**
+	 * Take the orientation of the next sample as neutral, so that the player
+	 * can hold the device however is comfortable. The samples that arrived
+	 * before, such as while the menus were shown, are thrown away, and the
+	 * orientation is measured again from the accelerometer.
+	 */
+	public void calibrate() {
+		samples.clear();
+		oriented = false;
+		gyroscopeTime = 0;
+		filterTime = 0;
+		pitchFilter.reset();
+		rollFilter.reset();
+		calibrating = true;
+	}
+
+	/**
+	 * @return the pitch from the neutral orientation in degrees
+	 */
+	public float getPitch() {
+		return calibrating ? 0 : pitchFilter.value() - neutralPitch;
+	}
+
+	/**
+	 * @return the roll from the neutral orientation in degrees
+	 */
+	public float getRoll() {
+		return calibrating ? 0 : rollFilter.value() - neutralRoll;
+	}
+
+	public static TiltSensor getInstance() {
+		return instance;
+	}
+}
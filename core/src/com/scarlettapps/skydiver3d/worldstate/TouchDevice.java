@@ -0,0 +1,69 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.InputAdapter;
+
+/**
+ * Taps the screen or clicks the mouse. A tap is held for at least one tick,
+ * so a tap that starts and ends between two ticks is not lost.
+ */
+public class TouchDevice extends InputAdapter implements InputDevice {
+	
+	private final boolean faster;
+	private int touching;
+	private boolean tapped;
+	private long eventTime;
+	
+	/**
+	 * @param faster whether touching the screen also dives faster, for
+	 * devices without keys
+	 */
+	public TouchDevice(boolean faster) {
+		this.faster = faster;
+	}
+	
+	@Override
+	public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+		touching++;
+		tapped = true;
+		mark();
+		return false;
+	}
+	
+	@Override
+	public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+		if (touching > 0) {
+			touching--;
+		}
+		mark();
+		return false;
+	}
+	
+	private void mark() {
+		if (eventTime == 0) {
+			eventTime = GameController.currentEventTime();
+		}
+	}
+	
+	@Override
+	public void poll(ActionMap actions, float delta) {
+		if (touching > 0 || tapped) {
+			actions.press(Action.TAP);
+			if (faster) {
+				actions.press(Action.FASTER);
+			}
+		}
+		tapped = false;
+		actions.event(eventTime);
+		eventTime = 0;
+	}
+	
+	@Override
+	public void reset() {
+		touching = 0;
+		tapped = false;
+		eventTime = 0;
+	}
+}
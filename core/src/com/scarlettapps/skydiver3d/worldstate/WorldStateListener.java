@@ -1,5 +1,9 @@
 package com.scarlettapps.skydiver3d.worldstate;
 
-public class WorldStateListener {
+/**
+ * Told by the {@link EventBus} when the world state changes
+ */
+public interface WorldStateListener {
 
+	public void worldStateChanged(WorldState from, WorldState to);
 }
@@ -0,0 +1,231 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldview;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.scarlettapps.skydiver3d.Skydiver3D;
+import com.scarlettapps.skydiver3d.resources.DisposableRegistry;
+import com.scarlettapps.skydiver3d.world.Collectible;
+import com.scarlettapps.skydiver3d.world.Collectibles;
+
+/**
+ * Draws every collectible of the level with one static mesh and a single draw call.
+ * Each collectible is a quad whose four vertices carry its center, the corner
+ * of the quad, its type and its rotation phase. Spinning and bobbing are computed
+ * in the vertex shader from a time uniform, so the vertex data is only uploaded
+ * when the collectibles are regenerated. Every type is a region of the UI atlas,
+ * looked up from a uniform array by type, so all of them draw from one texture.
+ *
+ * Quads are stored in reverse altitude order so that the visible range of
+ * collectibles is a contiguous range of indices drawn back to front.
+ */
+class CollectibleRenderer {
+
+	private static final int VERTEX_SIZE = 7;
+	private static final float BOB_AMPLITUDE = 0.15f;
+	private static final float BOB_FREQUENCY = 2f;
+	private static final Collectible[] TYPES = Collectible.values();
+
+	private static final String VERTEX_SHADER = "#ifdef GL_ES\n"
+			+ "precision mediump float;\n"
+			+ "#endif\n"
+			+ "uniform mat4 u_projTrans;\n"
+			+ "uniform float u_time;\n"
+			+ "uniform vec2 u_size;\n"
+			+ "uniform vec4 u_regions[" + TYPES.length + "];\n"
+			+ "attribute vec3 a_position;\n"
+			+ "attribute vec2 a_corner;\n"
+			+ "attribute vec2 a_params;\n"
+			+ "varying vec2 v_texCoord0;\n"
+			+ "void main()\n"
+			+ "{\n"
+			+ "   float angle = a_params.y + " + Collectibles.ROTATION_FREQUENCY + " * u_time;\n"
+			+ "   float c = cos(angle);\n"
+			+ "   float s = sin(angle);\n"
+			+ "   vec2 corner = a_corner * u_size * 0.5;\n"
+			+ "   vec3 pos = a_position;\n"
+			+ "   pos.x += c * corner.x - s * corner.y;\n"
+			+ "   pos.y += s * corner.x + c * corner.y + " + BOB_AMPLITUDE + " * sin(" + BOB_FREQUENCY + " * u_time + a_params.y);\n"
+			+ "   vec4 region = u_regions[int(a_params.x + 0.5)];\n"
+			+ "   v_texCoord0 = mix(region.xy, region.zw, vec2(0.5 + 0.5 * a_corner.x, 0.5 - 0.5 * a_corner.y));\n"
+			+ "   gl_Position = u_projTrans * vec4(pos, 1.0);\n"
+			+ "}\n";
+
+	private static final String FRAGMENT_SHADER = "#ifdef GL_ES\n"
+			+ "precision mediump float;\n"
+			+ "#endif\n"
+			+ "varying vec2 v_texCoord0;\n"
+			+ "uniform sampler2D u_texture;\n"
+			+ "void main()\n"
+			+ "{\n"
+			+ "   gl_FragColor = texture2D(u_texture, v_texCoord0);\n"
+			+ "}\n";
+
+	private static final float[] CORNERS = {-1, 1, -1, -1, 1, -1, 1, 1};
+
+	private final Collectibles collectibles;
+	private final DisposableRegistry resources = new DisposableRegistry("CollectibleRenderer");
+
+	private Mesh mesh;
+	private ShaderProgram shader;
+	private float[] vertices;
+	private short[] indices;
+	private int capacity;
+	private int generation;
+	private int size;
+
+	private int u_projTrans;
+	private int u_time;
+	private int u_size;
+	private int u_regions;
+	private int u_texture;
+	private final float[] regions = new float[TYPES.length*4];
+	private Texture texture;
+
+	public CollectibleRenderer(Collectibles collectibles) {
+		this.collectibles = collectibles;
+	}
+
+	public void initialize() {
+		resources.dispose();
+		texture = null;
+		mesh = null;
+		allocate(collectibles.capacity());
+
+		shader = resources.add(new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER));
+
+		if (Skydiver3D.DEV_MODE) {
+			if (!shader.isCompiled()) {
+				Gdx.app.log(Skydiver3D.LOG, shader.getLog());
+			}
+		}
+
+		u_projTrans = shader.getUniformLocation("u_projTrans");
+		u_time = shader.getUniformLocation("u_time");
+		u_size = shader.getUniformLocation("u_size");
+		u_regions = shader.getUniformLocation("u_regions[0]");
+		u_texture = shader.getUniformLocation("u_texture");
+
+		// Every type is a region of the same atlas, so one texture serves them all
+		for (int i = 0; i < TYPES.length; i++) {
+			TextureRegion region = TYPES[i].getTextureRegion();
+			regions[4*i] = region.getU();
+			regions[4*i+1] = region.getV();
+			regions[4*i+2] = region.getU2();
+			regions[4*i+3] = region.getV2();
+			if (texture == null) {
+				texture = region.getTexture();
+			} else if (texture != region.getTexture()) {
+				throw new GdxRuntimeException("Collectibles must share one texture");
+			}
+		}
+
+		generation = collectibles.generation() - 1;
+	}
+
+	/**
+	 * Size the mesh for the given number of collectibles
+	 */
+	private void allocate(int capacity) {
+		if (mesh != null) {
+			resources.dispose(mesh);
+		}
+		this.capacity = capacity;
+		vertices = new float[capacity*4*VERTEX_SIZE];
+		indices = new short[capacity*6];
+
+		mesh = resources.add(new Mesh(true, capacity*4, capacity*6,
+				new VertexAttribute(Usage.Position, 3, ShaderProgram.POSITION_ATTRIBUTE),
+				new VertexAttribute(Usage.Generic, 2, "a_corner"),
+				new VertexAttribute(Usage.Generic, 2, "a_params")));
+	}
+
+	private void rebuild() {
+		// The collectibles grow their arrays for a level larger than the pack declared
+		if (collectibles.capacity() > capacity) {
+			allocate(collectibles.capacity());
+		}
+		size = collectibles.size();
+
+		int v = 0;
+		int n = 0;
+		for (int quad = 0; quad < size; quad++) {
+			int i = size - 1 - quad;
+			float x = collectibles.getX(i);
+			float y = collectibles.getY(i);
+			float z = collectibles.getZ(i);
+			float type = collectibles.getType(i).ordinal();
+			float phase = collectibles.getRotation(i);
+			for (int corner = 0; corner < 4; corner++) {
+				vertices[v++] = x;
+				vertices[v++] = y;
+				vertices[v++] = z;
+				vertices[v++] = CORNERS[2*corner];
+				vertices[v++] = CORNERS[2*corner+1];
+				vertices[v++] = type;
+				vertices[v++] = phase;
+			}
+			short base = (short) (quad*4);
+			indices[n++] = base;
+			indices[n++] = (short) (base+1);
+			indices[n++] = (short) (base+2);
+			indices[n++] = (short) (base+2);
+			indices[n++] = (short) (base+3);
+			indices[n++] = base;
+		}
+
+		mesh.setVertices(vertices, 0, v);
+		mesh.setIndices(indices, 0, n);
+		generation = collectibles.generation();
+	}
+
+	public void render(Camera cam) {
+		if (!collectibles.isRender()) {
+			return;
+		}
+		if (generation != collectibles.generation()) {
+			rebuild();
+		}
+
+		int first = collectibles.first();
+		int end = collectibles.end();
+		if (first >= end) {
+			return;
+		}
+
+		texture.bind(0);
+
+		Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
+		Gdx.gl.glEnable(GL20.GL_BLEND);
+		Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		Gdx.gl.glDepthMask(false);
+
+		shader.begin();
+		shader.setUniformMatrix(u_projTrans, cam.combined);
+		shader.setUniformf(u_time, collectibles.getTime());
+		shader.setUniformf(u_size, Collectibles.DECAL_WIDTH, Collectibles.DECAL_HEIGHT);
+		shader.setUniform4fv(u_regions, regions, 0, regions.length);
+		shader.setUniformi(u_texture, 0);
+		mesh.render(shader, GL20.GL_TRIANGLES, (size-end)*6, (end-first)*6);
+		shader.end();
+
+		Gdx.gl.glDepthMask(true);
+		Gdx.gl.glDisable(GL20.GL_BLEND);
+	}
+
+	public void dispose() {
+		resources.dispose();
+		mesh = null;
+		shader = null;
+	}
+}
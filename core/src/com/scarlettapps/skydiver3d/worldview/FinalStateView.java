@@ -2,6 +2,8 @@ package com.scarlettapps.skydiver3d.worldview;
 
 import com.badlogic.gdx.Gdx;
 import com.scarlettapps.skydiver3d.Skydiver3D;
+import com.scarlettapps.skydiver3d.world.World;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
 import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.StatusManager;
 import com.scarlettapps.skydiver3d.worldview.ui.StatusView;
@@ -24,19 +26,30 @@ class FinalStateView implements WorldStateView {
 	@Override
 	public void render(float delta) {
 		Renderer renderer = worldView.getRenderer();
-		renderer.drawTerrain();
-		renderer.drawTargetAndSkydiver();
+		World world = renderer.getWorld();
+		world.getTerrain().render(renderer);
+		world.getTarget().render(renderer);
+		world.getSkydiver().render(renderer);
 	}
 
 	@Override
-	public void initialize() {
+	public void enter() {
 		StatusView statusView = worldView.getStatusView();
-		status.calculateTimeBonus();
-		status.calculateLandingBonus();
 		if (Skydiver3D.DEV_MODE) {
 			Gdx.app.log(Skydiver3D.LOG, "Loanded at position " + status.position());
 		}
 		statusView.hidePause();
 	}
 	
+	@Override
+	public void exit() {
+	}
+
+	@Override
+	public void save(Checkpoint checkpoint) {
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+	}
 }
\ No newline at end of file
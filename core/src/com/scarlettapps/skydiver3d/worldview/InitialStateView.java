@@ -4,6 +4,7 @@ import com.badlogic.gdx.graphics.PerspectiveCamera;
 import com.badlogic.gdx.math.Vector3;
 import com.scarlettapps.skydiver3d.world.Skydiver;
 import com.scarlettapps.skydiver3d.world.World;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
 import com.scarlettapps.skydiver3d.worldstate.Status;
 import com.scarlettapps.skydiver3d.worldstate.StatusManager;
 
@@ -12,7 +13,7 @@ class InitialStateView implements WorldStateView {
 	private float dx, dy, dz;
 	private float totalTime;
 	
-	private Vector3 camOffset;
+	private final Vector3 camOffset = new Vector3();
 	
 	private Vector3 tmp2 = new Vector3();
 	
@@ -63,13 +64,14 @@ class InitialStateView implements WorldStateView {
 	@Override
 	public void render(float delta) {	
 		Renderer renderer = worldView.getRenderer();
-		renderer.drawSky();
-		renderer.drawSkydiver();
+		World world = renderer.getWorld();
+		world.getSky().render(renderer);
+		world.getSkydiver().render(renderer);
 		worldView.getStatusView().drawJumpOffPlane();
 	}
 
 	@Override
-	public void initialize() {
+	public void enter() {
 		dx = 2.2f;
 		dy = -0.2f;
 		dz = -0.21019554f;
@@ -78,7 +80,7 @@ class InitialStateView implements WorldStateView {
 		float camOffsetX = -0.3f*WorldView.CAM_OFFSET+dx;
 		float camOffsetY = -0.1f*WorldView.CAM_OFFSET+dy;
 		float camOffsetZ = Skydiver.STARTING_HEIGHT+0.4f*WorldView.CAM_OFFSET+dz;
-		camOffset = new Vector3(camOffsetX, camOffsetY, camOffsetZ);
+		camOffset.set(camOffsetX, camOffsetY, camOffsetZ);
 		
 		PerspectiveCamera cam = worldView.getRenderer().getCam();
         cam.direction.set(0,0,-1);
@@ -88,4 +90,26 @@ class InitialStateView implements WorldStateView {
         cam.update();
 	}
 	
+	@Override
+	public void exit() {
+	}
+	
+	@Override
+	public void save(Checkpoint checkpoint) {
+		checkpoint.putFloat(dx);
+		checkpoint.putFloat(dy);
+		checkpoint.putFloat(dz);
+		checkpoint.putFloat(totalTime);
+		checkpoint.putVector(camOffset);
+	}
+	
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		dx = checkpoint.getFloat();
+		dy = checkpoint.getFloat();
+		dz = checkpoint.getFloat();
+		totalTime = checkpoint.getFloat();
+		checkpoint.getVector(camOffset);
+	}
+	
 }
\ No newline at end of file
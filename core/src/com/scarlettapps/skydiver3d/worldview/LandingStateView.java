@@ -1,6 +1,8 @@
 package com.scarlettapps.skydiver3d.worldview;
 
 import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.scarlettapps.skydiver3d.world.World;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
 import com.scarlettapps.skydiver3d.worldstate.Status;
 
 class LandingStateView implements WorldStateView {
@@ -25,14 +27,27 @@ class LandingStateView implements WorldStateView {
 	@Override
 	public void render(float delta) { //TODO why does game crash
 		Renderer renderer = worldView.getRenderer();
-		renderer.drawTerrain();
-		renderer.drawTargetAndSkydiver();
+		World world = renderer.getWorld();
+		world.getTerrain().render(renderer);
+		world.getTarget().render(renderer);
+		world.getSkydiver().render(renderer);
 		worldView.getStatusView().drawHud();
 	}
 
 	@Override
-	public void initialize() {
+	public void enter() {
 		
 	}
 	
+	@Override
+	public void exit() {
+	}
+
+	@Override
+	public void save(Checkpoint checkpoint) {
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+	}
 }
\ No newline at end of file
@@ -4,8 +4,8 @@ import com.badlogic.gdx.graphics.PerspectiveCamera;
 import com.badlogic.gdx.math.Vector3;
 import com.scarlettapps.skydiver3d.world.Skydiver;
 import com.scarlettapps.skydiver3d.world.World;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
 import com.scarlettapps.skydiver3d.worldstate.Status;
-import com.scarlettapps.skydiver3d.worldstate.StatusManager;
 import com.scarlettapps.skydiver3d.worldview.ui.AccuracyMeter;
 import com.scarlettapps.skydiver3d.worldview.ui.StatusView;
 
@@ -31,7 +31,9 @@ class ParachutingStateView implements WorldStateView {
 		
 		if (touched) {
 			accuracyMeter.stop();
-			status.setAccuracy(accuracyMeter.getAccuracy());
+			float accuracy = accuracyMeter.getAccuracy();
+			status.setAccuracy(accuracy);
+			worldView.getStatusManager().events().postParachuteRated(accuracy);
 			switchCam = touched;
 			cam.direction.set(0,0,-1);
 			cam.up.set(Vector3.Y);
@@ -54,19 +56,19 @@ class ParachutingStateView implements WorldStateView {
 	@Override
 	public void render(float delta) {
 		Renderer renderer = worldView.getRenderer();
-		renderer.drawTerrain();
-		renderer.drawTargetAndSkydiver();
+		World world = renderer.getWorld();
+		world.getTerrain().render(renderer);
+		world.getTarget().render(renderer);
+		world.getSkydiver().render(renderer);
 		StatusView statusView = worldView.getStatusView();
 		statusView.drawParachuteCaption();
 		statusView.drawHud();
 	}
 
 	@Override
-	public void initialize() {
+	public void enter() {
 		switchCam = false;
 		
-		StatusView statusView = worldView.getStatusView();
-		statusView.showSpeedIcon(false);
 		Renderer renderer = worldView.getRenderer();
 		
 		World world = renderer.getWorld();
@@ -81,4 +83,18 @@ class ParachutingStateView implements WorldStateView {
 		cam.position.z = status.position().z-2f;
 		cam.lookAt(status.position().x, status.position().y, status.position().z+2f);
 	}
+	
+	@Override
+	public void exit() {
+	}
+	
+	@Override
+	public void save(Checkpoint checkpoint) {
+		checkpoint.putBoolean(switchCam);
+	}
+	
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		switchCam = checkpoint.getBoolean();
+	}
 }
\ No newline at end of file
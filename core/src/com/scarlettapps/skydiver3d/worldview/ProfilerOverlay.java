@@ -0,0 +1,63 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldview;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.scarlettapps.skydiver3d.DefaultScreen;
+import com.scarlettapps.skydiver3d.Profiler;
+import com.scarlettapps.skydiver3d.Profiler.Counter;
+import com.scarlettapps.skydiver3d.Profiler.Latency;
+import com.scarlettapps.skydiver3d.Profiler.Stage;
+import com.scarlettapps.skydiver3d.resources.FontFactory;
+
+/**
+ * Shows the mean stage times, counters and input latencies of the
+ * {@link Profiler} in the top left corner of the screen
+ */
+class ProfilerOverlay implements RenderItem {
+
+	private static final int FONT_SIZE = DefaultScreen.VIRTUAL_HEIGHT/40;
+	private static final float MARGIN = 8;
+	private static final Stage[] STAGES = Stage.values();
+	private static final Counter[] COUNTERS = Counter.values();
+	private static final Latency[] LATENCIES = Latency.values();
+
+	private final Profiler profiler = Profiler.getInstance();
+	private final StringBuilder text = new StringBuilder(256);
+	private BitmapFont font;
+
+	@Override
+	public void draw(Renderer renderer) {
+		if (font == null) {
+			font = FontFactory.getInstance().generateFont(FONT_SIZE, Color.WHITE);
+		}
+
+		text.setLength(0);
+		for (Stage stage: STAGES) {
+			text.append(stage.name()).append(' ');
+			appendMillis(profiler.averageTime(stage));
+			text.append(" ms\n");
+		}
+		for (Counter counter: COUNTERS) {
+			text.append(counter.name()).append(' ').append(profiler.averageCount(counter)).append('\n');
+		}
+		for (Latency latency: LATENCIES) {
+			text.append(latency.name()).append(" p50 ").append(profiler.latencyPercentile(latency, 0.5f))
+					.append(" p95 ").append(profiler.latencyPercentile(latency, 0.95f)).append(" ms\n");
+		}
+		font.draw(renderer.getSpriteBatch(), text, MARGIN, DefaultScreen.VIRTUAL_HEIGHT - MARGIN);
+	}
+
+	// Two decimals without going through String.format
+	private void appendMillis(long nanos) {
+		long hundredths = nanos/10000;
+		text.append(hundredths/100).append('.');
+		if (hundredths%100 < 10) {
+			text.append('0');
+		}
+		text.append(hundredths%100);
+	}
+}
@@ -0,0 +1,17 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldview;
+
+/**
+ * Something that is drawn through the {@link RenderQueue}
+ */
+public interface RenderItem {
+
+	/**
+	 * Draw the item. The renderer has already set up the state the item was
+	 * submitted with.
+	 * @param renderer the renderer
+	 */
+	public void draw(Renderer renderer);
+}
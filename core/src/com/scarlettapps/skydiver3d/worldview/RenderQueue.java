@@ -0,0 +1,195 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldview;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.scarlettapps.skydiver3d.Profiler;
+import com.scarlettapps.skydiver3d.Profiler.Stage;
+
+/**
+ * Everything drawn in a frame is submitted here as a {@link RenderItem} with a
+ * 64-bit sort key, then drawn in one pass by {@link #execute(Renderer)}.
+ * <p>
+ * The key holds, from the highest bits down, the {@link Pass}, then for opaque
+ * items the {@link State} followed by the depth front to back, and for
+ * transparent items the depth back to front followed by the state. The lowest
+ * bits hold the submission order, so background and UI items are drawn in the
+ * order they were submitted. Consecutive items of the same state within a pass
+ * share one begin and end, so a decal batch is only flushed once per run of
+ * decals. Each pass is timed by the {@link Profiler}.
+ * <p>
+ * The queue is backed by fixed arrays that only grow, and is sorted in place,
+ * so a frame allocates nothing once the queue has warmed up.
+ */
+public class RenderQueue {
+
+	/**
+	 * The order in which groups of items are drawn
+	 */
+	public enum Pass {
+		BACKGROUND, OPAQUE, TRANSPARENT, UI
+	}
+
+	/**
+	 * The GL state an item is drawn with. Items of the same state are batched.
+	 */
+	public enum State {
+		SPRITES, TERRAIN, SKINNED, DECALS, COLLECTIBLES, STAGE
+	}
+
+	private static final Stage[] PASS_STAGES = {Stage.BACKGROUND, Stage.OPAQUE, Stage.TRANSPARENT, Stage.UI};
+	private static final int PASS_SHIFT = 56;
+	private static final int SEQUENCE_BITS = 16;
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	private long[] keys = new long[32];
+	private RenderItem[] items = new RenderItem[32];
+	private State[] states = new State[32];
+	private int size;
+
+	private int stateChanges;
+	private long renderTime;
+
+	/**
+	 * Remove all items submitted for the previous frame
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			items[i] = null;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Add an item to the frame
+	 * @param pass the pass the item is drawn in
+	 * @param state the GL state the item is drawn with
+	 * @param depth the distance of the item from the camera
+	 * @param item the item
+	 */
+	public void submit(Pass pass, State state, float depth, RenderItem item) {
+		if (size == keys.length) {
+			grow();
+		}
+		keys[size] = key(pass, state, depth, size);
+		items[size] = item;
+		states[size] = state;
+		size++;
+	}
+
+	static long key(Pass pass, State state, float depth, int sequence) {
+		long key = (long) pass.ordinal() << PASS_SHIFT;
+		// The bits of a non-negative float sort like the float itself
+		long depthBits = Float.floatToIntBits(Math.max(depth, 0)) & 0xffffffffL;
+		switch (pass) {
+			case OPAQUE:
+				key |= (long) state.ordinal() << 48 | depthBits << SEQUENCE_BITS;
+				break;
+			case TRANSPARENT:
+				key |= (0x7fffffffL - depthBits) << 24 | (long) state.ordinal() << SEQUENCE_BITS;
+				break;
+			default:
+				break;
+		}
+		return key | (sequence & SEQUENCE_MASK);
+	}
+
+	/**
+	 * Sort the items and draw them
+	 * @param renderer the renderer that sets up the state of each group of items
+	 */
+	public void execute(Renderer renderer) {
+		long start = TimeUtils.nanoTime();
+		sort();
+
+		Profiler profiler = Profiler.getInstance();
+		stateChanges = 0;
+		State current = null;
+		int currentPass = -1;
+		for (int i = 0; i < size; i++) {
+			int pass = (int) (keys[i] >>> PASS_SHIFT);
+			if (pass != currentPass) {
+				if (current != null) {
+					renderer.end(current);
+					current = null;
+				}
+				if (currentPass >= 0) {
+					profiler.end(PASS_STAGES[currentPass]);
+				}
+				profiler.begin(PASS_STAGES[pass]);
+				currentPass = pass;
+			}
+			State state = states[i];
+			if (state != current) {
+				if (current != null) {
+					renderer.end(current);
+				}
+				renderer.begin(state);
+				current = state;
+				stateChanges++;
+			}
+			items[i].draw(renderer);
+		}
+		if (current != null) {
+			renderer.end(current);
+		}
+		if (currentPass >= 0) {
+			profiler.end(PASS_STAGES[currentPass]);
+		}
+		renderTime = TimeUtils.nanoTime() - start;
+	}
+
+	/**
+	 * @return the number of items submitted for the current frame
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of state changes in the last frame
+	 */
+	public int stateChanges() {
+		return stateChanges;
+	}
+
+	/**
+	 * @return the CPU time spent drawing the last frame in nanoseconds
+	 */
+	public long renderTime() {
+		return renderTime;
+	}
+
+	// Insertion sort, since a frame only has a few dozen mostly ordered items
+	private void sort() {
+		for (int i = 1; i < size; i++) {
+			long key = keys[i];
+			RenderItem item = items[i];
+			State state = states[i];
+			int j = i - 1;
+			while (j >= 0 && keys[j] > key) {
+				keys[j+1] = keys[j];
+				items[j+1] = items[j];
+				states[j+1] = states[j];
+				j--;
+			}
+			keys[j+1] = key;
+			items[j+1] = item;
+			states[j+1] = state;
+		}
+	}
+
+	private void grow() {
+		int capacity = keys.length*2;
+		long[] newKeys = new long[capacity];
+		RenderItem[] newItems = new RenderItem[capacity];
+		State[] newStates = new State[capacity];
+		System.arraycopy(keys, 0, newKeys, 0, size);
+		System.arraycopy(items, 0, newItems, 0, size);
+		System.arraycopy(states, 0, newStates, 0, size);
+		keys = newKeys;
+		items = newItems;
+		states = newStates;
+	}
+}
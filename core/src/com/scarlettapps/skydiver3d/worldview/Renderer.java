@@ -5,149 +5,264 @@ package com.scarlettapps.skydiver3d.worldview;
 import java.util.Comparator;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.PerspectiveCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g3d.ModelBatch;
 import com.badlogic.gdx.graphics.g3d.decals.CameraGroupStrategy;
 import com.badlogic.gdx.graphics.g3d.decals.Decal;
 import com.badlogic.gdx.graphics.g3d.decals.DecalBatch;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.GdxRuntimeException;
-import com.badlogic.gdx.utils.SortedIntList.Node;
 import com.scarlettapps.skydiver3d.DefaultScreen;
+import com.scarlettapps.skydiver3d.Profiler;
 import com.scarlettapps.skydiver3d.Skydiver3D;
-import com.scarlettapps.skydiver3d.world.Cloud;
-import com.scarlettapps.skydiver3d.world.Collectible;
-import com.scarlettapps.skydiver3d.world.Collectibles;
-import com.scarlettapps.skydiver3d.world.Plane;
-import com.scarlettapps.skydiver3d.world.Sky;
-import com.scarlettapps.skydiver3d.world.Skydiver;
-import com.scarlettapps.skydiver3d.world.Target;
-import com.scarlettapps.skydiver3d.world.Terrain;
+import com.scarlettapps.skydiver3d.resources.DisposableRegistry;
 import com.scarlettapps.skydiver3d.world.World;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
+import com.scarlettapps.skydiver3d.worldstate.Checkpointed;
 import com.scarlettapps.skydiver3d.worldstate.Status;
-import com.scarlettapps.skydiver3d.worldstate.StatusManager;
+import com.scarlettapps.skydiver3d.worldstate.WorldState;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.Pass;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.State;
 
-public class Renderer {
+public class Renderer implements Checkpointed {
 	
+	private static final WorldState[] STATES = WorldState.values();
+	
+	// One view per world state, indexed by ordinal, built once and swapped between
+	private final WorldStateView[] views = new WorldStateView[STATES.length];
 	private WorldStateView controller;
+	private WorldState state;
 	
 	private PerspectiveCamera cam;
 	private DecalBatch decalBatch;
-	private ModelBatch modelBatch;
 	private SpriteBatch spriteBatch;
+	private CollectibleRenderer collectibleRenderer;
+	private SkydiverRenderer skydiverRenderer;
+	private final RenderQueue queue = new RenderQueue();
+	private final ProfilerOverlay profilerOverlay = new ProfilerOverlay();
+	// Where the skydiver is drawn relative to the last tick
+	private final Vector3 skydiverOffset = new Vector3();
+	private final Vector3 savedCamPosition = new Vector3();
 	private World world;
+	// The batches, which own their shaders and buffers
+	private final DisposableRegistry resources = new DisposableRegistry("Renderer");
 
 	public Renderer(World world) {
 		this.world = world;
 	}
 	
 	public void initialize() {
+		dispose();
 		cam = new PerspectiveCamera(67, DefaultScreen.VIRTUAL_WIDTH, DefaultScreen.VIRTUAL_HEIGHT);
         
-        decalBatch = new DecalBatch(new CameraGroupStrategy(cam, new Comparator<Decal>(){
+        CameraGroupStrategy strategy = resources.add(new CameraGroupStrategy(cam, new Comparator<Decal>(){
 			@Override
 			public int compare(Decal decal1, Decal decal2) {
 				return (int)Math.signum(decal1.getZ()-decal2.getZ());
 			}
         }));
+        decalBatch = resources.add(new DecalBatch(strategy));
         
-		modelBatch = new ModelBatch();
-		
-		spriteBatch = new SpriteBatch();
+		spriteBatch = resources.add(new SpriteBatch());
 		spriteBatch.getProjectionMatrix().setToOrtho2D(0, 0, DefaultScreen.VIRTUAL_WIDTH, DefaultScreen.VIRTUAL_HEIGHT);
+		
+		collectibleRenderer = new CollectibleRenderer(world.getCollectibles());
+		collectibleRenderer.initialize();
+		
+		skydiverRenderer = new SkydiverRenderer(world.getSkydiver());
+		skydiverRenderer.initialize();
 	}
 	
-	public void switchState(StatusManager statusManager, WorldView worldView) {
-		Status status = statusManager.getStatus();
-		String oldName;
-		
-		if (Skydiver3D.DEV_MODE) {
-			oldName = controller == null ? null : controller.getClass().getSimpleName();
+	/**
+	 * Build the view of every world state
+	 * @param worldView the world view the views draw into
+	 * @param status the status they show
+	 */
+	void createViews(WorldView worldView, Status status) {
+		for (WorldState state: STATES) {
+			views[state.ordinal()] = createView(state, worldView, status);
 		}
-		
-		switch(status.getState()) {
+	}
+	
+	private static WorldStateView createView(WorldState state, WorldView worldView, Status status) {
+		switch(state) {
 			case FINAL:
-				controller = new FinalStateView(worldView, status);
-				break;
+				return new FinalStateView(worldView, status);
 			case INITIAL:
-				controller = new InitialStateView(worldView, status);
-				break;
+				return new InitialStateView(worldView, status);
 			case LANDING:
-				controller = new LandingStateView(worldView, status);
-				break;
+				return new LandingStateView(worldView, status);
 			case PARACHUTING:
-				controller = new ParachutingStateView(worldView, status);
-				break;
+				return new ParachutingStateView(worldView, status);
 			case SKYDIVING:
-				controller = new SkydivingStateView(worldView, status);
-				break;
+				return new SkydivingStateView(worldView, status);
 			default:
 				throw new GdxRuntimeException("Invalid World State");
 		}
+	}
+	
+	/**
+	 * Draw what every view shows once, clipped to a single pixel, so that
+	 * textures are uploaded and shaders are linked before the first transition
+	 * rather than during it
+	 * @param overlay drawn after each view, as in {@link #render(float, RenderItem)}
+	 */
+	void prewarm(RenderItem overlay) {
+		cam.update();
+		Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+		Gdx.gl.glScissor(0, 0, 1, 1);
+		for (WorldStateView view: views) {
+			render(view, 0, overlay);
+		}
+		Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+	}
+	
+	/**
+	 * Leave the view of the current state and enter the view of another
+	 * @param state the state to show
+	 */
+	public void switchState(WorldState state) {
+		WorldStateView next = views[state.ordinal()];
 		
 		if (Skydiver3D.DEV_MODE) {
-			Gdx.app.log(Skydiver3D.LOG, "Switching controller from " + oldName + " to " + controller.getClass().getSimpleName());
+			String oldName = controller == null ? null : controller.getClass().getSimpleName();
+			Gdx.app.log(Skydiver3D.LOG, "Switching controller from " + oldName + " to " + next.getClass().getSimpleName());
 		}
 		
-		controller.initialize();
+		if (controller != null) {
+			controller.exit();
+		}
+		controller = next;
+		this.state = state;
+		controller.enter();
+	}
+	
+	/**
+	 * Write the state shown, the camera and the state of the current view
+	 */
+	@Override
+	public void save(Checkpoint checkpoint) {
+		checkpoint.putInt(state.ordinal());
+		checkpoint.putVector(cam.position);
+		checkpoint.putVector(cam.direction);
+		checkpoint.putVector(cam.up);
+		checkpoint.putFloat(cam.near);
+		checkpoint.putFloat(cam.far);
+		controller.save(checkpoint);
+	}
+	
+	/**
+	 * Enter the saved state first, so that what its view sets up on entering
+	 * is then overwritten by the saved values
+	 */
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		switchState(STATES[checkpoint.getInt()]);
+		checkpoint.getVector(cam.position);
+		checkpoint.getVector(cam.direction);
+		checkpoint.getVector(cam.up);
+		cam.near = checkpoint.getFloat();
+		cam.far = checkpoint.getFloat();
+		cam.update();
+		controller.restore(checkpoint);
 	}
 	
 	public void update(float delta) {
 		controller.update(delta);
 	}
 	
-	public void render(float delta) {
-		controller.render(delta);
+	/**
+	 * Draw a frame. The state view submits the objects it shows, then the whole
+	 * frame is drawn by the render queue.
+	 * @param delta
+	 * @param overlay drawn in the UI pass after everything else
+	 */
+	public void render(float delta, RenderItem overlay) {
+		render(controller, delta, overlay);
 	}
 	
-	public void drawTerrain() {
-		Terrain terrain = world.getTerrain();
-		terrain.render(cam);
+	/**
+	 * Draw a frame with the diver and the camera following it moved by an
+	 * offset, without changing the simulation
+	 * @param offset where the diver is predicted to be relative to the last tick
+	 */
+	public void render(float delta, RenderItem overlay, Vector3 offset) {
+		savedCamPosition.set(cam.position);
+		skydiverOffset.set(offset);
+		cam.position.add(offset);
+		cam.update();
+		render(controller, delta, overlay);
+		skydiverOffset.setZero();
+		cam.position.set(savedCamPosition);
+		cam.update();
 	}
 	
-	public void drawTargetAndSkydiver() {
-		modelBatch.begin(cam);
-		Target target = world.getTarget();
-		Skydiver skydiver = world.getSkydiver();
-		target.render(decalBatch);
-		decalBatch.flush();
-		skydiver.render(modelBatch);
-		modelBatch.end();
+	private void render(WorldStateView view, float delta, RenderItem overlay) {
+		queue.clear();
+		view.render(delta);
+		queue.submit(Pass.UI, State.STAGE, 0, overlay);
+		if (Profiler.getInstance().isEnabled()) {
+			queue.submit(Pass.UI, State.SPRITES, 0, profilerOverlay);
+		}
+		queue.execute(this);
 	}
 	
-	public void drawSkydiver() {
-		modelBatch.begin(cam);
-		Skydiver skydiver = world.getSkydiver();
-		skydiver.render(modelBatch);
-		modelBatch.end();
+	/**
+	 * Add an item to the current frame
+	 * @see RenderQueue#submit(Pass, State, float, RenderItem)
+	 */
+	public void submit(Pass pass, State state, float depth, RenderItem item) {
+		queue.submit(pass, state, depth, item);
 	}
 	
-	public void drawCollectibles() {
-		Target target = world.getTarget();
-		target.render(decalBatch);
-		Collectibles collectibles = world.getCollectibles();
-		Array<Cloud> clouds = world.getClouds();
-		for (Node<Collectible> node: collectibles) {
-			decalBatch.add(node.value.getDecal());
+	void begin(State state) {
+		switch (state) {
+			case SPRITES:
+				spriteBatch.begin();
+				break;
+			default:
+				break;
 		}
-		for (Cloud c: clouds) {
-			decalBatch.add(c.getDecal());
+	}
+	
+	void end(State state) {
+		switch (state) {
+			case SPRITES:
+				spriteBatch.end();
+				break;
+			case DECALS:
+				decalBatch.flush();
+				break;
+			default:
+				break;
 		}
-		decalBatch.flush();
 	}
 	
-	public void drawSky() {
-		Sky sky = world.getSky();
-		spriteBatch.begin();
-		sky.render(spriteBatch);
-		spriteBatch.end();
+	public void drawSkydiver() {
+		skydiverRenderer.render(cam, skydiverOffset);
+	}
+	
+	public void drawCollectibles() {
+		collectibleRenderer.render(cam);
 	}
 	
 	public PerspectiveCamera getCam() {
 		return cam;
 	}
 	
+	public DecalBatch getDecalBatch() {
+		return decalBatch;
+	}
+	
+	public SpriteBatch getSpriteBatch() {
+		return spriteBatch;
+	}
+	
+	public RenderQueue getQueue() {
+		return queue;
+	}
+	
 	public World getWorld() {
 		return world;
 	}
@@ -157,4 +272,14 @@ public class Renderer {
 			Gdx.app.log(Skydiver3D.LOG, "Resetting Renderer");
 		}
 	}
+
+	public void dispose() {
+		resources.dispose();
+		if (collectibleRenderer != null) {
+			collectibleRenderer.dispose();
+		}
+		if (skydiverRenderer != null) {
+			skydiverRenderer.dispose();
+		}
+	}
 }
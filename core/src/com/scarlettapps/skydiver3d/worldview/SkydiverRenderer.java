@@ -0,0 +1,407 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldview;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.scarlettapps.skydiver3d.Skydiver3D;
+import com.scarlettapps.skydiver3d.resources.DisposableRegistry;
+import com.scarlettapps.skydiver3d.world.Skydiver;
+
+/**
+ * Draws the skydiver with a shader made for it: per-vertex lighting from the
+ * ambient light and the single directional light of the skydiver, and skinning
+ * on the GPU.
+ * <p>
+ * The bones of all skinned parts are merged into one matrix palette, which is
+ * uploaded once per frame as a uniform array. To make that possible, the
+ * skinned meshes are copied once with their bone indices rewritten to palette
+ * indices. A vertex shared by two parts with different bones is duplicated.
+ * After that the vertex data is never touched again. Parts are drawn sorted by
+ * mesh and texture, and their materials are read only once.
+ */
+class SkydiverRenderer {
+
+	private static final float AMBIENT_LIGHT = 0.7f;
+	private static final float DIRECTIONAL_LIGHT = 0.4f;
+	private static final Vector3 LIGHT_DIRECTION = new Vector3(-1f, -0.8f, -0.2f).nor();
+
+	private static final String VERTEX_SHADER = "#ifdef GL_ES\n"
+			+ "precision mediump float;\n"
+			+ "#endif\n"
+			+ "uniform mat4 u_projViewTrans;\n"
+			+ "uniform mat4 u_worldTrans;\n"
+			+ "uniform mat4 u_bones[NUM_BONES];\n"
+			+ "uniform float u_skinned;\n"
+			+ "uniform vec3 u_lightDirection;\n"
+			+ "uniform float u_ambientLight;\n"
+			+ "uniform float u_directionalLight;\n"
+			+ "attribute vec3 a_position;\n"
+			+ "attribute vec3 a_normal;\n"
+			+ "attribute vec2 a_texCoord0;\n"
+			+ "attribute vec2 a_boneWeight0;\n"
+			+ "attribute vec2 a_boneWeight1;\n"
+			+ "attribute vec2 a_boneWeight2;\n"
+			+ "attribute vec2 a_boneWeight3;\n"
+			+ "varying vec2 v_texCoord0;\n"
+			+ "varying float v_light;\n"
+			+ "void main()\n"
+			+ "{\n"
+			+ "   mat4 transform = u_worldTrans;\n"
+			+ "   if (u_skinned > 0.5) {\n"
+			+ "      transform = transform * (a_boneWeight0.y * u_bones[int(a_boneWeight0.x)]\n"
+			+ "            + a_boneWeight1.y * u_bones[int(a_boneWeight1.x)]\n"
+			+ "            + a_boneWeight2.y * u_bones[int(a_boneWeight2.x)]\n"
+			+ "            + a_boneWeight3.y * u_bones[int(a_boneWeight3.x)]);\n"
+			+ "   }\n"
+			+ "   vec3 normal = normalize((transform * vec4(a_normal, 0.0)).xyz);\n"
+			+ "   v_light = u_ambientLight + u_directionalLight * max(0.0, -dot(normal, u_lightDirection));\n"
+			+ "   v_texCoord0 = a_texCoord0;\n"
+			+ "   gl_Position = u_projViewTrans * transform * vec4(a_position, 1.0);\n"
+			+ "}\n";
+
+	private static final String FRAGMENT_SHADER = "#ifdef GL_ES\n"
+			+ "precision mediump float;\n"
+			+ "#endif\n"
+			+ "uniform vec4 u_diffuseColor;\n"
+			+ "uniform vec3 u_emissiveColor;\n"
+			+ "uniform float u_textured;\n"
+			+ "uniform sampler2D u_diffuseTexture;\n"
+			+ "varying vec2 v_texCoord0;\n"
+			+ "varying float v_light;\n"
+			+ "void main()\n"
+			+ "{\n"
+			+ "   vec4 diffuse = u_diffuseColor;\n"
+			+ "   if (u_textured > 0.5) diffuse *= texture2D(u_diffuseTexture, v_texCoord0);\n"
+			+ "   gl_FragColor = vec4(diffuse.rgb * v_light + u_emissiveColor, diffuse.a);\n"
+			+ "}\n";
+
+	/** A part of the model with everything needed to draw it */
+	private static class Part {
+		Node node;
+		Mesh mesh;
+		int primitiveType;
+		int offset;
+		int count;
+		boolean skinned;
+		final Color diffuse = new Color(Color.WHITE);
+		final Color emissive = new Color(0, 0, 0, 0);
+		Texture texture;
+	}
+
+	private final Skydiver skydiver;
+
+	private final Array<Part> parts = new Array<Part>();
+	// The shader and the skinned copies of meshes
+	private final DisposableRegistry resources = new DisposableRegistry("SkydiverRenderer");
+	private final Array<Matrix4> bones = new Array<Matrix4>();
+	private float[] palette;
+
+	private ShaderProgram shader;
+	private int u_projViewTrans;
+	private int u_worldTrans;
+	private int u_bones;
+	private int u_skinned;
+	private int u_diffuseColor;
+	private int u_emissiveColor;
+	private int u_textured;
+
+	private final Matrix4 worldTransform = new Matrix4();
+
+	public SkydiverRenderer(Skydiver skydiver) {
+		this.skydiver = skydiver;
+	}
+
+	public void initialize() {
+		resources.dispose();
+		parts.clear();
+		bones.clear();
+		ModelInstance instance = skydiver.getModelInstance();
+
+		// Merge the bones of all parts into one palette
+		ObjectMap<NodePart, int[]> boneMaps = new ObjectMap<NodePart, int[]>();
+		Array<Node> boneNodes = new Array<Node>();
+		Array<Matrix4> inverseBinds = new Array<Matrix4>();
+		Array<NodePart> skinnedParts = new Array<NodePart>();
+		collectParts(instance.nodes, skinnedParts);
+		for (NodePart nodePart : skinnedParts) {
+			int[] map = new int[nodePart.bones.length];
+			for (int i = 0; i < map.length; i++) {
+				Node node = nodePart.invBoneBindTransforms.keys[i];
+				Matrix4 inverseBind = nodePart.invBoneBindTransforms.values[i];
+				int index = -1;
+				for (int j = 0; j < boneNodes.size; j++) {
+					if (boneNodes.get(j) == node && equals(inverseBinds.get(j), inverseBind)) {
+						index = j;
+						break;
+					}
+				}
+				if (index < 0) {
+					index = boneNodes.size;
+					boneNodes.add(node);
+					inverseBinds.add(inverseBind);
+					bones.add(nodePart.bones[i]);
+				}
+				map[i] = index;
+			}
+			boneMaps.put(nodePart, map);
+		}
+		palette = new float[Math.max(1, bones.size)*16];
+
+		// Copy the skinned meshes with palette indices
+		ObjectMap<Mesh, Mesh> copies = new ObjectMap<Mesh, Mesh>();
+		for (NodePart nodePart : skinnedParts) {
+			Mesh mesh = nodePart.meshPart.mesh;
+			if (!copies.containsKey(mesh)) {
+				copies.put(mesh, remap(mesh, skinnedParts, boneMaps));
+			}
+		}
+
+		for (Node node : instance.nodes) {
+			addParts(node, copies);
+		}
+		// Draw parts sharing a mesh, then a texture, one after another
+		final Array<Mesh> meshes = new Array<Mesh>();
+		final Array<Texture> textures = new Array<Texture>();
+		for (Part part : parts) {
+			if (!meshes.contains(part.mesh, true)) meshes.add(part.mesh);
+			if (!textures.contains(part.texture, true)) textures.add(part.texture);
+		}
+		parts.sort(new Comparator<Part>() {
+			@Override
+			public int compare(Part a, Part b) {
+				int ma = meshes.indexOf(a.mesh, true);
+				int mb = meshes.indexOf(b.mesh, true);
+				if (ma != mb) {
+					return ma - mb;
+				}
+				return textures.indexOf(a.texture, true) - textures.indexOf(b.texture, true);
+			}
+		});
+
+		String defines = "#define NUM_BONES " + Math.max(1, bones.size) + "\n";
+		shader = resources.add(new ShaderProgram(defines + VERTEX_SHADER, FRAGMENT_SHADER));
+
+		if (Skydiver3D.DEV_MODE) {
+			if (!shader.isCompiled()) {
+				Gdx.app.log(Skydiver3D.LOG, shader.getLog());
+			}
+			Gdx.app.log(Skydiver3D.LOG, "Skydiver has " + parts.size + " parts and " + bones.size + " bones");
+		}
+
+		u_projViewTrans = shader.getUniformLocation("u_projViewTrans");
+		u_worldTrans = shader.getUniformLocation("u_worldTrans");
+		u_bones = shader.getUniformLocation("u_bones");
+		u_skinned = shader.getUniformLocation("u_skinned");
+		u_diffuseColor = shader.getUniformLocation("u_diffuseColor");
+		u_emissiveColor = shader.getUniformLocation("u_emissiveColor");
+		u_textured = shader.getUniformLocation("u_textured");
+
+		// The lighting never changes, so it is only set once
+		shader.begin();
+		shader.setUniformf("u_lightDirection", LIGHT_DIRECTION);
+		shader.setUniformf("u_ambientLight", AMBIENT_LIGHT);
+		shader.setUniformf("u_directionalLight", DIRECTIONAL_LIGHT);
+		shader.setUniformi("u_diffuseTexture", 0);
+		shader.end();
+	}
+
+	private static void collectParts(Iterable<Node> nodes, Array<NodePart> skinnedParts) {
+		for (Node node : nodes) {
+			for (NodePart nodePart : node.parts) {
+				if (nodePart.enabled && nodePart.bones != null && nodePart.bones.length > 0) {
+					skinnedParts.add(nodePart);
+				}
+			}
+			collectParts(node.getChildren(), skinnedParts);
+		}
+	}
+
+	private void addParts(Node node, ObjectMap<Mesh, Mesh> copies) {
+		for (NodePart nodePart : node.parts) {
+			if (!nodePart.enabled) {
+				continue;
+			}
+			MeshPart meshPart = nodePart.meshPart;
+			Part part = new Part();
+			part.node = node;
+			part.skinned = nodePart.bones != null && nodePart.bones.length > 0;
+			part.mesh = part.skinned ? copies.get(meshPart.mesh) : meshPart.mesh;
+			part.primitiveType = meshPart.primitiveType;
+			part.offset = meshPart.indexOffset;
+			part.count = meshPart.numVertices;
+
+			Material material = nodePart.material;
+			ColorAttribute diffuse = (ColorAttribute) material.get(ColorAttribute.Diffuse);
+			if (diffuse != null) part.diffuse.set(diffuse.color);
+			ColorAttribute emissive = (ColorAttribute) material.get(ColorAttribute.Emissive);
+			if (emissive != null) part.emissive.set(emissive.color);
+			TextureAttribute texture = (TextureAttribute) material.get(TextureAttribute.Diffuse);
+			if (texture != null) part.texture = texture.textureDescription.texture;
+
+			if (part.count > 0) {
+				parts.add(part);
+			}
+		}
+		for (Node child : node.getChildren()) {
+			addParts(child, copies);
+		}
+	}
+
+	/**
+	 * Copy a skinned mesh, replacing the bone indices of every part with palette indices
+	 */
+	private Mesh remap(Mesh mesh, Array<NodePart> skinnedParts, ObjectMap<NodePart, int[]> boneMaps) {
+		VertexAttributes attributes = mesh.getVertexAttributes();
+		int stride = attributes.vertexSize/4;
+		float[] vertices = mesh.getVertices(new float[mesh.getNumVertices()*stride]);
+		short[] indices = new short[mesh.getNumIndices()];
+		mesh.getIndices(indices);
+
+		int numBoneAttributes = 0;
+		int[] boneOffsets = new int[attributes.size()];
+		for (int i = 0; i < attributes.size(); i++) {
+			VertexAttribute attribute = attributes.get(i);
+			if (attribute.usage == Usage.BoneWeight) {
+				boneOffsets[numBoneAttributes++] = attribute.offset/4;
+			}
+		}
+
+		FloatArray result = new FloatArray(vertices.length);
+		result.addAll(vertices);
+		NodePart[] owners = new NodePart[mesh.getNumVertices()];
+
+		for (NodePart nodePart : skinnedParts) {
+			MeshPart meshPart = nodePart.meshPart;
+			if (meshPart.mesh != mesh) {
+				continue;
+			}
+			int[] map = boneMaps.get(nodePart);
+			IntIntMap duplicates = new IntIntMap();
+			for (int i = meshPart.indexOffset; i < meshPart.indexOffset + meshPart.numVertices; i++) {
+				int vertex = indices[i] & 0xffff;
+				int target;
+				if (owners[vertex] == null) {
+					owners[vertex] = nodePart;
+					target = vertex;
+				} else if (owners[vertex] == nodePart) {
+					continue;
+				} else {
+					// Shared with another part: give this part its own copy
+					target = duplicates.get(vertex, -1);
+					if (target < 0) {
+						target = result.size/stride;
+						result.addAll(vertices, vertex*stride, stride);
+						duplicates.put(vertex, target);
+					}
+					indices[i] = (short) target;
+				}
+				for (int b = 0; b < numBoneAttributes; b++) {
+					int index = target*stride + boneOffsets[b];
+					int bone = (int) vertices[vertex*stride + boneOffsets[b]];
+					result.items[index] = bone < map.length ? map[bone] : 0;
+				}
+			}
+		}
+
+		Mesh copy = new Mesh(true, result.size/stride, indices.length, attributes);
+		copy.setVertices(result.items, 0, result.size);
+		copy.setIndices(indices);
+		return resources.add(copy);
+	}
+
+	private static boolean equals(Matrix4 a, Matrix4 b) {
+		for (int i = 0; i < 16; i++) {
+			if (Math.abs(a.val[i]-b.val[i]) > 0.0001f) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Draw the skydiver
+	 * @param offset moves the skydiver without changing its transform
+	 */
+	public void render(Camera cam, Vector3 offset) {
+		if (!skydiver.isRender()) {
+			return;
+		}
+		Matrix4 transform = skydiver.getModelInstance().transform;
+
+		for (int i = 0; i < bones.size; i++) {
+			System.arraycopy(bones.get(i).val, 0, palette, i*16, 16);
+		}
+
+		Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
+		Gdx.gl.glDepthFunc(GL20.GL_LEQUAL);
+		Gdx.gl.glDepthMask(true);
+		Gdx.gl.glDisable(GL20.GL_CULL_FACE);
+		Gdx.gl.glDisable(GL20.GL_BLEND);
+
+		shader.begin();
+		shader.setUniformMatrix(u_projViewTrans, cam.combined);
+		if (bones.size > 0) {
+			shader.setUniformMatrix4fv(u_bones, palette, 0, bones.size*16);
+		}
+
+		Mesh boundMesh = null;
+		Texture boundTexture = null;
+		for (int i = 0; i < parts.size; i++) {
+			Part part = parts.get(i);
+			if (part.mesh != boundMesh) {
+				if (boundMesh != null) boundMesh.unbind(shader);
+				boundMesh = part.mesh;
+				boundMesh.bind(shader);
+			}
+			if (part.texture != null && part.texture != boundTexture) {
+				boundTexture = part.texture;
+				boundTexture.bind(0);
+			}
+
+			if (part.skinned) {
+				worldTransform.set(transform);
+			} else {
+				worldTransform.set(transform).mul(part.node.globalTransform);
+			}
+			worldTransform.trn(offset);
+			shader.setUniformMatrix(u_worldTrans, worldTransform);
+			shader.setUniformf(u_skinned, part.skinned ? 1 : 0);
+			shader.setUniformf(u_diffuseColor, part.diffuse);
+			shader.setUniformf(u_emissiveColor, part.emissive.r, part.emissive.g, part.emissive.b);
+			shader.setUniformf(u_textured, part.texture != null ? 1 : 0);
+			part.mesh.render(shader, part.primitiveType, part.offset, part.count, false);
+		}
+		if (boundMesh != null) boundMesh.unbind(shader);
+		shader.end();
+	}
+
+	public void dispose() {
+		resources.dispose();
+		shader = null;
+	}
+}
@@ -5,13 +5,16 @@ import com.badlogic.gdx.math.Vector3;
 import com.scarlettapps.skydiver3d.world.Collectibles;
 import com.scarlettapps.skydiver3d.world.Skydiver;
 import com.scarlettapps.skydiver3d.world.World;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
 import com.scarlettapps.skydiver3d.worldstate.Status;
-import com.scarlettapps.skydiver3d.worldstate.StatusManager;
+import com.scarlettapps.skydiver3d.worldstate.StatusSnapshot;
 import com.scarlettapps.skydiver3d.worldview.ui.StatusView;
 
 class SkydivingStateView implements WorldStateView {
 	
 	private static final int COLLECTIBLES_OFFSET = 300;
+	// Time in seconds the points of a collectible are shown for
+	static final float COLLECTED_TIME = 1f;
 	private final WorldView worldView;
 	private final Status status;
 	
@@ -20,7 +23,8 @@ class SkydivingStateView implements WorldStateView {
 		this.status = status;
 	}
 	
-	public void initialize() {
+	@Override
+	public void enter() {
 		PerspectiveCamera cam = worldView.getRenderer().getCam();
 		StatusView statusView = worldView.getStatusView();
 		cam.position.set(0, 0.5f,status.position().z + WorldView.CAM_OFFSET);
@@ -33,6 +37,11 @@ class SkydivingStateView implements WorldStateView {
         statusView.showSpeedIcon(true);
 	}
 	
+	@Override
+	public void exit() {
+		worldView.getStatusView().showSpeedIcon(false);
+	}
+	
 	@Override
 	public void update(float delta) {
 		Renderer renderer = worldView.getRenderer();
@@ -53,28 +62,27 @@ class SkydivingStateView implements WorldStateView {
 	
 	private void renderSkydiving(float delta) {
 		Renderer renderer = worldView.getRenderer();
-		renderer.drawTerrain();
-		renderer.drawTargetAndSkydiver();
-		renderer.drawCollectibles();
-		PerspectiveCamera cam = renderer.getCam();
+		World world = renderer.getWorld();
+		world.getTerrain().render(renderer);
+		world.getTarget().render(renderer);
+		world.getSkydiver().render(renderer);
+		world.getClouds().render(renderer);
+		world.getCollectibles().render(renderer);
 		StatusView statusView = worldView.getStatusView();
 		
-		if (status.collected()) {
-			float displayScoreTime = status.displayScoreTime();
-			if (displayScoreTime < 1) {
-				Vector3 intersectPoint = status.intersectPoint();
-				if (displayScoreTime == 0) {
-					intersectPoint.set(status.position());
-					cam.project(intersectPoint);
-					status.addToScore(1000);
-				}
-				statusView.drawCollected();
-        	} else {
-        		status.setDisplayScoreTime(0);
-        		status.setCollected(false);
-        	}
+		// Drawn from the last finished tick, like the rest of the HUD
+		StatusSnapshot snapshot = worldView.getStatusManager().snapshot();
+		if (snapshot.collected() > 0 && snapshot.timeSinceCollected() < COLLECTED_TIME) {
+			statusView.drawCollected();
 		}
 		statusView.drawHud();
 	}
-	
+
+	@Override
+	public void save(Checkpoint checkpoint) {
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+	}
 }
\ No newline at end of file
@@ -1,7 +1,22 @@
 package com.scarlettapps.skydiver3d.worldview;
 
-interface WorldStateView {
-	public void initialize();
+import com.scarlettapps.skydiver3d.worldstate.Checkpointed;
+
+/**
+ * Moves the camera and picks what to draw during one world state. The
+ * {@link Renderer} builds one view per state and swaps between them. A view
+ * checkpoints whatever its update keeps from one tick to the next; the camera
+ * is checkpointed by the renderer.
+ */
+interface WorldStateView extends Checkpointed {
+	/**
+	 * Called when the world enters the state of this view
+	 */
+	public void enter();
+	/**
+	 * Called when the world leaves the state of this view
+	 */
+	public void exit();
 	public void update(float delta);
 	public void render(float delta);
-}
\ No newline at end of file
+}
@@ -5,12 +5,16 @@ package com.scarlettapps.skydiver3d.worldview;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
-import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
+import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.scarlettapps.skydiver3d.Skydiver3D;
 import com.scarlettapps.skydiver3d.world.World;
-import com.scarlettapps.skydiver3d.worldstate.Status;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
+import com.scarlettapps.skydiver3d.worldstate.Checkpointed;
 import com.scarlettapps.skydiver3d.worldstate.StatusManager;
+import com.scarlettapps.skydiver3d.worldstate.StatusSnapshot;
+import com.scarlettapps.skydiver3d.worldstate.WorldState;
+import com.scarlettapps.skydiver3d.worldstate.WorldStateListener;
 import com.scarlettapps.skydiver3d.worldview.ui.StatusView;
 
 /**
@@ -18,40 +22,65 @@ import com.scarlettapps.skydiver3d.worldview.ui.StatusView;
  * the player to control the game by listening to input and updating objects.
  */
 
-public class WorldView {
+public class WorldView implements Checkpointed {
 	
 	static final float CAM_OFFSET = 5f;
 	
 	private final StatusManager statusManager;
 	private final Renderer renderer;	
 	private final StatusView statusView;
+	private final Vector3 predicted = new Vector3();
+	private boolean prediction = true;
 		
 	public WorldView(World world, StatusManager statusManager) {
 		this.statusManager = statusManager;  
 		
-		DefaultShader.defaultCullFace = 0;
-		
 		renderer = new Renderer(world);
-		statusView = new StatusView(statusManager.getStatus());
+		statusView = new StatusView(statusManager.getStatus(), statusManager.snapshot());
+		renderer.createViews(this, statusManager.getStatus());
+		
+		statusManager.events().addWorldStateListener(new WorldStateListener() {
+			@Override
+			public void worldStateChanged(WorldState from, WorldState to) {
+				renderer.switchState(to);
+			}
+		});
 	}
 	
 	public void initialize() {
 		statusView.initialize();
         renderer.initialize();
-        renderer.switchState(statusManager, this);
+        renderer.prewarm(statusView);
+        renderer.switchState(statusManager.getStatus().getState());
 	}
 	
 	public void update(float delta) {
-		if (statusManager.switchState()) {
-			renderer.switchState(statusManager, this);
-		}
 		renderer.update(delta);
 		statusView.update(delta);
 	}
 	
-	public void render(float delta) {
-		renderer.render(delta);
-		statusView.render(delta);
+	/**
+	 * Draw a frame
+	 * @param delta the time in seconds since the last frame
+	 * @param ahead the time in seconds since the last tick, by which the diver
+	 *        and camera are moved ahead when prediction is on
+	 */
+	public void render(float delta, float ahead) {
+		// Draw from the last finished tick, never from one in progress
+		StatusSnapshot snapshot = statusManager.snapshot();
+		if (prediction && ahead > 0) {
+			renderer.render(delta, statusView, snapshot.velocity(predicted).scl(ahead));
+		} else {
+			renderer.render(delta, statusView);
+		}
+	}
+	
+	/**
+	 * Draw the diver where it will be by the time the frame is shown, rather
+	 * than where the last tick left it. On by default.
+	 */
+	public void setPrediction(boolean prediction) {
+		this.prediction = prediction;
 	}
 
 	public void reset() {
@@ -61,7 +90,28 @@ public class WorldView {
 		
 		statusView.reset();
         renderer.reset();
-        renderer.switchState(statusManager, this);
+        renderer.switchState(statusManager.getStatus().getState());
+	}
+
+	/**
+	 * Write the camera, the state of the current view and the accuracy meter.
+	 * The captions of the HUD follow the status on their own and are not saved.
+	 */
+	@Override
+	public void save(Checkpoint checkpoint) {
+		renderer.save(checkpoint);
+		statusView.getAccuracyMeter().save(checkpoint);
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		renderer.restore(checkpoint);
+		statusView.getAccuracyMeter().restore(checkpoint);
+	}
+
+	public void dispose() {
+		statusView.dispose();
+		renderer.dispose();
 	}
 
 	public InputProcessor getInputProcessor() {
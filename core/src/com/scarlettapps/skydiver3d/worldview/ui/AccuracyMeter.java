@@ -3,16 +3,16 @@
 
 package com.scarlettapps.skydiver3d.worldview.ui;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.scarlettapps.skydiver3d.DefaultScreen;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
-import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.RegionType;
+import com.scarlettapps.skydiver3d.worldstate.Checkpoint;
+import com.scarlettapps.skydiver3d.worldstate.Checkpointed;
 
-public class AccuracyMeter extends Actor { //TODO This needs to be resolution independent
+public class AccuracyMeter extends Actor implements Checkpointed { //TODO This needs to be resolution independent
 
 	private Image slider;
 	private Image bar;
@@ -22,10 +22,8 @@ public class AccuracyMeter extends Actor { //TODO This needs to be resolution in
 	
 	public AccuracyMeter() {
 		AssetFactory assetFactory = AssetFactory.getInstance();
-		Texture sliderTex = assetFactory.get(TextureType.SLIDER, Texture.class);
-		Texture barTex = assetFactory.get(TextureType.SLIDERBAR, Texture.class);
-		slider = new Image(new Sprite(sliderTex));
-		bar = new Image(new Sprite(barTex));
+		slider = new Image(assetFactory.getRegion(RegionType.SLIDER));
+		bar = new Image(assetFactory.getRegion(RegionType.SLIDERBAR));
 		bar.setScale(0.5f, 1);
 		slider.setPosition(DefaultScreen.VIRTUAL_WIDTH/2-slider.getWidth()/2,DefaultScreen.VIRTUAL_HEIGHT/2-slider.getHeight()/2-75);
 		bar.setPosition(slider.getX()-bar.getWidth()/2,slider.getY()+(slider.getHeight()-bar.getHeight())/2);
@@ -73,6 +71,24 @@ public class AccuracyMeter extends Actor { //TODO This needs to be resolution in
 		return 2*(percent < 0.5f? percent : 1-percent);
 	}
 
+	/**
+	 * Write the bar, which the parachute is rated by
+	 */
+	@Override
+	public void save(Checkpoint checkpoint) {
+		checkpoint.putFloat(barX);
+		checkpoint.putFloat(barVelocity);
+		checkpoint.putBoolean(right);
+	}
+
+	@Override
+	public void restore(Checkpoint checkpoint) {
+		barX = checkpoint.getFloat();
+		barVelocity = checkpoint.getFloat();
+		right = checkpoint.getBoolean();
+		bar.setX(barX);
+	}
+
 	public void reset() {
 		bar.setScale(0.5f, 1);
 		slider.setPosition(DefaultScreen.VIRTUAL_WIDTH/2-slider.getWidth()/2,DefaultScreen.VIRTUAL_HEIGHT/2-slider.getHeight()/2-75);
@@ -0,0 +1,80 @@
+// Copyright 2014 Michael Scarlett
+// All rights reserved
+
+package com.scarlettapps.skydiver3d.worldview.ui;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * A line of HUD text made of a fixed prefix, a number and a fixed suffix, such
+ * as "Speed: 120 mph". The prefix is laid out once. The number is formatted into
+ * a reusable buffer and only laid out again when it changes, so updating the
+ * text every frame allocates nothing. The number is read when the text is
+ * drawn, so it can come from the snapshot the renderer is drawing.
+ */
+abstract class HudText extends Actor {
+
+	private final BitmapFontCache prefixCache;
+	private final BitmapFontCache valueCache;
+	private final StringBuilder text = new StringBuilder(16);
+	private final Color tint = new Color();
+	private final float prefixWidth;
+	private final String suffix;
+
+	private int value;
+	private boolean valid;
+
+	/**
+	 * @param font the font to draw with
+	 * @param prefix the text before the number
+	 * @param suffix the text after the number
+	 * @param sample a number as wide as the widest expected, used for the size
+	 */
+	HudText(BitmapFont font, String prefix, String suffix, String sample) {
+		this.suffix = suffix;
+		prefixCache = new BitmapFontCache(font, font.usesIntegerPositions());
+		valueCache = new BitmapFontCache(font, font.usesIntegerPositions());
+		prefixWidth = prefixCache.setText(prefix, 0, 0).width;
+
+		GlyphLayout bounds = new GlyphLayout(font, prefix + sample + suffix);
+		setSize(bounds.width, bounds.height);
+	}
+
+	/**
+	 * @return the number to display this frame
+	 */
+	protected abstract int value();
+
+	public void setValue(int value) {
+		if (valid && value == this.value) {
+			return;
+		}
+		this.value = value;
+		valid = true;
+		text.setLength(0);
+		text.append(value).append(suffix);
+		valueCache.setText(text, prefixWidth, 0);
+	}
+
+	@Override
+	public void draw(Batch batch, float parentAlpha) {
+		setValue(value());
+		tint.set(getColor());
+		tint.a *= parentAlpha;
+		// Fonts are drawn from the top of the text down
+		float x = getX();
+		float y = getY() + getHeight();
+		prefixCache.tint(tint);
+		prefixCache.setPosition(x, y);
+		prefixCache.draw(batch);
+		valueCache.tint(tint);
+		valueCache.setPosition(x, y);
+		valueCache.draw(batch);
+	}
+}
@@ -6,7 +6,6 @@ package com.scarlettapps.skydiver3d.worldview.ui;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.scenes.scene2d.Action;
@@ -26,20 +25,27 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 import com.scarlettapps.skydiver3d.DefaultScreen;
 import com.scarlettapps.skydiver3d.Skydiver3D;
 import com.scarlettapps.skydiver3d.resources.AssetFactory;
+import com.scarlettapps.skydiver3d.resources.AssetFactory.RegionType;
 import com.scarlettapps.skydiver3d.resources.AssetFactory.SoundType;
-import com.scarlettapps.skydiver3d.resources.AssetFactory.TextureType;
+import com.scarlettapps.skydiver3d.resources.DisposableRegistry;
 import com.scarlettapps.skydiver3d.resources.FontFactory;
 import com.scarlettapps.skydiver3d.resources.LanguageFactory;
 import com.scarlettapps.skydiver3d.resources.SoundFactory;
 import com.scarlettapps.skydiver3d.world.Skydiver;
 import com.scarlettapps.skydiver3d.worldstate.Status;
+import com.scarlettapps.skydiver3d.worldstate.StatusSnapshot;
+import com.scarlettapps.skydiver3d.worldview.RenderItem;
+import com.scarlettapps.skydiver3d.worldview.Renderer;
 
-public class StatusView {
+public class StatusView implements RenderItem {
 
 	private final Status status;
+	private final StatusSnapshot snapshot;
 	
 	private Stage stage;
 	private Skin skin;
+	// The skin and the stage, which owns its batch
+	private final DisposableRegistry resources = new DisposableRegistry("StatusView");
 	
 	private Group initial;
 	private Group parachute;
@@ -65,8 +71,17 @@ public class StatusView {
 	private Action jumpLabelAction;
 	private Action parachuteAction;
 	
-	public StatusView(Status status) {
+	// Style and layout shared by the captions in the middle of the screen
+	private LabelStyle captionStyle;
+	private final GlyphLayout captionBounds = new GlyphLayout();
+	
+	/**
+	 * @param status the status the captions follow, tick by tick
+	 * @param snapshot the copy of the status the HUD is drawn from
+	 */
+	public StatusView(Status status, StatusSnapshot snapshot) {
 		this.status = status;
+		this.snapshot = snapshot;
 	}
 
 	public void initialize() {
@@ -76,9 +91,10 @@ public class StatusView {
 		
         visibleQueue = new PooledLinkedList<Group>(6);
 		
-		skin = new Skin(Gdx.files.internal("skin/uiskin.json"));
+		resources.dispose();
+		skin = resources.add(new Skin(Gdx.files.internal("skin/uiskin.json")));
 		viewport = new StretchViewport(DefaultScreen.VIRTUAL_WIDTH, DefaultScreen.VIRTUAL_HEIGHT);
-		stage = new Stage(viewport);
+		stage = resources.add(new Stage(viewport));
 		
 		LabelStyle textButtonStyle = skin.get(LabelStyle.class);
 		BitmapFont font = FontFactory.getInstance().generateFont(36);
@@ -190,7 +206,7 @@ public class StatusView {
 	}
 
 	private void addHud() {
-		hud = new HUD(skin, status);
+		hud = new HUD(skin, snapshot);
 		stage.addActor(hud.getGroup());
 	}
 	
@@ -246,7 +262,8 @@ public class StatusView {
 			
 			@Override
 			public boolean act(float delta) {
-				float displayScoreTime = status.displayScoreTime();
+				// Fades and grows over the second the points are shown for
+				float displayScoreTime = Math.min(status.timeSinceCollected(), 1);
 				Label label = (Label)getActor();
 				label.setColor(0, 0, 1, (1-(float)Math.sqrt(displayScoreTime))/2f);
         		label.setScale((1+2*displayScoreTime)*DefaultScreen.VIRTUAL_WIDTH/480f, (1+2*displayScoreTime)*DefaultScreen.VIRTUAL_HEIGHT/360f);
@@ -259,7 +276,7 @@ public class StatusView {
 	}
 	
 	private void addPauseIcon() {
-		pauseIcon = new Image(AssetFactory.getInstance().get(TextureType.PAUSE, Texture.class));
+		pauseIcon = new Image(AssetFactory.getInstance().getRegion(RegionType.PAUSE));
 		pauseIcon.setScale(1f);
 		pauseIcon.setPosition(DefaultScreen.VIRTUAL_WIDTH-pauseIcon.getWidth()-10, 10);
 		pauseIcon.addListener(new ClickListener() {
@@ -276,7 +293,7 @@ public class StatusView {
 	}
 	
 	private void addSpeedIcon() {
-		speedIcon = new Image(AssetFactory.getInstance().get(TextureType.LIGHTNING, Texture.class));
+		speedIcon = new Image(AssetFactory.getInstance().getRegion(RegionType.LIGHTNING));
 		speedIcon.setScale(1f);
 		speedIcon.setPosition(10, 10);
 		speedIcon.addListener(new ClickListener() {
@@ -339,7 +356,8 @@ public class StatusView {
 		stage.act(delta);
 	}
 
-	public void render(float delta) {
+	@Override
+	public void draw(Renderer renderer) {
 		visibleQueue.iter();
 		Group g;
 		while ((g = visibleQueue.next()) != null) {
@@ -374,32 +392,34 @@ public class StatusView {
 		return accuracyMeter;
 	}
 	
-	private static void upperLabel(Label label) {
+	private void upperLabel(Label label) {
 		float x = DefaultScreen.VIRTUAL_WIDTH/2;
 		float y = DefaultScreen.VIRTUAL_HEIGHT*3/5;
 		setLabel(label, x, y);
 	}
 	
-	private static void centerLabel(Label label) {
+	private void centerLabel(Label label) {
 		float x = DefaultScreen.VIRTUAL_WIDTH/2;
 		float y = DefaultScreen.VIRTUAL_HEIGHT/2;
 		setLabel(label, x, y);
 	}
 	
-	private static void lowerLabel(Label label) {
+	private void lowerLabel(Label label) {
 		float x = DefaultScreen.VIRTUAL_WIDTH/2;
 		float y = DefaultScreen.VIRTUAL_HEIGHT/4;
 		setLabel(label, x, y);
 	}
 	
-	private static void setLabel(Label label, float x, float y) {
-		LabelStyle style = new LabelStyle();
-		style.font = FontFactory.getInstance().generateFont(60);
-		style.fontColor = Color.WHITE;
-		label.setStyle(style);
-		GlyphLayout bounds = new GlyphLayout(style.font, label.getText());
-		x -= bounds.width/2;
-		y -= bounds.height/2;
+	private void setLabel(Label label, float x, float y) {
+		if (captionStyle == null) {
+			captionStyle = new LabelStyle();
+			captionStyle.font = FontFactory.getInstance().generateFont(60);
+			captionStyle.fontColor = Color.WHITE;
+		}
+		label.setStyle(captionStyle);
+		captionBounds.setText(captionStyle.font, label.getText());
+		x -= captionBounds.width/2;
+		y -= captionBounds.height/2;
 		label.setPosition(x, y);
 	}
 
@@ -415,6 +435,10 @@ public class StatusView {
 		speedIcon.setVisible(visible);
 	}
 
+	public void dispose() {
+		resources.dispose();
+	}
+	
 	public void reset() {
 		if (Skydiver3D.DEV_MODE) {
 			Gdx.app.log(Skydiver3D.LOG, "Resetting StatusView");
@@ -0,0 +1,94 @@
+package com.scarlettapps.skydiver3d.resources;
+
+import junit.framework.TestCase;
+
+public class AudioQueueTest extends TestCase {
+
+	private static final long MS = 1000000L;
+
+	public void testVoicesCappedByStealingOldest() {
+		VoicePool pool = new VoicePool(2, 1000*MS, 10*MS);
+		assertEquals(-1, pool.steal(0));
+		pool.add(1, 0);
+		assertEquals(-1, pool.steal(100*MS));
+		pool.add(2, 100*MS);
+		assertEquals(1, pool.steal(200*MS));
+		pool.add(3, 200*MS);
+		assertEquals(2, pool.size());
+		assertEquals(2, pool.steal(300*MS));
+	}
+
+	public void testEndedVoicesFreeTheirSlot() {
+		VoicePool pool = new VoicePool(1, 1000*MS, 10*MS);
+		pool.add(1, 0);
+		assertEquals(-1, pool.steal(1000*MS));
+		assertEquals(0, pool.size());
+	}
+
+	public void testBurstDropped() {
+		VoicePool pool = new VoicePool(3, 1000*MS, 50*MS);
+		assertFalse(pool.tooSoon(0));
+		pool.add(1, 0);
+		assertTrue(pool.tooSoon(20*MS));
+		assertFalse(pool.tooSoon(50*MS));
+	}
+
+	public void testUnplayedVoiceNotKept() {
+		VoicePool pool = new VoicePool(2, 1000*MS, 10*MS);
+		pool.add(-1, 0);
+		assertEquals(0, pool.size());
+		assertTrue(pool.tooSoon(MS));
+	}
+
+	public void testRampStartsAtFirstTarget() {
+		VolumeRamp ramp = new VolumeRamp(1);
+		assertFalse(ramp.update(0.1f));
+		ramp.setTarget(0.3f);
+		assertTrue(ramp.update(0.1f));
+		assertEquals(0.3f, ramp.value(), 0.0001f);
+		assertFalse(ramp.update(0.1f));
+	}
+
+	public void testRampLimitsRate() {
+		VolumeRamp ramp = new VolumeRamp(1);
+		ramp.setTarget(0);
+		ramp.update(0.1f);
+		ramp.setTarget(0.5f);
+		assertTrue(ramp.update(0.1f));
+		assertEquals(0.1f, ramp.value(), 0.0001f);
+		// Only the last target counts
+		ramp.setTarget(0.9f);
+		ramp.setTarget(-0.5f);
+		ramp.update(0.05f);
+		assertEquals(0.05f, ramp.value(), 0.0001f);
+		ramp.update(1);
+		assertEquals(-0.5f, ramp.value(), 0.0001f);
+	}
+
+	public void testInaudibleChangesNotPassedOn() {
+		VolumeRamp ramp = new VolumeRamp(1);
+		ramp.setTarget(0.2f);
+		ramp.update(0.016f);
+		ramp.setTarget(0.2004f);
+		int changes = 0;
+		for (int i = 0; i < 10; i++) {
+			if (ramp.update(0.016f)) {
+				changes++;
+			}
+		}
+		// Once, to land on the target
+		assertEquals(1, changes);
+		assertEquals(0.2004f, ramp.value(), 0.00001f);
+	}
+
+	public void testRepeatedSoundQueuedOnce() {
+		AudioQueue queue = AudioQueue.getInstance();
+		queue.clear();
+		queue.play("bell");
+		queue.play("slap");
+		queue.play("bell");
+		assertEquals(2, queue.size());
+		queue.clear();
+		assertEquals(0, queue.size());
+	}
+}
@@ -1,8 +1,68 @@
 package com.scarlettapps.skydiver3d.resources;
 
+import java.io.File;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+
 import junit.framework.TestCase;
 
 public class FontFactoryTest extends TestCase {
 
-	
+	private static Glyph glyph(char id, int x, int y, int width, int height, int yoffset) {
+		Glyph glyph = new Glyph();
+		glyph.id = id;
+		glyph.srcX = x;
+		glyph.srcY = y;
+		glyph.width = width;
+		glyph.height = height;
+		glyph.xoffset = 1;
+		glyph.yoffset = yoffset;
+		glyph.xadvance = width + 2;
+		glyph.page = 1;
+		return glyph;
+	}
+
+	public void testCachedFontReadsBack() throws IOException {
+		BitmapFontData data = new BitmapFontData();
+		data.lineHeight = 40;
+		data.capHeight = 28;
+		data.ascent = 4;
+		Glyph a = glyph('A', 2, 3, 20, 28, -30);
+		Glyph v = glyph('V', 30, 3, 19, 28, -30);
+		Glyph g = glyph('g', 60, 3, 16, 26, -22);
+		a.setKerning('V', -3);
+		data.setGlyph('A', a);
+		data.setGlyph('V', v);
+		data.setGlyph('g', g);
+
+		File file = File.createTempFile("font", ".fnt");
+		file.deleteOnExit();
+		FileHandle fontFile = new FileHandle(file);
+		fontFile.writeString(FontFactory.format(data, new String[] {"font_0.png", "font_1.png"}, 512), false, "UTF-8");
+
+		BitmapFontData read = new BitmapFontData(fontFile, false);
+		assertEquals(2, read.imagePaths.length);
+		assertTrue(read.imagePaths[1].endsWith("font_1.png"));
+		assertEquals(40f, read.lineHeight);
+		assertEquals(28f, read.capHeight);
+		assertEquals(4f, read.ascent);
+
+		for (Glyph expected: new Glyph[] {a, v, g}) {
+			Glyph actual = read.getGlyph((char) expected.id);
+			assertNotNull(actual);
+			assertEquals(expected.srcX, actual.srcX);
+			assertEquals(expected.srcY, actual.srcY);
+			assertEquals(expected.width, actual.width);
+			assertEquals(expected.height, actual.height);
+			assertEquals(expected.xoffset, actual.xoffset);
+			assertEquals(expected.yoffset, actual.yoffset);
+			assertEquals(expected.xadvance, actual.xadvance);
+			assertEquals(expected.page, actual.page);
+		}
+		assertEquals(-3, read.getGlyph('A').getKerning('V'));
+		assertEquals(0, read.getGlyph('V').getKerning('A'));
+	}
 }
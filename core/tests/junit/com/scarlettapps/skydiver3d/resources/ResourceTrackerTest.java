@@ -0,0 +1,86 @@
+package com.scarlettapps.skydiver3d.resources;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.scarlettapps.skydiver3d.resources.ResourceTracker.Kind;
+import com.scarlettapps.skydiver3d.resources.ResourceTracker.Snapshot;
+
+import junit.framework.TestCase;
+
+public class ResourceTrackerTest extends TestCase {
+
+	private final ResourceTracker tracker = ResourceTracker.getInstance();
+
+	private static class Resource implements Disposable {
+		int disposed;
+
+		@Override
+		public void dispose() {
+			disposed++;
+		}
+	}
+
+	public void testRegistryCountsUntilDisposed() {
+		int before = tracker.count(Kind.OTHER);
+		DisposableRegistry registry = new DisposableRegistry("test");
+		Resource first = registry.add(new Resource());
+		Resource second = registry.add(new Resource());
+		assertEquals(before + 2, tracker.count(Kind.OTHER));
+
+		registry.dispose(first);
+		assertEquals(1, first.disposed);
+		assertEquals(before + 1, tracker.count(Kind.OTHER));
+
+		registry.dispose();
+		assertEquals(1, first.disposed);
+		assertEquals(1, second.disposed);
+		assertEquals(0, registry.size());
+		assertEquals(before, tracker.count(Kind.OTHER));
+	}
+
+	public void testAddingTwiceCountsOnce() {
+		int before = tracker.count();
+		DisposableRegistry registry = new DisposableRegistry("test");
+		Resource resource = new Resource();
+		registry.add(resource);
+		new DisposableRegistry("other").add(resource);
+		assertEquals(before + 1, tracker.count());
+		registry.dispose();
+		assertEquals(before, tracker.count());
+	}
+
+	public void testLeaksSince() {
+		Snapshot snapshot = tracker.snapshot(null);
+		assertNull(tracker.leaksSince(snapshot));
+
+		DisposableRegistry registry = new DisposableRegistry("Leaker");
+		registry.add(new Resource());
+		String leaks = tracker.leaksSince(snapshot);
+		assertNotNull(leaks);
+		assertTrue(leaks, leaks.startsWith("1 OTHER"));
+		assertTrue(leaks, leaks.contains("Leaker"));
+
+		registry.dispose();
+		assertNull(tracker.leaksSince(snapshot));
+	}
+
+	public void testStrictCheckThrows() {
+		boolean strict = tracker.isStrict();
+		tracker.setStrict(true);
+		Snapshot snapshot = tracker.snapshot(null);
+		DisposableRegistry registry = new DisposableRegistry("test");
+		try {
+			tracker.checkLeaks(snapshot, "Nothing");
+			registry.add(new Resource());
+			try {
+				tracker.checkLeaks(snapshot, "Adding");
+				fail("Leak not detected");
+			} catch (GdxRuntimeException e) {
+				assertTrue(e.getMessage(), e.getMessage().startsWith("Adding leaked 1 OTHER"));
+			}
+		} finally {
+			registry.dispose();
+			tracker.setStrict(strict);
+		}
+	}
+}
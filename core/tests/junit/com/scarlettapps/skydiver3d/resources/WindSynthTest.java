@@ -0,0 +1,96 @@
+package com.scarlettapps.skydiver3d.resources;
+
+import java.util.Arrays;
+
+import com.scarlettapps.skydiver3d.world.Skydiver;
+
+import junit.framework.TestCase;
+
+public class WindSynthTest extends TestCase {
+
+	private static final int RATE = 22050;
+
+	private final float[] samples = new float[RATE];
+
+	private float[] render(WindSynth synth) {
+		synth.fill(samples, 0, samples.length);
+		return samples;
+	}
+
+	private static float rms(float[] samples) {
+		double sum = 0;
+		for (float sample: samples) {
+			sum += sample*sample;
+		}
+		return (float) Math.sqrt(sum/samples.length);
+	}
+
+	// Mean size of the change between samples, which grows with the high frequencies
+	private static float roughness(float[] samples) {
+		double sum = 0;
+		for (int i = 1; i < samples.length; i++) {
+			sum += Math.abs(samples[i] - samples[i-1]);
+		}
+		return (float) (sum/(samples.length - 1));
+	}
+
+	private WindSynth synth(float gain, float cutoff) {
+		WindSynth synth = new WindSynth(RATE, 42);
+		synth.setTargets(gain, cutoff);
+		synth.reset();
+		return synth;
+	}
+
+	public void testSilentWithoutGain() {
+		assertEquals(0f, rms(render(synth(0, 1000))));
+	}
+
+	public void testBoundedAndLoudnessFollowsGain() {
+		float quiet = rms(render(synth(0.2f, 1000)));
+		for (float sample: samples) {
+			assertTrue(sample >= -1 && sample <= 1);
+		}
+		float loud = rms(render(synth(0.6f, 1000)));
+		assertEquals(3f, loud/quiet, 0.3f);
+	}
+
+	public void testCutoffBrightensWithoutChangingLoudness() {
+		float darkRms = rms(render(synth(0.3f, 200)));
+		float dark = roughness(samples);
+		float brightRms = rms(render(synth(0.3f, 2000)));
+		float bright = roughness(samples);
+		assertTrue(bright > 4*dark);
+		assertEquals(1f, brightRms/darkRms, 0.3f);
+	}
+
+	public void testGlidesToNewTargets() {
+		WindSynth synth = synth(0, 1000);
+		synth.setTargets(0.5f, 1000);
+		float[] first = new float[RATE/100];
+		synth.fill(first, 0, first.length);
+		// Ten milliseconds in, the wind is still fading in
+		assertTrue(rms(first) < 0.5f*rms(render(synth)));
+	}
+
+	public void testWindFollowsDiver() {
+		WindSynth synth = new WindSynth(RATE, 42);
+		synth.setWind(10, 0, false, 1);
+		synth.reset();
+		float slow = rms(render(synth));
+		synth.setWind(Skydiver.MAX_TERMINAL_SPEED, 1, false, 1);
+		synth.reset();
+		float fast = rms(render(synth));
+		float fastRoughness = roughness(samples);
+		synth.setWind(Skydiver.MAX_TERMINAL_SPEED, 1, true, 1);
+		synth.reset();
+		float parachute = rms(render(synth));
+		assertTrue(fast > 5*slow);
+		assertTrue(parachute < 0.5f*fast);
+		assertTrue(roughness(samples) < fastRoughness);
+	}
+
+	public void testRepeatable() {
+		float[] first = render(synth(0.5f, 800)).clone();
+		assertTrue(Arrays.equals(first, render(synth(0.5f, 800))));
+	}
+}
@@ -0,0 +1,35 @@
+package com.scarlettapps.skydiver3d.world;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+import junit.framework.TestCase;
+
+public class CustomHeightmapTest extends TestCase {
+
+	private static CustomHeightmap heightmap(long seed) {
+		return new CustomHeightmap(4, 7, 20, 217f, 2, 2790, new RandomXS128(seed));
+	}
+
+	public void testSameSeedSameHeights() {
+		CustomHeightmap a = heightmap(42);
+		CustomHeightmap b = heightmap(42);
+		assertTrue(Arrays.equals(a.vertices, b.vertices));
+	}
+
+	public void testDifferentSeedDifferentHeights() {
+		CustomHeightmap a = heightmap(42);
+		CustomHeightmap b = heightmap(43);
+		assertFalse(Arrays.equals(a.vertices, b.vertices));
+	}
+
+	public void testSharedGeneratorUntouched() {
+		MathUtils.random.setSeed(7);
+		float expected = MathUtils.random();
+		MathUtils.random.setSeed(7);
+		heightmap(42);
+		assertEquals(expected, MathUtils.random());
+	}
+}
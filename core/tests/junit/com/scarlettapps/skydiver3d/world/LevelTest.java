@@ -0,0 +1,44 @@
+package com.scarlettapps.skydiver3d.world;
+
+import java.util.Locale;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.scarlettapps.skydiver3d.world.Level.Path;
+
+import junit.framework.TestCase;
+
+public class LevelTest extends TestCase {
+
+	private Locale locale;
+
+	@Override
+	protected void setUp() {
+		locale = Locale.getDefault();
+	}
+
+	@Override
+	protected void tearDown() {
+		Locale.setDefault(locale);
+	}
+
+	public void testParsePath() {
+		assertEquals(Path.RANDOM, Path.parse("random"));
+		assertEquals(Path.ZIGZAG, Path.parse("ZigZag"));
+		assertEquals(Path.SPIRAL, Path.parse("SPIRAL"));
+	}
+
+	public void testParsePathInTurkish() {
+		Locale.setDefault(new Locale("tr", "TR"));
+		assertEquals(Path.ZIGZAG, Path.parse("zigzag"));
+		assertEquals(Path.SPIRAL, Path.parse("spiral"));
+	}
+
+	public void testUnknownPath() {
+		try {
+			Path.parse("circle");
+			fail();
+		} catch (GdxRuntimeException e) {
+			assertTrue(e.getMessage().contains("circle"));
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.scarlettapps.skydiver3d.world.utils;
+
+import com.scarlettapps.skydiver3d.world.Collectible;
+import com.scarlettapps.skydiver3d.world.Level;
+import com.scarlettapps.skydiver3d.world.Skydiver;
+import com.scarlettapps.skydiver3d.worldstate.GameController;
+import com.scarlettapps.skydiver3d.worldstate.SkydiverControls;
+
+import junit.framework.TestCase;
+
+public class CourseGeneratorTest extends TestCase {
+
+	private static final int N = 150;
+
+	private final float[] x = new float[N];
+	private final float[] y = new float[N];
+	private final float[] z = new float[N];
+	private final float[] rotation = new float[N];
+	private final Collectible[] types = new Collectible[N];
+
+	private static Level level(Level.Path path) {
+		return new Level(0, N, 0.3f, 0.8f, 1f, path, 0, 0, 25, 1, 1, 1);
+	}
+
+	public void testSameSeedSameCourse() {
+		CourseGenerator generator = new CourseGenerator(10.8f, 6f);
+		Level level = level(Level.Path.RANDOM);
+		generator.generate(level, 42, 4000, false, x, y, z, rotation, types);
+		float[] x1 = x.clone();
+		float[] y1 = y.clone();
+		Collectible[] types1 = types.clone();
+
+		generator.generate(level, 42, 4000, false, x, y, z, rotation, types);
+		for (int i = 0; i < N; i++) {
+			assertEquals(x1[i], x[i]);
+			assertEquals(y1[i], y[i]);
+			assertEquals(types1[i], types[i]);
+		}
+	}
+
+	public void testExactDangerousCount() {
+		CourseGenerator generator = new CourseGenerator(10.8f, 6f);
+		Level level = level(Level.Path.ZIGZAG);
+		int n = generator.generate(level, 7, 4000, false, x, y, z, rotation, types);
+		int dangerous = 0;
+		for (int i = 0; i < n; i++) {
+			if (types[i].isDangerous()) {
+				dangerous++;
+			}
+		}
+		assertEquals(level.numDangerous, dangerous);
+	}
+
+	public void testReachable() {
+		CourseGenerator generator = new CourseGenerator(10.8f, 6f);
+		for (Level.Path path : Level.Path.values()) {
+			Level level = level(path);
+			float maxStep = CourseGenerator.maxStep(level.verticalSpacing);
+			int n = generator.generate(level, 123, 4000, false, x, y, z, rotation, types);
+			for (int i = 1; i < n; i++) {
+				assertTrue(Math.abs(x[i]-x[i-1]) <= maxStep + 1e-4f);
+				assertTrue(Math.abs(y[i]-y[i-1]) <= maxStep + 1e-4f);
+				assertTrue(Math.abs(x[i]) <= 10.8f && Math.abs(y[i]) <= 6f);
+			}
+		}
+	}
+
+	public void testMaxStepAtLowestSensitivity() {
+		float a = GameController.FULL_DEFLECTION*GameController.MIN_SENSITIVITY;
+		assertEquals(a, CourseGenerator.LATERAL_ACCELERATION);
+
+		// Fly one gap from rest to rest: speed up for half of it, then brake
+		float spacing = 40;
+		float dt = spacing/Skydiver.MAX_TERMINAL_SPEED;
+		int steps = 1000;
+		float h = dt/steps;
+		float v = 0;
+		float p = 0;
+		for (int i = 0; i < steps; i++) {
+			float u = i < steps/2 ? a : -a;
+			v = Math.min(v + u*h, SkydiverControls.MAX_LATERAL_SPEED);
+			p += v*h;
+		}
+		assertEquals(0, v, 1e-3f);
+		assertEquals(p/IntersectUtil.COLLECTIBLE_SCALE, CourseGenerator.maxStep(spacing), 0.05f);
+	}
+}
@@ -0,0 +1,162 @@
+package com.scarlettapps.skydiver3d.worldstate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Vector3;
+
+import junit.framework.TestCase;
+
+public class CheckpointTest extends TestCase {
+
+	private final Status status = new Status();
+	private final Checkpoint checkpoint = new Checkpoint();
+
+	@Override
+	protected void setUp() {
+		status.reset();
+	}
+
+	public void testValuesReadBackInOrder() {
+		checkpoint.begin(60);
+		checkpoint.putFloat(-0.5f);
+		checkpoint.putInt(-7);
+		checkpoint.putLong(Long.MIN_VALUE);
+		checkpoint.putBoolean(true);
+		checkpoint.putVector(new Vector3(1, 2, 3));
+
+		checkpoint.rewind();
+		assertEquals(60, checkpoint.tick());
+		assertEquals(-0.5f, checkpoint.getFloat());
+		assertEquals(-7, checkpoint.getInt());
+		assertEquals(Long.MIN_VALUE, checkpoint.getLong());
+		assertTrue(checkpoint.getBoolean());
+		assertEquals(new Vector3(1, 2, 3), checkpoint.getVector(new Vector3()));
+	}
+
+	public void testStatusRestored() {
+		status.position().set(1, 2, 3000);
+		status.velocity().set(0, -1, -60);
+		status.setState(WorldState.SKYDIVING);
+		status.setScore(1500);
+		status.setJumpedOffAirplane(true);
+		status.setStickyTime(1.25f);
+		checkpoint.begin(0);
+		status.save(checkpoint);
+
+		status.reset();
+		status.position().setZero();
+		checkpoint.rewind();
+		status.restore(checkpoint);
+		assertEquals(new Vector3(1, 2, 3000), status.position());
+		assertEquals(WorldState.SKYDIVING, status.worldState());
+		assertEquals(1500, status.score());
+		assertTrue(status.jumpedOffAirplane());
+		assertEquals(1.25f, status.getStickyTime());
+
+		Checkpoint restored = new Checkpoint();
+		restored.begin(0);
+		status.save(restored);
+		assertEquals(-1, checkpoint.firstDifference(restored));
+	}
+
+	public void testInputLeftOut() {
+		checkpoint.begin(0);
+		status.save(checkpoint);
+		// A speed boost asked for between ticks is recorded with the input
+		status.setSticky();
+		Checkpoint requested = new Checkpoint();
+		requested.begin(0);
+		status.save(requested);
+		assertEquals(-1, checkpoint.firstDifference(requested));
+	}
+
+	public void testFirstDifference() {
+		Checkpoint other = new Checkpoint();
+		checkpoint.begin(0);
+		other.begin(0);
+		checkpoint.putInt(1);
+		other.putInt(1);
+		assertEquals(-1, checkpoint.firstDifference(other));
+
+		checkpoint.putFloat(0f);
+		other.putFloat(-0f);
+		assertEquals(1, checkpoint.firstDifference(other));
+
+		other.begin(0);
+		assertEquals(0, checkpoint.firstDifference(other));
+	}
+
+	public void testReplayKeepsCheckpoints() throws IOException {
+		Replay replay = new Replay(2, 42, 1.5f);
+		for (int tick = 0; tick < 3*Replay.SNAPSHOT_INTERVAL; tick += Replay.SNAPSHOT_INTERVAL) {
+			status.position().z = tick;
+			status.save(replay.addSnapshot(tick));
+		}
+		replay.ticks = 3*Replay.SNAPSHOT_INTERVAL;
+
+		File file = File.createTempFile("replay", ".bin");
+		file.deleteOnExit();
+		replay.write(new FileHandle(file));
+		Replay read = Replay.read(new FileHandle(file));
+
+		assertEquals(42, read.seed());
+		Checkpoint last = read.snapshot(read.ticks()-1);
+		assertEquals(2*Replay.SNAPSHOT_INTERVAL, last.tick());
+		assertEquals(-1, last.firstDifference(replay.snapshot(read.ticks()-1)));
+		last.rewind();
+		status.restore(last);
+		assertEquals(2f*Replay.SNAPSHOT_INTERVAL, status.position().z);
+		assertSame(read.snapshots.first(), read.snapshot(Replay.SNAPSHOT_INTERVAL-1));
+	}
+
+	public void testWrittenAsChanges() throws IOException {
+		checkpoint.begin(0);
+		checkpoint.putFloat(-0.5f);
+		checkpoint.putLong(Long.MIN_VALUE);
+		checkpoint.putInt(3);
+		Checkpoint next = new Checkpoint();
+		next.begin(60);
+		next.putFloat(-0.5f);
+		next.putLong(0);
+		next.putInt(3);
+		next.putBoolean(true);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		checkpoint.write(out, null);
+		int first = bytes.size();
+		next.write(out, checkpoint);
+		// Header, two unchanged values, a ten byte change and a new boolean
+		assertEquals(6 + 1 + 10 + 1 + 1, bytes.size() - first);
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		Checkpoint readFirst = new Checkpoint();
+		readFirst.read(in, null);
+		Checkpoint readNext = new Checkpoint();
+		readNext.read(in, readFirst);
+		assertEquals(-1, checkpoint.firstDifference(readFirst));
+		assertEquals(-1, next.firstDifference(readNext));
+		assertEquals(60, readNext.tick());
+	}
+
+	public void testReplayReusedForNextRun() {
+		Replay replay = new Replay(2, 42, 1.5f);
+		Checkpoint first = replay.addSnapshot(0);
+		replay.data.add((byte) 1);
+		replay.ticks = 1;
+
+		replay.begin(3, 7, 1f);
+		assertEquals(3, replay.level());
+		assertEquals(7, replay.seed());
+		assertEquals(0, replay.ticks());
+		assertEquals(0, replay.size());
+		assertNull(replay.snapshot(0));
+		assertSame(first, replay.addSnapshot(0));
+	}
+}
@@ -0,0 +1,117 @@
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.utils.Array;
+import com.scarlettapps.skydiver3d.world.Collectible;
+
+import junit.framework.TestCase;
+
+public class EventBusTest extends TestCase {
+
+	private final EventBus events = new EventBus();
+	private final Array<String> heard = new Array<String>();
+
+	private String heard() {
+		return heard.toString(",");
+	}
+
+	public void testDeliveredOnDispatchInOrder() {
+		events.addWorldStateListener(new WorldStateListener() {
+			@Override
+			public void worldStateChanged(WorldState from, WorldState to) {
+				heard.add(from + ">" + to);
+			}
+		});
+		events.addJumpedOffPlaneListener(new JumpedOffPlaneListener() {
+			@Override
+			public void jumpedOffPlane() {
+				heard.add("jumped");
+			}
+		});
+		events.postJumpedOffPlane();
+		events.postWorldStateChanged(WorldState.INITIAL, WorldState.SKYDIVING);
+		assertEquals("", heard());
+		assertEquals(2, events.pending());
+
+		events.dispatch();
+		assertEquals("jumped,Initial>Skydiving", heard());
+		assertEquals(0, events.pending());
+
+		events.dispatch();
+		assertEquals("jumped,Initial>Skydiving", heard());
+	}
+
+	public void testPayload() {
+		events.addCollectedListener(new CollectedListener() {
+			@Override
+			public void collected(Collectible collectible, float speed) {
+				heard.add(collectible + ":" + (int) speed);
+			}
+		});
+		events.addLandedListener(new LandedListener() {
+			@Override
+			public void landed(float distance) {
+				heard.add("landed:" + (int) distance);
+			}
+		});
+		Collectible collectible = Collectible.values()[0];
+		events.postCollected(collectible, 150);
+		events.postLanded(12);
+		events.dispatch();
+		assertEquals(collectible + ":150,landed:12", heard());
+	}
+
+	public void testRemoveDuringDispatch() {
+		final ParachuteOpenedListener second = new ParachuteOpenedListener() {
+			@Override
+			public void parachuteOpened() {
+				heard.add("second");
+			}
+		};
+		events.addParachuteOpenedListener(new ParachuteOpenedListener() {
+			@Override
+			public void parachuteOpened() {
+				heard.add("first");
+				events.removeParachuteOpenedListener(this);
+			}
+		});
+		events.addParachuteOpenedListener(second);
+		events.postParachuteOpened();
+		events.postParachuteOpened();
+		events.dispatch();
+		assertEquals("first,second,second", heard());
+	}
+
+	public void testPostedDuringDispatchDelivered() {
+		events.addWorldStateListener(new WorldStateListener() {
+			@Override
+			public void worldStateChanged(WorldState from, WorldState to) {
+				heard.add(to.toString());
+				if (to.isCompleted()) {
+					events.postLanded(0);
+				}
+			}
+		});
+		events.addLandedListener(new LandedListener() {
+			@Override
+			public void landed(float distance) {
+				heard.add("landed");
+			}
+		});
+		events.postWorldStateChanged(WorldState.LANDING, WorldState.FINAL);
+		events.dispatch();
+		assertEquals("Final,landed", heard());
+	}
+
+	public void testClearDropsEvents() {
+		events.addJumpedOffPlaneListener(new JumpedOffPlaneListener() {
+			@Override
+			public void jumpedOffPlane() {
+				heard.add("jumped");
+			}
+		});
+		events.postJumpedOffPlane();
+		events.clear();
+		events.dispatch();
+		assertEquals("", heard());
+	}
+}
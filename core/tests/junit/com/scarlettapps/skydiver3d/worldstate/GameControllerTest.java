@@ -1,6 +1,162 @@
 package com.scarlettapps.skydiver3d.worldstate;
 
-public class GameControllerTest {
+import com.badlogic.gdx.Input.Keys;
 
-	
+import junit.framework.TestCase;
+
+public class GameControllerTest extends TestCase {
+
+	// Reports whatever the test sets, like a device the player is holding
+	private static class FakeDevice implements InputDevice {
+		float x;
+		float y;
+		boolean tap;
+		long event;
+		boolean reset;
+
+		@Override
+		public void poll(ActionMap actions, float delta) {
+			actions.deflect(Action.STEER_X, x);
+			actions.deflect(Action.STEER_Y, y);
+			if (tap) {
+				actions.press(Action.TAP);
+			}
+			actions.event(event);
+			event = 0;
+		}
+
+		@Override
+		public void reset() {
+			reset = true;
+		}
+	}
+
+	private final GameController controller = new GameController();
+	private final FakeDevice fake = new FakeDevice();
+	private final FakeDevice other = new FakeDevice();
+
+	@Override
+	protected void setUp() {
+		GameController.setSensitivity(1);
+		controller.addDevice(fake);
+		controller.addDevice(other);
+	}
+
+	public void testAxesScaledToFullDeflection() {
+		fake.x = 0.5f;
+		fake.y = -1;
+		controller.update(0.01f);
+		assertEquals(0.5f*GameController.FULL_DEFLECTION, controller.getAx(), 0.0001f);
+		assertEquals(-GameController.FULL_DEFLECTION, controller.getAy(), 0.0001f);
+	}
+
+	public void testStrongestDeviceWins() {
+		fake.x = 0.3f;
+		other.x = -0.6f;
+		controller.update(0.01f);
+		assertEquals(-0.6f*GameController.FULL_DEFLECTION, controller.getAx(), 0.0001f);
+
+		// A device at rest does not cancel a moving one
+		other.x = 0;
+		controller.update(0.01f);
+		assertEquals(0.3f*GameController.FULL_DEFLECTION, controller.getAx(), 0.0001f);
+	}
+
+	public void testDeflectionClamped() {
+		fake.x = 3;
+		controller.update(0.01f);
+		assertEquals(GameController.FULL_DEFLECTION, controller.getAx(), 0.0001f);
+	}
+
+	public void testButtonsReleasedWhenNotReported() {
+		fake.tap = true;
+		controller.update(0.01f);
+		assertTrue(controller.justTouched());
+		fake.tap = false;
+		controller.update(0.01f);
+		assertFalse(controller.justTouched());
+	}
+
+	public void testOldestEventTimeTaken() {
+		fake.event = 200;
+		other.event = 100;
+		controller.update(0.01f);
+		assertEquals(100, controller.takeEventTime());
+		assertEquals(0, controller.takeEventTime());
+	}
+
+	public void testResetResetsDevices() {
+		controller.reset();
+		assertTrue(fake.reset);
+		assertTrue(other.reset);
+	}
+
+	public void testKeyboardOppositeKeysCancel() {
+		KeyboardDevice keyboard = new KeyboardDevice();
+		controller.addDevice(keyboard);
+		controller.keyDown(Keys.LEFT);
+		controller.update(0.01f);
+		assertEquals(-GameController.FULL_DEFLECTION, controller.getAx(), 0.0001f);
+		assertTrue(controller.takeEventTime() != 0);
+
+		controller.keyDown(Keys.RIGHT);
+		controller.update(0.01f);
+		assertEquals(0f, controller.getAx(), 0.0001f);
+
+		controller.keyUp(Keys.LEFT);
+		controller.keyDown(Keys.A);
+		controller.update(0.01f);
+		assertEquals(GameController.FULL_DEFLECTION, controller.getAx(), 0.0001f);
+		assertTrue(controller.getFaster());
+	}
+
+	public void testKeyboardRebound() {
+		KeyboardDevice keyboard = new KeyboardDevice();
+		keyboard.getBindings().bind(Keys.W, Action.STEER_Y, 1);
+		keyboard.getBindings().unbind(Keys.UP);
+		controller.addDevice(keyboard);
+		controller.keyDown(Keys.UP);
+		controller.update(0.01f);
+		assertEquals(0f, controller.getAy(), 0.0001f);
+		controller.keyDown(Keys.W);
+		controller.update(0.01f);
+		assertEquals(GameController.FULL_DEFLECTION, controller.getAy(), 0.0001f);
+	}
+
+	public void testQuickTapHeldForOneTick() {
+		controller.addDevice(new TouchDevice(true));
+		controller.touchDown(0, 0, 0, 0);
+		controller.touchUp(0, 0, 0, 0);
+		controller.update(0.01f);
+		assertTrue(controller.justTouched());
+		assertTrue(controller.getFaster());
+		controller.update(0.01f);
+		assertFalse(controller.justTouched());
+	}
+
+	public void testDeadZone() {
+		assertEquals(0f, GamepadDevice.deadZone(0.15f, 0.2f), 0.0001f);
+		assertEquals(0f, GamepadDevice.deadZone(-0.2f, 0.2f), 0.0001f);
+		assertEquals(0.5f, GamepadDevice.deadZone(0.6f, 0.2f), 0.0001f);
+		assertEquals(-1f, GamepadDevice.deadZone(-1f, 0.2f), 0.0001f);
+	}
+
+	public void testBindingsRoundTrip() {
+		InputBindings bindings = new KeyboardDevice().getBindings();
+		InputBindings copy = new InputBindings();
+		assertTrue(copy.parse(bindings.toString()));
+		assertEquals(bindings.toString(), copy.toString());
+		assertEquals(5, copy.size());
+	}
+
+	public void testMalformedBindingsIgnored() {
+		InputBindings bindings = new InputBindings();
+		bindings.bind(GamepadDevice.axisCode(0), Action.STEER_X, 1);
+		assertFalse(bindings.parse("21:STEER_X"));
+		assertFalse(bindings.parse("21:JUMP:1"));
+		assertFalse(bindings.parse("x:STEER_X:1"));
+		assertEquals("-1:STEER_X:1.0", bindings.toString());
+		assertTrue(bindings.parse(""));
+		assertEquals(0, bindings.size());
+	}
 }
@@ -0,0 +1,51 @@
+package com.scarlettapps.skydiver3d.worldstate;
+
+import junit.framework.TestCase;
+
+public class OneEuroFilterTest extends TestCase {
+
+	private static final float DT = 1/100f;
+
+	public void testFirstSamplePassesThrough() {
+		OneEuroFilter filter = new OneEuroFilter(1, 0, 1);
+		assertEquals(5f, filter.filter(5, DT));
+	}
+
+	public void testSmoothsJitter() {
+		OneEuroFilter filter = new OneEuroFilter(1, 0, 1);
+		filter.filter(0, DT);
+		float max = 0;
+		for (int i = 0; i < 100; i++) {
+			max = Math.max(max, Math.abs(filter.filter(i%2 == 0 ? 1 : -1, DT)));
+		}
+		assertTrue("jitter " + max, max < 0.1f);
+	}
+
+	public void testSpeedReducesLag() {
+		OneEuroFilter still = new OneEuroFilter(1, 0, 1);
+		OneEuroFilter adaptive = new OneEuroFilter(1, 0.5f, 1);
+		still.filter(0, DT);
+		adaptive.filter(0, DT);
+		for (int i = 1; i <= 20; i++) {
+			still.filter(i*2, DT);
+			adaptive.filter(i*2, DT);
+		}
+		assertTrue(40 - adaptive.value() < 40 - still.value());
+	}
+
+	public void testConverges() {
+		OneEuroFilter filter = new OneEuroFilter(1, 0, 1);
+		filter.filter(0, DT);
+		for (int i = 0; i < 500; i++) {
+			filter.filter(10, DT);
+		}
+		assertEquals(10f, filter.value(), 0.01f);
+	}
+
+	public void testReset() {
+		OneEuroFilter filter = new OneEuroFilter(1, 0, 1);
+		filter.filter(0, DT);
+		filter.reset();
+		assertEquals(7f, filter.filter(7, DT));
+	}
+}
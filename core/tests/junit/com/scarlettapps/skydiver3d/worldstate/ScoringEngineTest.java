@@ -0,0 +1,120 @@
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.scarlettapps.skydiver3d.world.Collectible;
+import com.scarlettapps.skydiver3d.world.Level;
+import com.scarlettapps.skydiver3d.world.Level.Path;
+import com.scarlettapps.skydiver3d.world.Skydiver;
+
+import junit.framework.TestCase;
+
+public class ScoringEngineTest extends TestCase {
+
+	private final Status status = new Status();
+	private final EventBus events = new EventBus();
+	private final ScoringEngine scoring = new ScoringEngine(status);
+
+	@Override
+	protected void setUp() {
+		status.reset();
+		status.setDifficulty(level(1, 1, 1));
+		scoring.register(events);
+	}
+
+	private static Level level(float rings, float parachuting, float landing) {
+		// Ten safe collectibles, so a perfect run is 15000 + 5000 + 10*750 points
+		return new Level(0, 10, 0, 1, 1, Path.RANDOM, 0, 0, 25, rings, parachuting, landing);
+	}
+
+	public void testRingPointsRiseWithSpeed() {
+		events.postCollected(Collectible.RING_GOLD, Skydiver.MIN_TERMINAL_SPEED);
+		events.dispatch();
+		assertEquals(500, scoring.ringScore());
+
+		events.postCollected(Collectible.RING_GOLD, Skydiver.MAX_TERMINAL_SPEED);
+		events.postCollected(Collectible.RING_SKULL, Skydiver.MIN_TERMINAL_SPEED);
+		events.dispatch();
+		assertEquals(500 + 1000 - 500, scoring.ringScore());
+		assertEquals(1000, status.getScore());
+	}
+
+	public void testParachuteScoredOnce() {
+		events.postParachuteRated(0.5f);
+		events.dispatch();
+		assertEquals(2500, scoring.parachutingBonus());
+
+		events.postParachuteRated(1);
+		events.dispatch();
+		assertEquals(2500, scoring.parachutingBonus());
+	}
+
+	public void testLandingScoredOnce() {
+		events.postLanded(10);
+		events.dispatch();
+		assertEquals(15000 - 10*100, scoring.landingBonus());
+
+		events.postLanded(0);
+		events.dispatch();
+		assertEquals(14000, scoring.landingBonus());
+	}
+
+	public void testFarLandingScoresNothing() {
+		events.postLanded(100);
+		events.dispatch();
+		assertEquals(0, scoring.landingBonus());
+	}
+
+	public void testSummaryMatchesRunningTotal() {
+		events.postCollected(Collectible.STAR, Skydiver.MIN_TERMINAL_SPEED);
+		events.postParachuteRated(0.8f);
+		events.postLanded(5);
+		events.dispatch();
+
+		Score score = scoring.score();
+		assertEquals(1000, score.ringScore);
+		assertEquals(4000, score.parachutingScore);
+		assertEquals(14750, score.landingScore);
+		assertEquals(19750, score.totalScore);
+		assertEquals(score.totalScore, status.getScore());
+		// Asking again does not add the bonuses a second time
+		assertEquals(19750, scoring.score().totalScore);
+	}
+
+	public void testWeights() {
+		status.setDifficulty(level(2, 0, 0.5f));
+		events.postCollected(Collectible.RING_GOLD, Skydiver.MIN_TERMINAL_SPEED);
+		events.postParachuteRated(1);
+		events.postLanded(0);
+		events.dispatch();
+		assertEquals(1000, scoring.ringScore());
+		assertEquals(0, scoring.parachutingBonus());
+		assertEquals(7500, scoring.landingBonus());
+	}
+
+	public void testRating() {
+		assertEquals(0, scoring.rating());
+		events.postParachuteRated(1);
+		events.postLanded(0);
+		events.dispatch();
+		// 20000 of 27500 points
+		assertEquals(4, scoring.rating());
+
+		for (int i = 0; i < 10; i++) {
+			events.postCollected(Collectible.RING_GOLD, Skydiver.MAX_TERMINAL_SPEED);
+		}
+		events.dispatch();
+		assertEquals(ScoringEngine.MAX_RATING, scoring.rating());
+	}
+
+	public void testReset() {
+		events.postCollected(Collectible.RING_GOLD, Skydiver.MIN_TERMINAL_SPEED);
+		events.postParachuteRated(1);
+		events.postLanded(0);
+		events.dispatch();
+		scoring.reset();
+		assertEquals(0, scoring.total());
+
+		events.postParachuteRated(0.5f);
+		events.dispatch();
+		assertEquals(2500, scoring.total());
+	}
+}
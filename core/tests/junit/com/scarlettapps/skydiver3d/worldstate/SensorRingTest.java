@@ -0,0 +1,67 @@
+package com.scarlettapps.skydiver3d.worldstate;
+
+import junit.framework.TestCase;
+
+public class SensorRingTest extends TestCase {
+
+	public void testReadsInOrder() {
+		SensorRing ring = new SensorRing(4);
+		ring.push(SensorRing.ACCELEROMETER, 10, 1, 2, 3);
+		ring.push(SensorRing.GYROSCOPE, 20, 4, 5, 6);
+		assertEquals(2, ring.size());
+
+		assertTrue(ring.poll());
+		assertEquals(SensorRing.ACCELEROMETER, ring.type());
+		assertEquals(10, ring.time());
+		assertEquals(3f, ring.z());
+		assertTrue(ring.poll());
+		assertEquals(SensorRing.GYROSCOPE, ring.type());
+		assertEquals(20, ring.time());
+		assertEquals(4f, ring.x());
+		assertEquals(5f, ring.y());
+		assertFalse(ring.poll());
+	}
+
+	public void testOverwritesOldestWhenFull() {
+		SensorRing ring = new SensorRing(3);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(ring.push(SensorRing.ACCELEROMETER, i, i, 0, 0));
+		}
+		assertFalse(ring.push(SensorRing.ACCELEROMETER, 4, 4, 0, 0));
+		assertFalse(ring.push(SensorRing.ACCELEROMETER, 5, 5, 0, 0));
+		assertEquals(2, ring.dropped());
+		assertEquals(4, ring.size());
+
+		float first = -1;
+		float last = -1;
+		while (ring.poll()) {
+			if (first < 0) first = ring.x();
+			last = ring.x();
+		}
+		assertEquals(2f, first);
+		assertEquals(5f, last);
+	}
+
+	public void testWrapsAround() {
+		SensorRing ring = new SensorRing(2);
+		for (int i = 0; i < 10; i++) {
+			ring.push(SensorRing.GYROSCOPE, i, i, 0, 0);
+			assertTrue(ring.poll());
+			assertEquals((long) i, ring.time());
+		}
+		assertEquals(0, ring.size());
+	}
+
+	public void testClear() {
+		SensorRing ring = new SensorRing(4);
+		ring.push(SensorRing.ACCELEROMETER, 1, 1, 0, 0);
+		ring.push(SensorRing.ACCELEROMETER, 2, 2, 0, 0);
+		ring.clear();
+		assertEquals(0, ring.size());
+		assertFalse(ring.poll());
+
+		ring.push(SensorRing.ACCELEROMETER, 3, 3, 0, 0);
+		assertTrue(ring.poll());
+		assertEquals(3f, ring.x());
+	}
+}
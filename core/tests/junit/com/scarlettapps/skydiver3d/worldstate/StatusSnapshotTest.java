@@ -0,0 +1,50 @@
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.math.Vector3;
+
+import junit.framework.TestCase;
+
+public class StatusSnapshotTest extends TestCase {
+
+	private final Status status = new Status();
+	private final StatusSnapshot snapshot = new StatusSnapshot();
+	private final Vector3 tmp = new Vector3();
+
+	@Override
+	protected void setUp() {
+		status.reset();
+	}
+
+	public void testCopiesDrawnState() {
+		status.position().set(1, 2, 3000);
+		status.velocity().set(0, 0, -30);
+		status.setScore(100);
+		status.setState(WorldState.SKYDIVING);
+		snapshot.set(status, 7);
+		assertEquals(7, snapshot.tick());
+		assertEquals(new Vector3(1, 2, 3000), snapshot.position(tmp));
+		assertEquals(3000f, snapshot.altitude());
+		assertEquals(30f, snapshot.fallSpeed());
+		assertEquals(100, snapshot.getScore());
+		assertEquals(WorldState.SKYDIVING, snapshot.getState());
+	}
+
+	public void testUnchangedByLaterTicks() {
+		status.setScore(100);
+		snapshot.set(status, 1);
+		// The next tick runs before the frame reads the snapshot again
+		status.setScore(150);
+		status.position().z = 2000;
+		assertEquals(100, snapshot.getScore());
+		assertEquals(0f, snapshot.altitude());
+	}
+
+	public void testCarriesCollected() {
+		status.collect();
+		status.addTimeSinceCollected(0.25f);
+		snapshot.set(status, 1);
+		status.collect();
+		assertEquals(1, snapshot.collected());
+		assertEquals(0.25f, snapshot.timeSinceCollected());
+	}
+}
@@ -0,0 +1,91 @@
+package com.scarlettapps.skydiver3d.worldstate;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import junit.framework.TestCase;
+
+public class TiltSensorTest extends TestCase {
+
+	private static final float G = 9.81f;
+	// 100 Hz in nanoseconds
+	private static final long STEP = 10000000L;
+
+	private final TiltSensor tilt = new TiltSensor();
+	private long time = STEP;
+
+	// Gravity as measured with the top edge raised by pitch and the right edge lowered by roll
+	private void accelerometer(float pitch, float roll) {
+		float p = -pitch*MathUtils.degreesToRadians;
+		float r = roll*MathUtils.degreesToRadians;
+		float y = G*(float) Math.sin(p);
+		float flat = G*(float) Math.cos(p);
+		tilt.pushAccelerometer(time, -flat*(float) Math.sin(r), y, flat*(float) Math.cos(r));
+		time += STEP;
+	}
+
+	private void hold(float pitch, float roll, int samples) {
+		for (int i = 0; i < samples; i++) {
+			accelerometer(pitch, roll);
+		}
+		tilt.update();
+	}
+
+	public void testCalibratedToFirstSample() {
+		hold(0, 30, 1);
+		assertEquals(0f, tilt.getPitch(), 0.01f);
+		assertEquals(0f, tilt.getRoll(), 0.01f);
+	}
+
+	public void testAccelerometerOnly() {
+		hold(0, 0, 1);
+		hold(-20, 10, 300);
+		assertEquals(-20f, tilt.getPitch(), 0.5f);
+		assertEquals(10f, tilt.getRoll(), 0.5f);
+	}
+
+	public void testRecalibrate() {
+		hold(0, 0, 1);
+		hold(15, 0, 300);
+		tilt.calibrate();
+		assertEquals(0f, tilt.getPitch());
+		hold(15, 0, 1);
+		assertEquals(0f, tilt.getPitch(), 0.01f);
+		hold(25, 0, 300);
+		assertEquals(10f, tilt.getPitch(), 0.5f);
+	}
+
+	public void testGyroscopeLeadsAccelerometer() {
+		hold(0, 0, 1);
+		// Turn about +x at 1 rad/s for 0.2 s, which lowers the pitch, before
+		// the accelerometer has caught up
+		for (int i = 0; i < 20; i++) {
+			tilt.pushGyroscope(time, 1, 0, 0);
+			accelerometer(0, 0);
+		}
+		tilt.update();
+		assertTrue("pitch " + tilt.getPitch(), tilt.getPitch() < -1);
+	}
+
+	public void testCalibrateDiscardsStaleSamples() {
+		hold(0, 0, 1);
+		// Samples that piled up while the menus were shown, then a new run
+		for (int i = 0; i < 100; i++) {
+			accelerometer(30, 0);
+		}
+		tilt.calibrate();
+		hold(-10, 0, 1);
+		assertEquals(0f, tilt.getPitch(), 0.01f);
+		hold(0, 0, 300);
+		assertEquals(10f, tilt.getPitch(), 0.5f);
+	}
+
+	public void testGyroscopeGapClamped() {
+		hold(0, 0, 1);
+		tilt.pushGyroscope(time, 0, 0, 0);
+		// Ten seconds without sensor events, then one sample turning at 1 rad/s
+		time += 1000*STEP;
+		tilt.pushGyroscope(time, 1, 0, 0);
+		tilt.update();
+		assertTrue("pitch " + tilt.getPitch(), tilt.getPitch() > -10);
+	}
+}
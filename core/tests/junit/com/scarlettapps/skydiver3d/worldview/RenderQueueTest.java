@@ -0,0 +1,69 @@
+package com.scarlettapps.skydiver3d.worldview;
+
+import com.badlogic.gdx.utils.Array;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.Pass;
+import com.scarlettapps.skydiver3d.worldview.RenderQueue.State;
+
+import junit.framework.TestCase;
+
+public class RenderQueueTest extends TestCase {
+
+	private final Array<String> drawn = new Array<String>();
+	private final Renderer renderer = new Renderer(null);
+
+	private RenderItem item(final String name) {
+		return new RenderItem() {
+			@Override
+			public void draw(Renderer renderer) {
+				drawn.add(name);
+			}
+		};
+	}
+
+	private String order() {
+		return drawn.toString(",");
+	}
+
+	public void testPassesDrawnInOrder() {
+		RenderQueue queue = new RenderQueue();
+		queue.submit(Pass.UI, State.STAGE, 0, item("ui"));
+		queue.submit(Pass.TRANSPARENT, State.COLLECTIBLES, 5, item("transparent"));
+		queue.submit(Pass.OPAQUE, State.TERRAIN, 500, item("opaque"));
+		queue.execute(renderer);
+		assertEquals("opaque,transparent,ui", order());
+	}
+
+	public void testOpaqueGroupedByStateFrontToBack() {
+		RenderQueue queue = new RenderQueue();
+		queue.submit(Pass.OPAQUE, State.SKINNED, 1, item("skinned1"));
+		queue.submit(Pass.OPAQUE, State.TERRAIN, 20, item("terrain20"));
+		queue.submit(Pass.OPAQUE, State.SKINNED, 0.5f, item("skinned0.5"));
+		queue.submit(Pass.OPAQUE, State.TERRAIN, 10, item("terrain10"));
+		queue.execute(renderer);
+		assertEquals("terrain10,terrain20,skinned0.5,skinned1", order());
+		assertEquals(2, queue.stateChanges());
+	}
+
+	public void testTransparentBackToFront() {
+		RenderQueue queue = new RenderQueue();
+		queue.submit(Pass.TRANSPARENT, State.COLLECTIBLES, 3, item("near"));
+		queue.submit(Pass.TRANSPARENT, State.COLLECTIBLES, 3000, item("far"));
+		queue.submit(Pass.TRANSPARENT, State.COLLECTIBLES, 30, item("middle"));
+		queue.execute(renderer);
+		assertEquals("far,middle,near", order());
+	}
+
+	public void testClearAndGrow() {
+		RenderQueue queue = new RenderQueue();
+		for (int i = 0; i < 100; i++) {
+			queue.submit(Pass.UI, State.STAGE, 0, item(Integer.toString(i)));
+		}
+		assertEquals(100, queue.size());
+		queue.execute(renderer);
+		assertEquals("0", drawn.first());
+		assertEquals("99", drawn.peek());
+
+		queue.clear();
+		assertEquals(0, queue.size());
+	}
+}
@@ -0,0 +1,38 @@
+package com.scarlettapps.skydiver3d.desktop;
+
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker.Settings;
+
+/**
+ * Packs the UI and collectible images into the atlas read by AssetFactory.
+ * Run by the packTextures task of the desktop project.
+ */
+public class AtlasPacker {
+
+	// Name of the atlas, and of the region names class in AssetFactory
+	private static final String ATLAS = "ui";
+
+	/**
+	 * @param arg the directory of the source images and the directory to write the atlas to
+	 */
+	public static void main (String[] arg) {
+		if (arg.length != 2) {
+			System.err.println("Usage: AtlasPacker <input directory> <output directory>");
+			System.exit(1);
+		}
+
+		Settings settings = new Settings();
+		settings.maxWidth = 1024;
+		settings.maxHeight = 1024;
+		settings.filterMin = TextureFilter.Linear;
+		settings.filterMag = TextureFilter.Linear;
+		// Regions are drawn as rotating decals, so repeat their edges into the
+		// padding to keep neighbours from bleeding in when filtered
+		settings.paddingX = 2;
+		settings.paddingY = 2;
+		settings.duplicatePadding = true;
+
+		TexturePacker.process(settings, arg[0], arg[1], ATLAS);
+	}
+}
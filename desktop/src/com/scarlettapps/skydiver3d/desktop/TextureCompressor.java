@@ -0,0 +1,92 @@
+package com.scarlettapps.skydiver3d.desktop;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Blending;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.glutils.ETC1;
+import com.badlogic.gdx.graphics.glutils.ETC1.ETC1Data;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * Writes an ETC1 copy next to every opaque texture, which AssetFactory loads
+ * instead of the original on devices that can sample ETC1. Textures with an
+ * alpha channel are left alone, since ETC1 cannot store alpha. Run by the
+ * compressTextures task of the desktop project.
+ */
+public class TextureCompressor {
+
+	public static final String EXTENSION = ".etc1";
+
+	/**
+	 * @param arg the directory of the textures
+	 */
+	public static void main (String[] arg) {
+		if (arg.length != 1) {
+			System.err.println("Usage: TextureCompressor <texture directory>");
+			System.exit(1);
+		}
+		GdxNativesLoader.load();
+		// The encoder logs through Gdx.app when a texture is not a power of two
+		Gdx.app = (Application) Proxy.newProxyInstance(Application.class.getClassLoader(),
+				new Class<?>[] {Application.class}, new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						return null;
+					}
+				});
+
+		for (FileHandle file: new FileHandle(new File(arg[0])).list()) {
+			String extension = file.extension().toLowerCase();
+			if (!extension.equals("png") && !extension.equals("jpg")) {
+				continue;
+			}
+			FileHandle output = file.sibling(file.nameWithoutExtension() + EXTENSION);
+
+			Pixmap pixmap = new Pixmap(file);
+			if (isOpaque(pixmap)) {
+				compress(pixmap, output);
+				System.out.println("Compressed " + file.name() + " to " + output.name());
+			} else {
+				output.delete();
+				System.out.println("Skipped " + file.name() + ", it has alpha");
+			}
+			pixmap.dispose();
+		}
+	}
+
+	private static boolean isOpaque(Pixmap pixmap) {
+		if (pixmap.getFormat() == Format.RGB888 || pixmap.getFormat() == Format.RGB565) {
+			return true;
+		}
+		for (int y = 0; y < pixmap.getHeight(); y++) {
+			for (int x = 0; x < pixmap.getWidth(); x++) {
+				if ((pixmap.getPixel(x, y) & 0xff) != 0xff) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static void compress(Pixmap pixmap, FileHandle output) {
+		// The encoder only takes pixmaps without alpha
+		Pixmap rgb = new Pixmap(pixmap.getWidth(), pixmap.getHeight(), Format.RGB888);
+		// Blending is global to every pixmap, so put it back once copied
+		Blending blending = Pixmap.getBlending();
+		Pixmap.setBlending(Blending.None);
+		rgb.drawPixmap(pixmap, 0, 0);
+		Pixmap.setBlending(blending);
+		ETC1Data data = ETC1.encodeImagePKM(rgb);
+		data.write(output);
+		data.dispose();
+		rgb.dispose();
+	}
+}